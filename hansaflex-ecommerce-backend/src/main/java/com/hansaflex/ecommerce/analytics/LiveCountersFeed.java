@@ -0,0 +1,176 @@
+package com.hansaflex.ecommerce.analytics;
+
+import com.hansaflex.ecommerce.analytics.LiveSalesCounters.SalesCounter;
+import com.hansaflex.ecommerce.config.LiveCountersProperties;
+import com.hansaflex.ecommerce.entity.Order;
+import com.hansaflex.ecommerce.enums.OrderStatus;
+import com.hansaflex.ecommerce.repository.SalesCounterRepository;
+import com.hansaflex.ecommerce.service.OrderChangedEvent;
+import com.hansaflex.ecommerce.service.ProductChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the live sales counters current: checkpoints and loads the totals and reads every
+ * product's stock before the web server starts, then applies placed orders, status changes
+ * and product writes once committed.
+ * The totals in sales_counters cover the orders of all nodes created before a watermark;
+ * every checkpoint (periodically and at shutdown, on any node) folds in the confirmed orders
+ * created since from the orders table, so a crash loses nothing. This node then reloads them
+ * and adds the orders it counted itself that are past the watermark. Orders placed on other
+ * nodes show up here with the next checkpoint after they are commitGrace old.
+ * An order moving into or out of CONFIRMED after it was folded in is added to or taken out of
+ * the totals in the transaction that changes its status (like OrderLineFeed reverses its lines);
+ * a younger one is simply folded in, or not, with the status it has at the checkpoint.
+ * Product writes of other nodes arrive as relayed ProductChangedEvents (ProductChangeRelay),
+ * so the low-stock lists follow every node's stock changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@EnableConfigurationProperties(LiveCountersProperties.class)
+public class LiveCountersFeed implements SmartInitializingSingleton {
+
+    private final LiveSalesCounters liveSalesCounters;
+    private final SalesCounterRepository salesCounterRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final LiveCountersProperties properties;
+    private final OrderLineFeed orderLineFeed;
+    // Orders this node counted that the totals may not include yet, by order id
+    private final Map<Long, CountedOrder> uncheckpointed = new HashMap<>();
+    // Orders created before this are in the totals last loaded; guarded by uncheckpointed
+    private LocalDateTime loadedWatermark = LocalDateTime.MIN;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sales-counter-checkpoint");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        checkpoint();
+        jdbcTemplate.query("SELECT id, name, region, stock_qty FROM products",
+                (RowCallbackHandler) resultSet -> liveSalesCounters.updateStock(
+                        resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3), resultSet.getInt(4)));
+
+        long interval = properties.getCheckpointInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkpointSafely, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Restored live sales counters for {} regions and {} products", liveSalesCounters.regions().size(),
+                liveSalesCounters.products().size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        Order order = event.order();
+        if (event.kind() == OrderChangedEvent.Kind.PLACED && order.getStatus() == OrderStatus.CONFIRMED) {
+            List<OrderLine> lines = OrderLineFeed.linesOf(order);
+            synchronized (uncheckpointed) {
+                uncheckpointed.put(order.getId(), new CountedOrder(order.getCreatedAt(), order.getRegion(), lines));
+                liveSalesCounters.recordOrder(order.getRegion(), lines);
+            }
+        } else if (movesAcrossConfirmed(event)) {
+            // A status change does not carry the items: read them back
+            List<OrderLine> lines = orderLineFeed.storedLinesOf(order.getId());
+            if (lines.isEmpty()) {
+                return;
+            }
+            String region = regionOf(order, lines);
+            synchronized (uncheckpointed) {
+                if (order.getStatus() == OrderStatus.CONFIRMED) {
+                    // Dropped again by the checkpoint whose totals include it
+                    uncheckpointed.put(order.getId(), new CountedOrder(order.getCreatedAt(), region, lines));
+                    liveSalesCounters.recordOrder(region, lines);
+                } else if (uncheckpointed.remove(order.getId()) != null || order.getCreatedAt().isBefore(loadedWatermark)) {
+                    // Otherwise it is another node's order that no totals loaded here include yet
+                    liveSalesCounters.removeOrder(region, lines);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds an order moving into CONFIRMED to the totals, or takes one moving out of it out again,
+     * in the transaction of the status change, if a checkpoint has already passed its creation time
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanging(OrderChangedEvent event) {
+        if (movesAcrossConfirmed(event)) {
+            Order order = event.order();
+            List<OrderLine> lines = orderLineFeed.storedLinesOf(order.getId());
+            if (!lines.isEmpty()) {
+                salesCounterRepository.addOrder(order.getCreatedAt(), regionOf(order, lines), lines,
+                        order.getStatus() == OrderStatus.CONFIRMED ? 1 : -1);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            liveSalesCounters.removeProduct(event.productId());
+        } else {
+            liveSalesCounters.updateStock(event.productId(), event.product().getName(), event.product().getRegion(),
+                    event.product().getStockQty());
+        }
+    }
+
+    /**
+     * Folds the orders placed since the last checkpoint into sales_counters, then reloads
+     * the counters from it
+     */
+    public void checkpoint() {
+        LocalDateTime watermark = salesCounterRepository.checkpoint(LocalDateTime.now().minus(properties.getCommitGrace()));
+        List<SalesCounter> regions = salesCounterRepository.findAll(SalesCounterRepository.REGION);
+        List<SalesCounter> products = salesCounterRepository.findAll(SalesCounterRepository.PRODUCT);
+        synchronized (uncheckpointed) {
+            loadedWatermark = watermark;
+            uncheckpointed.values().removeIf(order -> order.createdAt().isBefore(watermark));
+            liveSalesCounters.reset(regions, products, uncheckpointed.values().stream()
+                    .map(order -> Map.entry(order.region(), order.lines())).toList());
+        }
+    }
+
+    private void checkpointSafely() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            log.error("Failed to checkpoint live sales counters: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        checkpointSafely();
+    }
+
+    private static boolean movesAcrossConfirmed(OrderChangedEvent event) {
+        return event.kind() == OrderChangedEvent.Kind.STATUS_CHANGED
+                && (event.order().getStatus() == OrderStatus.CONFIRMED) != (event.previousStatus() == OrderStatus.CONFIRMED);
+    }
+
+    // Archived orders keep their region on the items only
+    private static String regionOf(Order order, List<OrderLine> lines) {
+        return order.getRegion() != null ? order.getRegion() : lines.get(0).region();
+    }
+
+    private record CountedOrder(LocalDateTime createdAt, String region, List<OrderLine> lines) {
+    }
+}
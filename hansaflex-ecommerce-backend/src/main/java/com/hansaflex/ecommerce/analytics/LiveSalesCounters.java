@@ -0,0 +1,204 @@
+package com.hansaflex.ecommerce.analytics;
+
+import com.hansaflex.ecommerce.config.LiveCountersProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running sales counters per region and per product, plus the lowest-stock products of each
+ * region, maintained incrementally as orders are placed or change status and stock changes (LiveCountersFeed).
+ * Counters are LongAdders, so order threads do not contend on a shared value; reading one is
+ * a map lookup, and the low-stock lists are kept ready-made for readers.
+ */
+@Component
+public class LiveSalesCounters {
+
+    private static final Comparator<StockLevel> LOWEST_STOCK_FIRST =
+            Comparator.comparingInt(StockLevel::stockQty).thenComparingLong(StockLevel::productId);
+
+    private final int lowStockSize;
+    // Replaced as a whole when the totals are reloaded
+    private volatile ConcurrentHashMap<String, Counters> regions = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<String, Counters> products = new ConcurrentHashMap<>();
+
+    // Stock levels change under the lock; readers only see the published lists
+    private final Object stockLock = new Object();
+    private final Map<String, TreeSet<StockLevel>> stockByRegion = new HashMap<>();
+    private final Map<Long, StockLevel> stockByProduct = new HashMap<>();
+    private final ConcurrentHashMap<String, List<StockLevel>> lowStock = new ConcurrentHashMap<>();
+
+    /**
+     * Totals of a region (key: region) or product (key: product id); amounts in cents
+     */
+    public record SalesCounter(String key, long orders, long units, long netCents, long vatCents) {
+    }
+
+    public record StockLevel(long productId, String name, String region, int stockQty) {
+    }
+
+    @Autowired
+    public LiveSalesCounters(LiveCountersProperties properties) {
+        this(properties.getLowStockSize());
+    }
+
+    public LiveSalesCounters(int lowStockSize) {
+        this.lowStockSize = lowStockSize;
+    }
+
+    /**
+     * Counts one placed order made of {@code lines}
+     */
+    public void recordOrder(String region, List<OrderLine> lines) {
+        recordOrder(regions, products, region, lines, 1);
+    }
+
+    /**
+     * Takes a counted order made of {@code lines} out again (it left CONFIRMED)
+     */
+    public void removeOrder(String region, List<OrderLine> lines) {
+        recordOrder(regions, products, region, lines.stream().map(OrderLine::reversal).toList(), -1);
+    }
+
+    private static void recordOrder(Map<String, Counters> regions, Map<String, Counters> products, String region,
+                                    List<OrderLine> lines, int orders) {
+        Counters regionCounters = regions.computeIfAbsent(region.toUpperCase(Locale.ROOT), key -> new Counters());
+        regionCounters.orders.add(orders);
+        Map<Long, Counters> counted = new HashMap<>();
+        for (OrderLine line : lines) {
+            regionCounters.add(line);
+            Counters productCounters = products.computeIfAbsent(Long.toString(line.productId()), key -> new Counters());
+            productCounters.add(line);
+            if (counted.put(line.productId(), productCounters) == null) {
+                productCounters.orders.add(orders);
+            }
+        }
+    }
+
+    public SalesCounter region(String region) {
+        String key = region.toUpperCase(Locale.ROOT);
+        return snapshot(key, regions.get(key));
+    }
+
+    public SalesCounter product(long productId) {
+        String key = Long.toString(productId);
+        return snapshot(key, products.get(key));
+    }
+
+    public List<SalesCounter> regions() {
+        return snapshots(regions);
+    }
+
+    public List<SalesCounter> products() {
+        return snapshots(products);
+    }
+
+    /**
+     * Replaces every counter with the checkpointed totals plus the orders made of
+     * {@code uncheckpointed} (region to lines, one entry per order) that they do not include yet
+     */
+    public void reset(List<SalesCounter> regionTotals, List<SalesCounter> productTotals,
+                      Collection<Map.Entry<String, List<OrderLine>>> uncheckpointed) {
+        ConcurrentHashMap<String, Counters> newRegions = new ConcurrentHashMap<>();
+        ConcurrentHashMap<String, Counters> newProducts = new ConcurrentHashMap<>();
+        regionTotals.forEach(total -> newRegions.computeIfAbsent(total.key(), key -> new Counters()).add(total));
+        productTotals.forEach(total -> newProducts.computeIfAbsent(total.key(), key -> new Counters()).add(total));
+        uncheckpointed.forEach(order -> recordOrder(newRegions, newProducts, order.getKey(), order.getValue(), 1));
+        regions = newRegions;
+        products = newProducts;
+    }
+
+    /**
+     * Records a product's current stock, moving it between regions if its region changed
+     */
+    public void updateStock(long productId, String name, String region, int stockQty) {
+        StockLevel level = new StockLevel(productId, name, region.toUpperCase(Locale.ROOT), stockQty);
+        synchronized (stockLock) {
+            StockLevel previous = stockByProduct.put(productId, level);
+            if (previous != null) {
+                stockByRegion.get(previous.region()).remove(previous);
+                if (!previous.region().equals(level.region())) {
+                    publishLowStock(previous.region());
+                }
+            }
+            stockByRegion.computeIfAbsent(level.region(), key -> new TreeSet<>(LOWEST_STOCK_FIRST)).add(level);
+            publishLowStock(level.region());
+        }
+    }
+
+    public void removeProduct(long productId) {
+        synchronized (stockLock) {
+            StockLevel previous = stockByProduct.remove(productId);
+            if (previous != null) {
+                stockByRegion.get(previous.region()).remove(previous);
+                publishLowStock(previous.region());
+            }
+        }
+    }
+
+    /**
+     * The region's products with the least stock, lowest first
+     */
+    public List<StockLevel> lowStock(String region) {
+        return lowStock.getOrDefault(region.toUpperCase(Locale.ROOT), List.of());
+    }
+
+    public Map<String, List<StockLevel>> lowStock() {
+        return Map.copyOf(lowStock);
+    }
+
+    private void publishLowStock(String region) {
+        List<StockLevel> lowest = new ArrayList<>(lowStockSize);
+        for (StockLevel level : stockByRegion.get(region)) {
+            if (lowest.size() == lowStockSize) {
+                break;
+            }
+            lowest.add(level);
+        }
+        lowStock.put(region, List.copyOf(lowest));
+    }
+
+    private static SalesCounter snapshot(String key, Counters counters) {
+        if (counters == null) {
+            return new SalesCounter(key, 0, 0, 0, 0);
+        }
+        return new SalesCounter(key, counters.orders.sum(), counters.units.sum(), counters.net.sum(), counters.vat.sum());
+    }
+
+    private static List<SalesCounter> snapshots(Map<String, Counters> counters) {
+        List<SalesCounter> result = new ArrayList<>(counters.size());
+        counters.forEach((key, value) -> result.add(snapshot(key, value)));
+        result.sort(Comparator.comparing(SalesCounter::key));
+        return result;
+    }
+
+    private static final class Counters {
+        final LongAdder orders = new LongAdder();
+        final LongAdder units = new LongAdder();
+        final LongAdder net = new LongAdder();
+        final LongAdder vat = new LongAdder();
+
+        void add(OrderLine line) {
+            units.add(line.quantity());
+            net.add(line.netCents());
+            vat.add(line.vatCents());
+        }
+
+        void add(SalesCounter total) {
+            orders.add(total.orders());
+            units.add(total.units());
+            net.add(total.netCents());
+            vat.add(total.vatCents());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.hansaflex.ecommerce.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * One sold order line as recorded for analytics; amounts in cents
+ */
+public record OrderLine(String region, long productId, String productName, String category,
+                        LocalDate date, int quantity, long netCents, long vatCents) {
+
+    /**
+     * The line that cancels this one out in every sum
+     */
+    public OrderLine reversal() {
+        return new OrderLine(region, productId, productName, category, date, -quantity, -netCents, -vatCents);
+    }
+}
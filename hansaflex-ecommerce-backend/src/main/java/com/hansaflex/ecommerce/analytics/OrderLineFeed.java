@@ -0,0 +1,147 @@
+package com.hansaflex.ecommerce.analytics;
+
+import com.hansaflex.ecommerce.dto.OrderResponse;
+import com.hansaflex.ecommerce.entity.Order;
+import com.hansaflex.ecommerce.enums.OrderStatus;
+import com.hansaflex.ecommerce.repository.OrderArchiveRepository;
+import com.hansaflex.ecommerce.service.OrderChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills the sales column store: every confirmed order line (live and archived) at startup,
+ * then the lines of each order placed once its transaction has committed.
+ * The initial load runs before the web server starts, so no order is counted twice or missed.
+ * An order moving out of CONFIRMED (e.g. to FAILED) has its lines reversed; one moving into
+ * it has them appended.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderLineFeed implements SmartInitializingSingleton {
+
+    static final String UNCATEGORIZED = "Uncategorized";
+    private static final String LINE_QUERY = "SELECT oi.region, oi.product_id, p.name, COALESCE(p.category, ?), o.created_at, " +
+            "oi.quantity, oi.unit_price, oi.vat_amount " +
+            "FROM order_items oi JOIN orders o ON o.id = oi.order_id JOIN products p ON p.id = oi.product_id ";
+
+    private final SalesColumnStore salesColumnStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderArchiveRepository orderArchiveRepository;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.query(LINE_QUERY + "WHERE o.status = ?",
+                (RowCallbackHandler) resultSet -> salesColumnStore.append(lineAt(resultSet)),
+                UNCATEGORIZED, OrderStatus.CONFIRMED.name());
+
+        // Archived orders keep product names but not categories; products deleted since have none
+        Map<Long, String> categories = new HashMap<>();
+        jdbcTemplate.query("SELECT id, category FROM products WHERE category IS NOT NULL",
+                (RowCallbackHandler) resultSet -> categories.put(resultSet.getLong(1), resultSet.getString(2)));
+        orderArchiveRepository.forEachOrder(order -> {
+            if (order.getStatus() == OrderStatus.CONFIRMED) {
+                salesColumnStore.appendAll(linesOf(order, categories));
+            }
+        });
+        log.info("Loaded {} order lines into the sales column store in {} ms", salesColumnStore.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        boolean counted = event.order().getStatus() == OrderStatus.CONFIRMED;
+        if (event.kind() == OrderChangedEvent.Kind.PLACED) {
+            if (counted) {
+                salesColumnStore.appendAll(linesOf(event.order()));
+            }
+        } else if (counted != (event.previousStatus() == OrderStatus.CONFIRMED)) {
+            // A status change does not carry the items: read them back
+            List<OrderLine> lines = storedLinesOf(event.order().getId());
+            salesColumnStore.appendAll(counted ? lines : lines.stream().map(OrderLine::reversal).toList());
+        }
+    }
+
+    /**
+     * The lines of a committed order, live or archived
+     */
+    List<OrderLine> storedLinesOf(Long orderId) {
+        List<OrderLine> lines = jdbcTemplate.query(LINE_QUERY + "WHERE o.id = ?", (resultSet, row) -> lineAt(resultSet),
+                UNCATEGORIZED, orderId);
+        if (!lines.isEmpty()) {
+            return lines;
+        }
+        return orderArchiveRepository.findById(orderId)
+                .map(order -> {
+                    Map<Long, String> categories = new HashMap<>();
+                    order.getItems().forEach(item -> jdbcTemplate.queryForList(
+                                    "SELECT category FROM products WHERE id = ? AND category IS NOT NULL", String.class, item.getProductId())
+                            .forEach(category -> categories.put(item.getProductId(), category)));
+                    return linesOf(order, categories);
+                })
+                .orElse(List.of());
+    }
+
+    static List<OrderLine> linesOf(Order order) {
+        return order.getItems().stream()
+                .map(item -> new OrderLine(
+                        item.getRegion(),
+                        item.getProduct().getId(),
+                        item.getProduct().getName(),
+                        item.getProduct().getCategory() == null ? UNCATEGORIZED : item.getProduct().getCategory(),
+                        order.getCreatedAt().toLocalDate(),
+                        item.getQuantity(),
+                        cents(item.getUnitPrice(), item.getQuantity()),
+                        cents(item.getVatAmount(), item.getQuantity())))
+                .toList();
+    }
+
+    // Archived orders keep product names but not categories
+    private static List<OrderLine> linesOf(OrderResponse order, Map<Long, String> categories) {
+        return order.getItems().stream()
+                .map(item -> new OrderLine(
+                        item.getRegion(),
+                        item.getProductId(),
+                        item.getProductName(),
+                        categories.getOrDefault(item.getProductId(), UNCATEGORIZED),
+                        order.getCreatedAt().toLocalDate(),
+                        item.getQuantity(),
+                        cents(item.getUnitPrice(), item.getQuantity()),
+                        cents(item.getVatAmount(), item.getQuantity())))
+                .toList();
+    }
+
+    // A row of LINE_QUERY
+    private static OrderLine lineAt(ResultSet resultSet) throws SQLException {
+        int quantity = resultSet.getInt(6);
+        return new OrderLine(
+                resultSet.getString(1),
+                resultSet.getLong(2),
+                resultSet.getString(3),
+                resultSet.getString(4),
+                resultSet.getTimestamp(5).toLocalDateTime().toLocalDate(),
+                quantity,
+                cents(resultSet.getBigDecimal(7), quantity),
+                cents(resultSet.getBigDecimal(8), quantity));
+    }
+
+    /**
+     * Per-unit amount times quantity, in cents
+     */
+    static long cents(BigDecimal unitAmount, int quantity) {
+        return unitAmount.multiply(BigDecimal.valueOf(quantity)).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,385 @@
+package com.hansaflex.ecommerce.analytics;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Append-only, in-memory column store of sold order lines for the admin sales dashboards.
+ * Each attribute is a primitive array (strings dictionary-encoded to int codes), filled in
+ * fixed-size segments, so an aggregation is a tight loop over a few int/long arrays that
+ * sums into arrays indexed by group code instead of a hash lookup per line.
+ * Appends are serialised; queries run concurrently on the lines published when they started.
+ * A cancelled line is not removed but offset by its reversal (negative quantity and amounts),
+ * which also counts as minus one line.
+ */
+@Component
+public class SalesColumnStore {
+
+    static final int SEGMENT_SIZE = 1 << 16;
+
+    private final Object appendLock = new Object();
+    private final Dictionary regions = new Dictionary();
+    private final Dictionary categories = new Dictionary();
+    private final Dictionary products = new Dictionary();
+
+    private volatile Segment[] segments = new Segment[0];
+    private volatile int minDay = Integer.MAX_VALUE;
+    private volatile int maxDay = Integer.MIN_VALUE;
+
+    /**
+     * Totals of one group; amounts in cents
+     */
+    public record SalesAggregate(String key, String label, long netCents, long vatCents, long units, long lines) {
+    }
+
+    /**
+     * Optional restrictions of a query; null fields match everything, dates are inclusive
+     */
+    public record SalesFilter(String region, String category, LocalDate from, LocalDate to) {
+
+        public static final SalesFilter NONE = new SalesFilter(null, null, null, null);
+    }
+
+    public void append(OrderLine line) {
+        synchronized (appendLock) {
+            Segment[] current = segments;
+            Segment segment = current.length == 0 ? null : current[current.length - 1];
+            if (segment == null || segment.size == SEGMENT_SIZE) {
+                segment = new Segment();
+                Segment[] grown = Arrays.copyOf(current, current.length + 1);
+                grown[current.length] = segment;
+                segments = grown;
+            }
+            int day = (int) line.date().toEpochDay();
+            int i = segment.size;
+            segment.region[i] = regions.encode(line.region().toUpperCase(Locale.ROOT), null);
+            segment.product[i] = products.encode(Long.toString(line.productId()), line.productName());
+            segment.category[i] = categories.encode(line.category(), null);
+            segment.day[i] = day;
+            segment.quantity[i] = line.quantity();
+            segment.net[i] = line.netCents();
+            segment.vat[i] = line.vatCents();
+            if (day < minDay) {
+                minDay = day;
+            }
+            if (day > maxDay) {
+                maxDay = day;
+            }
+            segment.size = i + 1;  // Publishes the line to queries
+        }
+    }
+
+    public void appendAll(Iterable<OrderLine> lines) {
+        for (OrderLine line : lines) {
+            append(line);
+        }
+    }
+
+    /**
+     * Number of lines stored
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * Sales per group: dates ascending for DAY and MONTH, highest net revenue first otherwise
+     */
+    public List<SalesAggregate> aggregate(SalesDimension groupBy, SalesFilter filter) {
+        // Line counts first: every code and day of a published line is then covered by the reads below
+        Segment[] snapshot = segments;
+        int[] sizes = new int[snapshot.length];
+        for (int s = 0; s < snapshot.length; s++) {
+            sizes[s] = snapshot[s].size;
+        }
+        int firstDay = minDay;
+        int lastDay = maxDay;
+        if (firstDay > lastDay) {
+            return List.of();
+        }
+
+        Dictionary dictionary = switch (groupBy) {
+            case REGION -> regions;
+            case PRODUCT -> products;
+            case CATEGORY -> categories;
+            case DAY, MONTH -> null;
+        };
+        int base = dictionary == null ? firstDay : 0;
+        int groups = dictionary == null ? lastDay - firstDay + 1 : dictionary.size();
+        Totals totals = new Totals(groups);
+        Selection selection = select(filter);
+        if (selection == null) {
+            return List.of();
+        }
+
+        for (int s = 0; s < snapshot.length; s++) {
+            Segment segment = snapshot[s];
+            int[] keys = switch (groupBy) {
+                case REGION -> segment.region;
+                case PRODUCT -> segment.product;
+                case CATEGORY -> segment.category;
+                case DAY, MONTH -> segment.day;
+            };
+            if (selection.matchesAll(firstDay, lastDay)) {
+                sumAll(segment, sizes[s], keys, base, totals);
+            } else {
+                sumSelected(segment, sizes[s], keys, base, selection, totals);
+            }
+        }
+
+        return switch (groupBy) {
+            case DAY -> byDay(totals, base);
+            case MONTH -> byMonth(totals, base);
+            default -> byRevenue(totals, dictionary);
+        };
+    }
+
+    /**
+     * Sales of all lines matching the filter
+     */
+    public SalesAggregate totals(SalesFilter filter) {
+        Segment[] snapshot = segments;
+        int[] sizes = new int[snapshot.length];
+        for (int s = 0; s < snapshot.length; s++) {
+            sizes[s] = snapshot[s].size;
+        }
+        int firstDay = minDay;
+        int lastDay = maxDay;
+        Totals totals = new Totals(1);
+        Selection selection = select(filter);
+        if (selection != null) {
+            for (int s = 0; s < snapshot.length; s++) {
+                if (selection.matchesAll(firstDay, lastDay)) {
+                    sumAll(snapshot[s], sizes[s], totals);
+                } else {
+                    sumSelected(snapshot[s], sizes[s], null, 0, selection, totals);
+                }
+            }
+        }
+        return new SalesAggregate("total", null, totals.net[0], totals.vat[0], totals.units[0], totals.lines[0]);
+    }
+
+    private Selection select(SalesFilter filter) {
+        int region = -1;
+        int category = -1;
+        if (filter.region() != null) {
+            region = regions.find(filter.region().toUpperCase(Locale.ROOT));
+            if (region < 0) {
+                return null;
+            }
+        }
+        if (filter.category() != null) {
+            category = categories.find(filter.category());
+            if (category < 0) {
+                return null;
+            }
+        }
+        int from = filter.from() == null ? Integer.MIN_VALUE : (int) filter.from().toEpochDay();
+        int to = filter.to() == null ? Integer.MAX_VALUE : (int) filter.to().toEpochDay();
+        return from > to ? null : new Selection(region, category, from, to);
+    }
+
+    private static void sumAll(Segment segment, int size, int[] keys, int base, Totals totals) {
+        int[] quantity = segment.quantity;
+        long[] net = segment.net;
+        long[] vat = segment.vat;
+        long[] netTotals = totals.net;
+        long[] vatTotals = totals.vat;
+        long[] unitTotals = totals.units;
+        long[] lineTotals = totals.lines;
+        for (int i = 0; i < size; i++) {
+            int group = keys[i] - base;
+            netTotals[group] += net[i];
+            vatTotals[group] += vat[i];
+            unitTotals[group] += quantity[i];
+            lineTotals[group] += Integer.signum(quantity[i]);
+        }
+    }
+
+    private static void sumAll(Segment segment, int size, Totals totals) {
+        int[] quantity = segment.quantity;
+        long[] net = segment.net;
+        long[] vat = segment.vat;
+        long netSum = 0;
+        long vatSum = 0;
+        long unitSum = 0;
+        long lineSum = 0;
+        for (int i = 0; i < size; i++) {
+            netSum += net[i];
+            vatSum += vat[i];
+            unitSum += quantity[i];
+            lineSum += Integer.signum(quantity[i]);
+        }
+        totals.net[0] += netSum;
+        totals.vat[0] += vatSum;
+        totals.units[0] += unitSum;
+        totals.lines[0] += lineSum;
+    }
+
+    /**
+     * Sums the lines matching the selection, into one group when keys is null
+     */
+    private static void sumSelected(Segment segment, int size, int[] keys, int base, Selection selection, Totals totals) {
+        boolean ungrouped = keys == null;
+        int[] region = segment.region;
+        int[] category = segment.category;
+        int[] day = segment.day;
+        int[] quantity = segment.quantity;
+        long[] net = segment.net;
+        long[] vat = segment.vat;
+        for (int i = 0; i < size; i++) {
+            if ((selection.region >= 0 && region[i] != selection.region)
+                    || (selection.category >= 0 && category[i] != selection.category)
+                    || day[i] < selection.from || day[i] > selection.to) {
+                continue;
+            }
+            int group = ungrouped ? 0 : keys[i] - base;
+            totals.net[group] += net[i];
+            totals.vat[group] += vat[i];
+            totals.units[group] += quantity[i];
+            totals.lines[group] += Integer.signum(quantity[i]);
+        }
+    }
+
+    private static List<SalesAggregate> byRevenue(Totals totals, Dictionary dictionary) {
+        List<SalesAggregate> result = new ArrayList<>();
+        for (int code = 0; code < totals.lines.length; code++) {
+            if (totals.lines[code] > 0) {
+                result.add(new SalesAggregate(dictionary.value(code), dictionary.label(code),
+                        totals.net[code], totals.vat[code], totals.units[code], totals.lines[code]));
+            }
+        }
+        result.sort(Comparator.comparingLong(SalesAggregate::netCents).reversed());
+        return result;
+    }
+
+    private static List<SalesAggregate> byDay(Totals totals, int firstDay) {
+        List<SalesAggregate> result = new ArrayList<>();
+        for (int offset = 0; offset < totals.lines.length; offset++) {
+            if (totals.lines[offset] > 0) {
+                result.add(new SalesAggregate(LocalDate.ofEpochDay(firstDay + offset).toString(), null,
+                        totals.net[offset], totals.vat[offset], totals.units[offset], totals.lines[offset]));
+            }
+        }
+        return result;
+    }
+
+    private static List<SalesAggregate> byMonth(Totals totals, int firstDay) {
+        Map<YearMonth, long[]> months = new TreeMap<>();
+        for (int offset = 0; offset < totals.lines.length; offset++) {
+            if (totals.lines[offset] > 0) {
+                long[] month = months.computeIfAbsent(YearMonth.from(LocalDate.ofEpochDay(firstDay + offset)), m -> new long[4]);
+                month[0] += totals.net[offset];
+                month[1] += totals.vat[offset];
+                month[2] += totals.units[offset];
+                month[3] += totals.lines[offset];
+            }
+        }
+        List<SalesAggregate> result = new ArrayList<>(months.size());
+        months.forEach((month, sums) -> result.add(new SalesAggregate(month.toString(), null, sums[0], sums[1], sums[2], sums[3])));
+        return result;
+    }
+
+    private record Selection(int region, int category, int from, int to) {
+
+        boolean matchesAll(int firstDay, int lastDay) {
+            return region < 0 && category < 0 && from <= firstDay && to >= lastDay;
+        }
+    }
+
+    private static final class Totals {
+        final long[] net;
+        final long[] vat;
+        final long[] units;
+        final long[] lines;
+
+        Totals(int groups) {
+            net = new long[groups];
+            vat = new long[groups];
+            units = new long[groups];
+            lines = new long[groups];
+        }
+    }
+
+    private static final class Segment {
+        final int[] region = new int[SEGMENT_SIZE];
+        final int[] product = new int[SEGMENT_SIZE];
+        final int[] category = new int[SEGMENT_SIZE];
+        final int[] day = new int[SEGMENT_SIZE];              // Epoch day of the order
+        final int[] quantity = new int[SEGMENT_SIZE];         // Negative for a reversal
+        final long[] net = new long[SEGMENT_SIZE];            // Cents, excluding VAT
+        final long[] vat = new long[SEGMENT_SIZE];            // Cents
+        volatile int size;
+    }
+
+    /**
+     * String to dense int code; written under the append lock, read without locking.
+     * Values, labels and size are published together in one immutable snapshot, so a reader
+     * never sees a size that runs ahead of the arrays it reads.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private volatile Snapshot snapshot = new Snapshot(new String[16], new String[16], 0);
+
+        // Slots below size are never written again, so later snapshots may share the arrays
+        private record Snapshot(String[] values, String[] labels, int size) {
+        }
+
+        int encode(String value, String label) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            Snapshot current = snapshot;
+            int size = current.size();
+            String[] values = current.values();
+            String[] labels = current.labels();
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                labels = Arrays.copyOf(labels, size * 2);
+            }
+            values[size] = value;
+            labels[size] = label;
+            codes.put(value, size);
+            snapshot = new Snapshot(values, labels, size + 1);
+            return size;
+        }
+
+        int find(String value) {
+            // Linear: dictionaries are read without the append lock and queries look up one value
+            Snapshot current = snapshot;
+            for (int code = 0; code < current.size(); code++) {
+                if (value.equals(current.values()[code])) {
+                    return code;
+                }
+            }
+            return -1;
+        }
+
+        int size() {
+            return snapshot.size();
+        }
+
+        String value(int code) {
+            return snapshot.values()[code];
+        }
+
+        String label(int code) {
+            return snapshot.labels()[code];
+        }
+    }
+}
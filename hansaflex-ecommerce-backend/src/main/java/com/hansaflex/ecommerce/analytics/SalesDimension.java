@@ -0,0 +1,12 @@
+package com.hansaflex.ecommerce.analytics;
+
+/**
+ * What sales figures can be grouped by
+ */
+public enum SalesDimension {
+    REGION,
+    PRODUCT,
+    CATEGORY,
+    DAY,
+    MONTH
+}
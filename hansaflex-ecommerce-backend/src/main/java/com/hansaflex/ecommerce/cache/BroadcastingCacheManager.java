@@ -0,0 +1,150 @@
+package com.hansaflex.ecommerce.cache;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps the local cache manager so that every eviction or clear, whether from @CacheEvict,
+ * CacheService or the admin endpoints, is also sent over the {@link CacheInvalidationBus}.
+ * Invalidations from other nodes are applied to the wrapped caches directly and are not re-sent.
+ */
+public class BroadcastingCacheManager implements CacheManager, InitializingBean, DisposableBean {
+
+    private final CacheManager localCacheManager;
+    private final CacheInvalidationBus bus;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public BroadcastingCacheManager(CacheManager localCacheManager, CacheInvalidationBus bus) {
+        this.localCacheManager = localCacheManager;
+        this.bus = bus;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache local = localCacheManager.getCache(name);
+        return local == null ? null : caches.computeIfAbsent(name, key -> new BroadcastingCache(local));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return localCacheManager.getCacheNames();
+    }
+
+    /**
+     * The bus to other nodes, for components that relay their own changes on a channel
+     */
+    public CacheInvalidationBus getBus() {
+        return bus;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // Entries restored from a second-level store may have missed invalidations while this node was down
+        long replaySince = System.currentTimeMillis();
+        if (localCacheManager instanceof TwoTierCacheManager twoTier) {
+            twoTier.afterPropertiesSet();
+            replaySince = twoTier.getRestoredSinceMillis();
+        }
+        bus.start(this::evictLocally, replaySince);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        bus.close();
+        if (localCacheManager instanceof TwoTierCacheManager twoTier) {
+            twoTier.destroy();
+        }
+    }
+
+    private void evictLocally(String cacheName) {
+        Cache local = localCacheManager.getCache(cacheName);
+        if (local != null) {
+            local.clear();
+        }
+    }
+
+    /**
+     * Remote nodes clear the whole cache even for single-key evictions: keys are not portable
+     * between nodes (and every @CacheEvict in this application uses allEntries anyway)
+     */
+    private final class BroadcastingCache implements Cache {
+
+        private final Cache local;
+
+        private BroadcastingCache(Cache local) {
+            this.local = local;
+        }
+
+        @Override
+        public String getName() {
+            return local.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return local.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return local.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return local.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return local.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            local.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return local.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            local.evict(key);
+            bus.invalidate(getName());
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean evicted = local.evictIfPresent(key);
+            bus.invalidate(getName());
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            local.clear();
+            bus.invalidate(getName());
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean invalidated = local.invalidate();
+            bus.invalidate(getName());
+            return invalidated;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.hansaflex.ecommerce.cache;
+
+import java.util.Set;
+
+/**
+ * One coalesced batch of cache invalidations, as sent between nodes.
+ * Every name stands for a whole-cache clear on the receiving node, except
+ * {@code channel:key} names, which are messages for a channel's listener.
+ */
+public record CacheInvalidation(String nodeId, Set<String> cacheNames, long publishedAtMillis) {
+}
@@ -0,0 +1,185 @@
+package com.hansaflex.ecommerce.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts local cache evictions to the other nodes and applies theirs locally.
+ * Evictions are collected per cache name and flushed as one batch per flush interval,
+ * so a burst of writes costs one message however many entries it evicted.
+ * Evictions made inside a transaction are only sent once it has committed.
+ * Besides cache names, a batch carries keyed messages on named channels
+ * ({@code channel:key}), which other components use to relay their own changes between
+ * nodes; receiving nodes hand them to the channel's listener instead of a cache.
+ */
+@Slf4j
+public class CacheInvalidationBus implements AutoCloseable {
+
+    private final String nodeId;
+    private final InvalidationTransport transport;
+    private final Duration flushInterval;
+    // Below the cache_names column of the change log and a UDP datagram
+    private static final int MAX_BATCH_CHARS = 1000;
+    private static final char CHANNEL_SEPARATOR = ':';
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, Consumer<Collection<String>>> channelListeners = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter publishedBatches;
+    private final Counter receivedBatches;
+    private final Timer lag;
+
+    public CacheInvalidationBus(String nodeId, InvalidationTransport transport, Duration flushInterval, MeterRegistry meterRegistry) {
+        this.nodeId = nodeId;
+        this.transport = transport;
+        this.flushInterval = flushInterval;
+        this.publishedBatches = Counter.builder("cache.invalidation.batches")
+                .description("Invalidation batches exchanged with other nodes")
+                .tag("direction", "published")
+                .register(meterRegistry);
+        this.receivedBatches = Counter.builder("cache.invalidation.batches")
+                .description("Invalidation batches exchanged with other nodes")
+                .tag("direction", "received")
+                .register(meterRegistry);
+        this.lag = Timer.builder("cache.invalidation.lag")
+                .description("Time from a remote eviction until it was applied on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts flushing local evictions and applying remote ones through {@code evictLocally},
+     * including those published since {@code replaySinceMillis}
+     */
+    public void start(Consumer<String> evictLocally, long replaySinceMillis) {
+        transport.start(nodeId, replaySinceMillis, invalidation -> {
+            Map<String, Collection<String>> messages = new LinkedHashMap<>();
+            for (String name : invalidation.cacheNames()) {
+                int separator = name.indexOf(CHANNEL_SEPARATOR);
+                if (separator < 0) {
+                    evictLocally.accept(name);
+                } else {
+                    messages.computeIfAbsent(name.substring(0, separator), channel -> new ArrayList<>())
+                            .add(name.substring(separator + 1));
+                }
+            }
+            messages.forEach(this::deliver);
+            receivedBatches.increment();
+            lag.record(Math.max(System.currentTimeMillis() - invalidation.publishedAtMillis(), 0), TimeUnit.MILLISECONDS);
+            log.debug("Applied invalidation of {} from node {}", invalidation.cacheNames(), invalidation.nodeId());
+        });
+        long flushMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a whole-cache invalidation for the other nodes
+     */
+    public void invalidate(String cacheName) {
+        enqueue(cacheName);
+    }
+
+    /**
+     * Queues {@code key} for the listeners of {@code channel} on the other nodes; the same key
+     * published twice within a flush interval is delivered once
+     */
+    public void publish(String channel, String key) {
+        enqueue(channel + CHANNEL_SEPARATOR + key);
+    }
+
+    /**
+     * Hands the keys published on {@code channel} by other nodes to {@code listener}, one call
+     * per received batch, on the transport's receiving thread
+     */
+    public void subscribe(String channel, Consumer<Collection<String>> listener) {
+        channelListeners.put(channel, listener);
+    }
+
+    private void enqueue(String name) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.add(name);
+                }
+            });
+        } else {
+            pending.add(name);
+        }
+    }
+
+    private void deliver(String channel, Collection<String> keys) {
+        Consumer<Collection<String>> listener = channelListeners.get(channel);
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.accept(keys);
+        } catch (RuntimeException e) {
+            log.warn("Listener of channel {} failed on {} keys: {}", channel, keys.size(), e.getMessage());
+        }
+    }
+
+    void flush() {
+        Set<String> batch = new LinkedHashSet<>();
+        int chars = 0;
+        for (Iterator<String> iterator = pending.iterator(); iterator.hasNext(); ) {
+            String name = iterator.next();
+            if (!batch.isEmpty() && chars + name.length() + 1 > MAX_BATCH_CHARS) {
+                publish(batch);
+                batch = new LinkedHashSet<>();
+                chars = 0;
+            }
+            batch.add(name);
+            chars += name.length() + 1;
+            iterator.remove();
+        }
+        if (!batch.isEmpty()) {
+            publish(batch);
+        }
+    }
+
+    private void publish(Set<String> batch) {
+        try {
+            transport.publish(new CacheInvalidation(nodeId, batch, System.currentTimeMillis()));
+            publishedBatches.increment();
+            log.debug("Published invalidation of {}", batch);
+        } catch (Exception e) {
+            // Retry with the next flush, merged with whatever was queued meanwhile
+            pending.addAll(batch);
+            log.warn("Publishing cache invalidation of {} failed: {}", batch, e.getMessage());
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+        flush();
+    }
+}
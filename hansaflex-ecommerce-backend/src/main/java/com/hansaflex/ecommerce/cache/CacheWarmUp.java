@@ -0,0 +1,205 @@
+package com.hansaflex.ecommerce.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.hansaflex.ecommerce.config.CacheProperties;
+import com.hansaflex.ecommerce.config.ProductFilterCacheKey;
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import com.hansaflex.ecommerce.dto.ProductResponse;
+import com.hansaflex.ecommerce.entity.RegionPricingConfig;
+import com.hansaflex.ecommerce.repository.RegionPricingConfigRepository;
+import com.hansaflex.ecommerce.service.PricingService;
+import com.hansaflex.ecommerce.service.ProductService;
+import com.hansaflex.ecommerce.service.RegionPricingConfigService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads the caches the first storefront requests hit: VAT per region, categories, the first
+ * catalog page per region and sort order with the prices of its products, and the catalog keys
+ * that were hottest when the previous process shut down. Runs as an ApplicationRunner, i.e. before
+ * the readiness probe reports UP, so a new node only receives traffic once it is warm.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmUp implements ApplicationRunner {
+
+    private static final List<String> HOT_KEY_CACHES = List.of("products", "productFacets");
+
+    private final CacheProperties cacheProperties;
+    private final RegionPricingConfigRepository regionPricingConfigRepository;
+    private final RegionPricingConfigService regionPricingConfigService;
+    private final ProductService productService;
+    private final PricingService pricingService;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        CacheProperties.WarmUp warmUp = cacheProperties.getWarmUp();
+        if (!warmUp.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(warmUp.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "cache-warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            // Filled by the first-page tasks; awaited once those are done
+            Queue<CompletableFuture<Void>> priceTasks = new ConcurrentLinkedQueue<>();
+            List<String> regions = regionPricingConfigRepository.findAll().stream().map(RegionPricingConfig::getRegion).toList();
+
+            tasks.add(submit(executor, loaded, failed, productService::getAllCategories));
+            for (String region : regions) {
+                tasks.add(submit(executor, loaded, failed, () -> regionPricingConfigService.getVatByRegion(region)));
+                tasks.add(submit(executor, loaded, failed, () -> productService.getCategoriesByRegion(region)));
+            }
+            List<String> catalogRegions = new ArrayList<>(regions);
+            catalogRegions.add(null); // Unfiltered catalog
+            for (String region : catalogRegions) {
+                for (String sort : warmUp.getSorts()) {
+                    tasks.add(submit(executor, loaded, failed, () -> priceTasks.addAll(
+                            warmFirstPage(region, sort, warmUp.getPageSize(), executor, loaded, failed))));
+                }
+            }
+            for (ProductFilterCacheKey key : readHotKeys(warmUp)) {
+                tasks.add(submit(executor, loaded, failed, () -> replay(key)));
+            }
+
+            long deadline = start + warmUp.getTimeout().toMillis();
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                    .get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+            CompletableFuture.allOf(priceTasks.toArray(CompletableFuture[]::new))
+                    .get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+            log.info("Cache warm-up loaded {} entries ({} failed) in {} ms", loaded.get(), failed.get(), System.currentTimeMillis() - start);
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up did not finish within {}; {} entries loaded so far", warmUp.getTimeout(), loaded.get());
+        } catch (Exception e) {
+            log.warn("Cache warm-up stopped: {}", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Loads the first catalog page and queues loads for the prices of its products (which the
+     * product page requests next); they run alongside the remaining warm-up tasks
+     */
+    private List<CompletableFuture<Void>> warmFirstPage(String region, String sort, int pageSize, ExecutorService executor,
+                               AtomicInteger loaded, AtomicInteger failed) {
+        String[] sortParts = sort.split(",");
+        Page<ProductResponse> page = productService.getAllProducts(ProductFilterRequest.builder()
+                .region(region)
+                .page(0)
+                .size(pageSize)
+                .sortBy(sortParts[0].trim())
+                .sortDirection(sortParts.length > 1 ? sortParts[1].trim() : "asc")
+                .build());
+        return page.getContent().stream()
+                .map(product -> submit(executor, loaded, failed, () -> pricingService.calculatePrice(product.getId())))
+                .toList();
+    }
+
+    private void replay(ProductFilterCacheKey key) {
+        ProductFilterRequest filter = key.toFilterRequest();
+        switch (key.method()) {
+            case "getAllProducts" -> productService.getAllProducts(filter);
+            case "getProductFacets" -> productService.getProductFacets(filter);
+            case "getProductsWithFiltersInExactOrder" -> productService.getProductsWithFiltersInExactOrder(filter);
+            default -> log.debug("Skipping hot key of unknown method {}", key.method());
+        }
+    }
+
+    private static CompletableFuture<Void> submit(ExecutorService executor, AtomicInteger loaded, AtomicInteger failed, Runnable load) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                load.run();
+                loaded.incrementAndGet();
+            } catch (Exception e) {
+                // One missing entry is just a cache miss later; keep warming the rest
+                failed.incrementAndGet();
+                log.debug("Cache warm-up load failed: {}", e.getMessage());
+            }
+        }, executor);
+    }
+
+    /**
+     * Persists the hottest catalog keys (by Caffeine's access frequency) for the next startup
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void recordHotKeys() {
+        CacheProperties.WarmUp warmUp = cacheProperties.getWarmUp();
+        if (!warmUp.isEnabled() || warmUp.getHotKeysFile() == null || warmUp.getHotKeysFile().isBlank()) {
+            return;
+        }
+        List<ProductFilterCacheKey> hotKeys = new ArrayList<>();
+        for (String cacheName : HOT_KEY_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                nativeCache.policy().eviction().map(eviction -> hottest(eviction, warmUp.getHotKeys()))
+                        .ifPresent(hotKeys::addAll);
+            }
+        }
+        try {
+            Path file = Path.of(warmUp.getHotKeysFile());
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            objectMapper.writeValue(file.toFile(), hotKeys);
+            log.info("Recorded {} hot cache keys to {}", hotKeys.size(), file);
+        } catch (IOException e) {
+            log.warn("Could not record hot cache keys: {}", e.getMessage());
+        }
+    }
+
+    private static List<ProductFilterCacheKey> hottest(Policy.Eviction<?, ?> eviction, int limit) {
+        return eviction.hottest(limit).keySet().stream()
+                .filter(ProductFilterCacheKey.class::isInstance)
+                .map(ProductFilterCacheKey.class::cast)
+                .toList();
+    }
+
+    private List<ProductFilterCacheKey> readHotKeys(CacheProperties.WarmUp warmUp) {
+        if (warmUp.getHotKeysFile() == null || warmUp.getHotKeysFile().isBlank()) {
+            return List.of();
+        }
+        Path file = Path.of(warmUp.getHotKeysFile());
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        try {
+            return List.of(objectMapper.readValue(file.toFile(), ProductFilterCacheKey[].class));
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable hot cache keys in {}: {}", file, e.getMessage());
+            return List.of();
+        }
+    }
+}
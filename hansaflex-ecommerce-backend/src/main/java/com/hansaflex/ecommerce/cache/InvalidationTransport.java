@@ -0,0 +1,24 @@
+package com.hansaflex.ecommerce.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries invalidation batches between the nodes of a deployment.
+ * Implementations must not hand a node its own batches back.
+ */
+public interface InvalidationTransport extends AutoCloseable {
+
+    /**
+     * Sends a batch to all other nodes; throws if it could not be handed off
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Starts delivering batches from other nodes to the listener, beginning with those published
+     * since {@code replaySinceMillis} where the transport keeps a history
+     */
+    void start(String nodeId, long replaySinceMillis, Consumer<CacheInvalidation> listener);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,120 @@
+package com.hansaflex.ecommerce.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Default transport: every batch is one row in the cache_invalidations change log (V3 migration),
+ * and each node polls the log for rows written by the other nodes since its last poll.
+ * Needs nothing but the database all nodes already share.
+ * Ids are assigned at insert but become visible at commit, so a row can appear after one with a
+ * higher id has been read; each poll therefore also re-reads the rows published within
+ * {@link #COMMIT_LOOKBACK} and skips the ids it has already delivered.
+ */
+@Slf4j
+public class JdbcInvalidationTransport implements InvalidationTransport {
+
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+    // Longer than an insert takes to commit, plus the clock skew between nodes
+    static final Duration COMMIT_LOOKBACK = Duration.ofSeconds(10);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private String nodeId;
+    private Consumer<CacheInvalidation> listener;
+    private long replaySinceMillis;
+    private long lastSeenId;
+    // Rows delivered within the lookback window: id -> published_at
+    private final Map<Long, Long> recentIds = new HashMap<>();
+
+    public JdbcInvalidationTransport(JdbcTemplate jdbcTemplate, Duration pollInterval, Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        jdbcTemplate.update("INSERT INTO cache_invalidations (node_id, cache_names, published_at) VALUES (?, ?, ?)",
+                invalidation.nodeId(), String.join(",", invalidation.cacheNames()), invalidation.publishedAtMillis());
+    }
+
+    @Override
+    public void start(String nodeId, long replaySinceMillis, Consumer<CacheInvalidation> listener) {
+        this.nodeId = nodeId;
+        this.listener = listener;
+        this.replaySinceMillis = replaySinceMillis;
+        // Older rows are irrelevant: they predate everything in this node's caches
+        lastSeenId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cache_invalidations WHERE published_at < ?",
+                Long.class, replaySinceMillis);
+
+        long pollMillis = pollInterval.toMillis();
+        poller.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purge, PURGE_INTERVAL.toMillis(), PURGE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Polling cache invalidation log every {} ms as node {}", pollMillis, nodeId);
+    }
+
+    void poll() {
+        try {
+            long lookbackSince = Math.max(System.currentTimeMillis() - COMMIT_LOOKBACK.toMillis(), replaySinceMillis);
+            List<Row> rows = jdbcTemplate.query(
+                    "SELECT id, node_id, cache_names, published_at FROM cache_invalidations WHERE id > ? OR published_at >= ? ORDER BY id",
+                    (resultSet, rowNum) -> new Row(resultSet.getLong(1), resultSet.getString(2),
+                            resultSet.getString(3), resultSet.getLong(4)),
+                    lastSeenId, lookbackSince);
+            for (Row row : rows) {
+                if (recentIds.putIfAbsent(row.id(), row.publishedAt()) != null) {
+                    continue;
+                }
+                lastSeenId = Math.max(lastSeenId, row.id());
+                if (!row.nodeId().equals(nodeId)) {
+                    listener.accept(new CacheInvalidation(row.nodeId(),
+                            new LinkedHashSet<>(Arrays.asList(row.cacheNames().split(","))), row.publishedAt()));
+                }
+            }
+            // Rows published before the window are not read again, so their ids need not be remembered
+            recentIds.values().removeIf(publishedAt -> publishedAt < lookbackSince);
+        } catch (Exception e) {
+            // Keep polling; the rows are still there on the next attempt
+            log.warn("Polling cache invalidation log failed: {}", e.getMessage());
+        }
+    }
+
+    private void purge() {
+        try {
+            int purged = jdbcTemplate.update("DELETE FROM cache_invalidations WHERE published_at < ?",
+                    System.currentTimeMillis() - retention.toMillis());
+            if (purged > 0 && log.isDebugEnabled()) {
+                log.debug("Purged {} cache invalidation log rows", purged);
+            }
+        } catch (Exception e) {
+            log.warn("Purging cache invalidation log failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        poller.shutdownNow();
+    }
+
+    private record Row(long id, String nodeId, String cacheNames, long publishedAt) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.hansaflex.ecommerce.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Second-level store on H2's MVStore, the storage engine the database already runs on.
+ * With a file the entries outlive the process (and are paged in from disk as needed); without one
+ * they are kept in memory, which makes it an in-process stand-in for a shared remote store. Each cache is one MVMap of
+ * serialized key to (write time, serialized value).
+ */
+@Slf4j
+public class MvStoreSecondLevelCacheStore implements SecondLevelCacheStore {
+
+    private final MVStore store;
+
+    public MvStoreSecondLevelCacheStore(String fileName) {
+        MVStore.Builder builder = new MVStore.Builder().compress();
+        boolean inMemory = fileName == null || fileName.isBlank();
+        if (!inMemory) {
+            createParentDirectories(fileName);
+            builder.fileName(fileName);
+        }
+        this.store = builder.open();
+        log.info("Second-level cache store opened {}", inMemory ? "in memory" : "at " + fileName);
+    }
+
+    private static void createParentDirectories(String fileName) {
+        Path parent = Path.of(fileName).toAbsolutePath().getParent();
+        try {
+            Files.createDirectories(parent);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create directory for second-level cache store " + fileName, e);
+        }
+    }
+
+    @Override
+    public StoredEntry get(String cacheName, byte[] key) {
+        byte[] stored = map(cacheName).get(key);
+        if (stored == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(stored);
+        return new StoredEntry(buffer.getLong(), Arrays.copyOfRange(stored, Long.BYTES, stored.length));
+    }
+
+    @Override
+    public void put(String cacheName, byte[] key, StoredEntry entry) {
+        byte[] stored = ByteBuffer.allocate(Long.BYTES + entry.value().length)
+                .putLong(entry.writtenAtMillis())
+                .put(entry.value())
+                .array();
+        map(cacheName).put(key, stored);
+    }
+
+    @Override
+    public void evict(String cacheName, byte[] key) {
+        map(cacheName).remove(key);
+        // Persist removals right away so a crash cannot bring evicted entries back
+        store.commit();
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        map(cacheName).clear();
+        store.commit();
+    }
+
+    @Override
+    public int evictWrittenBefore(String cacheName, long writtenAtMillis) {
+        MVMap<byte[], byte[]> map = map(cacheName);
+        List<byte[]> expired = new ArrayList<>();
+        for (Map.Entry<byte[], byte[]> entry : map.entrySet()) {
+            if (ByteBuffer.wrap(entry.getValue()).getLong() < writtenAtMillis) {
+                expired.add(entry.getKey());
+            }
+        }
+        expired.forEach(map::remove);
+        return expired.size();
+    }
+
+    @Override
+    public long size(String cacheName) {
+        return map(cacheName).sizeAsLong();
+    }
+
+    @Override
+    public int evictOldest(String cacheName, long maximumEntries) {
+        MVMap<byte[], byte[]> map = map(cacheName);
+        long excess = map.sizeAsLong() - maximumEntries;
+        if (excess <= 0) {
+            return 0;
+        }
+        List<Map.Entry<byte[], Long>> written = new ArrayList<>();
+        for (Map.Entry<byte[], byte[]> entry : map.entrySet()) {
+            written.add(Map.entry(entry.getKey(), ByteBuffer.wrap(entry.getValue()).getLong()));
+        }
+        written.sort(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+        written.stream().limit(excess).forEach(entry -> map.remove(entry.getKey()));
+        return (int) Math.min(excess, written.size());
+    }
+
+    @Override
+    public long lastWrittenAtMillis() {
+        long latest = -1;
+        for (String name : store.getMapNames()) {
+            for (byte[] stored : map(name).values()) {
+                latest = Math.max(latest, ByteBuffer.wrap(stored).getLong());
+            }
+        }
+        return latest;
+    }
+
+    private MVMap<byte[], byte[]> map(String cacheName) {
+        return store.openMap(cacheName);
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+}
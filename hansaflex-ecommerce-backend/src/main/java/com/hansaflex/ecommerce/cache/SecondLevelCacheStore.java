@@ -0,0 +1,45 @@
+package com.hansaflex.ecommerce.cache;
+
+/**
+ * Byte-level store behind the local caches (see {@link TwoTierCacheManager}). Implementations
+ * either survive a restart (a local file) or are shared between nodes (a remote store).
+ */
+public interface SecondLevelCacheStore extends AutoCloseable {
+
+    /**
+     * Stored entry, or null
+     */
+    StoredEntry get(String cacheName, byte[] key);
+
+    void put(String cacheName, byte[] key, StoredEntry entry);
+
+    void evict(String cacheName, byte[] key);
+
+    void clear(String cacheName);
+
+    /**
+     * Drops entries of the cache written before the given time, returning how many were dropped
+     */
+    int evictWrittenBefore(String cacheName, long writtenAtMillis);
+
+    /**
+     * Number of stored entries of the cache
+     */
+    long size(String cacheName);
+
+    /**
+     * Drops the oldest-written entries of the cache beyond {@code maximumEntries}, returning how many were dropped
+     */
+    int evictOldest(String cacheName, long maximumEntries);
+
+    /**
+     * Latest write time of any stored entry, or -1 when the store is empty
+     */
+    long lastWrittenAtMillis();
+
+    @Override
+    void close();
+
+    record StoredEntry(long writtenAtMillis, byte[] value) {
+    }
+}
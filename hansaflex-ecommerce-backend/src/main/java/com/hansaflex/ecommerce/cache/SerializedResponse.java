@@ -0,0 +1,22 @@
+package com.hansaflex.ecommerce.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A response body serialized once and kept gzip-compressed. Clients that accept gzip get
+ * {@link #gzipped()} as is; the rare client that does not gets it inflated on the way out.
+ */
+public record SerializedResponse(String contentType, byte[] gzipped) implements Serializable {
+
+    public byte[] uncompressed() {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.hansaflex.ecommerce.cache;
+
+import com.hansaflex.ecommerce.config.DtoWriters;
+import com.hansaflex.ecommerce.config.WireFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps response bodies as gzip-compressed bytes in the negotiated wire format, keyed by the
+ * catalog version they were built from plus the request. A hit is a byte copy to the socket: no Jackson, no gzip. Entries of an
+ * older version are never asked for again and simply age out, so writes need not evict this cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class SerializedResponseCache {
+
+    public static final String CACHE_NAME = "serializedResponses";
+
+    private final CacheManager cacheManager;
+    private final DtoWriters dtoWriters;
+
+    /**
+     * The body for this version and request in the given format, building it from {@code body} on a miss
+     */
+    public SerializedResponse get(String version, Object request, WireFormat format, Supplier<?> body) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME));
+        try {
+            return cache.get(new Key(version, request, format), () -> serialize(format, body.get()));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    SerializedResponse serialize(WireFormat format, Object body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes, 8192)) {
+            dtoWriters.writerFor(format, body.getClass()).writeValue(gzip, body);
+        }
+        return new SerializedResponse(format.mediaType().toString(), bytes.toByteArray());
+    }
+
+    private record Key(String version, Object request, WireFormat format) {
+    }
+}
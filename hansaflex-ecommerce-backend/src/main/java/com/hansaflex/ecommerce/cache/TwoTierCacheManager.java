@@ -0,0 +1,404 @@
+package com.hansaflex.ecommerce.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts a {@link SecondLevelCacheStore} behind the local caches that opt in (caches.policies.*.second-level).
+ * Reads go to the local cache first and fall back to the store, promoting hits into the local cache;
+ * writes go to both tiers, and evictions remove from both. A restarted node therefore serves its
+ * catalog lists from the store instead of sending every first request to the database.
+ *
+ * Keys and values are stored with Java serialization. Entries that are not serializable stay
+ * local-only, and entries whose classes changed since they were written are dropped on read.
+ * Only the application's own classes and the JDK and Spring value types they are built from
+ * are deserialized; anything else in the file is rejected.
+ *
+ * Writes to the store run on one background thread, coalesced per key, so request threads do
+ * not pay for serialization; evictions are applied at once and cancel a pending write of the key.
+ * The same thread periodically drops expired entries and trims each cache to maximumEntries.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, InitializingBean, DisposableBean {
+
+    // Invalidations published this long before the last stored write are replayed as well, covering
+    // any still in flight (well above one flush plus one poll interval) when the previous process stopped
+    private static final Duration REPLAY_MARGIN = Duration.ofSeconds(10);
+    // Writes waiting for the writer thread; beyond this they are dropped (the store is best-effort)
+    private static final int MAX_PENDING_WRITES = 10_000;
+
+    private static final ObjectInputFilter STORED_CLASSES = ObjectInputFilter.Config.createFilter(
+            "com.hansaflex.ecommerce.**;java.lang.*;java.util.*;java.math.*;java.time.*;"
+                    + "org.springframework.data.domain.*;org.springframework.cache.support.NullValue;!*");
+
+    private final CacheManager localCacheManager;
+    private final SecondLevelCacheStore store;
+    private final Map<String, Duration> timeToLiveByCache;
+    private final long maximumEntries;
+    private final Executor writer;
+    private final Duration sweepInterval;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+    private volatile long restoredSinceMillis;
+    private volatile ScheduledFuture<?> sweeps;
+
+    // Store writes and evictions of a key are applied under the lock, so a pending write cannot land after an eviction
+    private final Object writeLock = new Object();
+    private final Map<PendingKey, Object> pendingWrites = new ConcurrentHashMap<>();
+
+    private record PendingKey(String cacheName, Object key) {
+    }
+
+    /**
+     * @param timeToLiveByCache caches that use the store, with the time after which stored entries
+     *                          expire (their expire-after-write; {@link Duration#ZERO} for none)
+     * @param maximumEntries    entries kept per cache in the store
+     * @param sweepInterval     how often expired entries are dropped and caches trimmed
+     */
+    public TwoTierCacheManager(CacheManager localCacheManager, SecondLevelCacheStore store, Map<String, Duration> timeToLiveByCache,
+                               long maximumEntries, Duration sweepInterval) {
+        this(localCacheManager, store, timeToLiveByCache, maximumEntries, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-l2-writer");
+            thread.setDaemon(true);
+            return thread;
+        }), sweepInterval);
+    }
+
+    // Without a sweep interval, sweeps only run when called (tests)
+    TwoTierCacheManager(CacheManager localCacheManager, SecondLevelCacheStore store, Map<String, Duration> timeToLiveByCache,
+                        long maximumEntries, Executor writer, Duration sweepInterval) {
+        this.localCacheManager = localCacheManager;
+        this.store = store;
+        this.timeToLiveByCache = timeToLiveByCache;
+        this.maximumEntries = maximumEntries;
+        this.writer = writer;
+        this.sweepInterval = sweepInterval;
+    }
+
+    /**
+     * Drops what expired while the node was down, notes since when restored entries may be stale
+     * and starts the periodic sweep. Called by the container, or by the {@link BroadcastingCacheManager}
+     * wrapping this manager.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        long now = System.currentTimeMillis();
+        sweep();
+        long lastWritten = store.lastWrittenAtMillis();
+        restoredSinceMillis = lastWritten < 0 ? now : lastWritten - REPLAY_MARGIN.toMillis();
+        if (sweepInterval != null && writer instanceof ScheduledExecutorService scheduler) {
+            long interval = sweepInterval.toMillis();
+            sweeps = scheduler.scheduleWithFixedDelay(this::sweepSafely, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache local = localCacheManager.getCache(name);
+        if (local == null || !timeToLiveByCache.containsKey(name)) {
+            return local;
+        }
+        return caches.computeIfAbsent(name, key -> new TwoTierCache(local, timeToLiveByCache.get(name)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return localCacheManager.getCacheNames();
+    }
+
+    /**
+     * Entries restored from the store may be missing invalidations published after this time
+     * (while this node was down); the invalidation bus replays them on startup.
+     * Known once {@link #afterPropertiesSet()} has run.
+     */
+    public long getRestoredSinceMillis() {
+        return restoredSinceMillis;
+    }
+
+    /**
+     * Writes a value that was recomputed outside the cache (a refresh-after-write reload of the
+     * local tier) through to the store
+     */
+    public void writeThrough(String cacheName, Object key, Object value) {
+        if (timeToLiveByCache.containsKey(cacheName)) {
+            enqueueWrite(cacheName, key, value);
+        }
+    }
+
+    /**
+     * Drops expired entries and trims every cache to maximumEntries
+     */
+    void sweep() {
+        long now = System.currentTimeMillis();
+        timeToLiveByCache.forEach((cacheName, timeToLive) -> {
+            int expired = timeToLive.isZero() ? 0 : store.evictWrittenBefore(cacheName, now - timeToLive.toMillis());
+            int trimmed = store.evictOldest(cacheName, maximumEntries);
+            if (expired + trimmed > 0 && log.isDebugEnabled()) {
+                log.debug("Dropped {} expired and {} surplus second-level entries of {}", expired, trimmed, cacheName);
+            }
+        });
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.warn("Second-level cache sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private void enqueueWrite(String cacheName, Object key, Object value) {
+        PendingKey pendingKey = new PendingKey(cacheName, key);
+        if (pendingWrites.size() >= MAX_PENDING_WRITES && !pendingWrites.containsKey(pendingKey)) {
+            log.debug("Second-level writes backed up; keeping {} entry {} local-only", cacheName, key);
+            return;
+        }
+        if (pendingWrites.put(pendingKey, value == null ? NullValue.INSTANCE : value) == null) {
+            try {
+                writer.execute(() -> write(pendingKey));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                pendingWrites.remove(pendingKey);
+            }
+        }
+    }
+
+    /**
+     * Writes the newest pending value of the key; a value replaced while it was being
+     * serialized is retried, one evicted meanwhile is dropped
+     */
+    private void write(PendingKey pendingKey) {
+        Object value;
+        while ((value = pendingWrites.get(pendingKey)) != null) {
+            byte[] storedKey = serialize(pendingKey.key());
+            byte[] storedValue = storedKey == null ? null : serialize(value);
+            synchronized (writeLock) {
+                if (!pendingWrites.remove(pendingKey, value)) {
+                    continue;
+                }
+                if (storedValue == null) {
+                    log.debug("Keeping {} entry {} local-only: not serializable", pendingKey.cacheName(), pendingKey.key());
+                    return;
+                }
+                store.put(pendingKey.cacheName(), storedKey,
+                        new SecondLevelCacheStore.StoredEntry(System.currentTimeMillis(), storedValue));
+            }
+            if (store.size(pendingKey.cacheName()) > maximumEntries + maximumEntries / 10) {
+                store.evictOldest(pendingKey.cacheName(), maximumEntries);
+            }
+            return;
+        }
+    }
+
+    private void evictStored(String cacheName, Object key) {
+        byte[] storedKey = serialize(key);
+        synchronized (writeLock) {
+            pendingWrites.remove(new PendingKey(cacheName, key));
+            if (storedKey != null) {
+                store.evict(cacheName, storedKey);
+            }
+        }
+    }
+
+    private void clearStored(String cacheName) {
+        synchronized (writeLock) {
+            pendingWrites.keySet().removeIf(pendingKey -> pendingKey.cacheName().equals(cacheName));
+            store.clear(cacheName);
+        }
+    }
+
+    /**
+     * Cancels the sweep and stops the writer after the pending writes are stored
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        ScheduledFuture<?> scheduledSweeps = sweeps;
+        if (scheduledSweeps != null) {
+            scheduledSweeps.cancel(false);
+        }
+        if (writer instanceof ScheduledExecutorService scheduler) {
+            scheduler.shutdown();
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Dropped {} pending second-level writes at shutdown", pendingWrites.size());
+                scheduler.shutdownNow();
+            }
+        }
+    }
+
+    static byte[] serialize(Object object) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        } catch (IOException e) {
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(STORED_CLASSES);
+            return in.readObject();
+        }
+    }
+
+    private final class TwoTierCache implements Cache {
+
+        private final Cache local;
+        private final long timeToLiveMillis;
+
+        private TwoTierCache(Cache local, Duration timeToLive) {
+            this.local = local;
+            this.timeToLiveMillis = timeToLive.toMillis();
+        }
+
+        @Override
+        public String getName() {
+            return local.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return local.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            ValueWrapper value = local.get(key);
+            if (value != null) {
+                return value;
+            }
+            value = readSecondLevel(key);
+            if (value != null) {
+                local.put(key, value.get());
+            }
+            return value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Class<T> type) {
+            ValueWrapper value = get(key);
+            if (value == null) {
+                return null;
+            }
+            if (value.get() != null && type != null && !type.isInstance(value.get())) {
+                throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value.get());
+            }
+            return (T) value.get();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return local.get(key, () -> {
+                ValueWrapper stored = readSecondLevel(key);
+                if (stored != null) {
+                    return (T) stored.get();
+                }
+                T value = valueLoader.call();
+                writeSecondLevel(key, value);
+                return value;
+            });
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            local.put(key, value);
+            writeSecondLevel(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            ValueWrapper existing = local.putIfAbsent(key, value);
+            if (existing == null) {
+                writeSecondLevel(key, value);
+            }
+            return existing;
+        }
+
+        @Override
+        public void evict(Object key) {
+            local.evict(key);
+            evictSecondLevel(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean evicted = local.evictIfPresent(key);
+            evictSecondLevel(key);
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            local.clear();
+            clearStored(getName());
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean invalidated = local.invalidate();
+            clearStored(getName());
+            return invalidated;
+        }
+
+        private ValueWrapper readSecondLevel(Object key) {
+            byte[] storedKey = serialize(key);
+            if (storedKey == null) {
+                return null;
+            }
+            SecondLevelCacheStore.StoredEntry entry = store.get(getName(), storedKey);
+            if (entry == null) {
+                return null;
+            }
+            if (timeToLiveMillis > 0 && entry.writtenAtMillis() + timeToLiveMillis < System.currentTimeMillis()) {
+                store.evict(getName(), storedKey);
+                return null;
+            }
+            try {
+                Object value = deserialize(entry.value());
+                return new SimpleValueWrapper(value == NullValue.INSTANCE ? null : value);
+            } catch (IOException | ClassNotFoundException e) {
+                // Written by a build with different classes, or a class outside STORED_CLASSES
+                log.debug("Dropping unreadable second-level entry of {}: {}", getName(), e.getMessage());
+                store.evict(getName(), storedKey);
+                return null;
+            }
+        }
+
+        private void writeSecondLevel(Object key, Object value) {
+            enqueueWrite(getName(), key, value);
+        }
+
+        private void evictSecondLevel(Object key) {
+            evictStored(getName(), key);
+        }
+    }
+}
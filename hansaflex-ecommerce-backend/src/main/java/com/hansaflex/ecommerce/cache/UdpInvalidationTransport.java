@@ -0,0 +1,89 @@
+package com.hansaflex.ecommerce.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.function.Consumer;
+
+/**
+ * Optional transport: batches are multicast as single UDP datagrams
+ * ({@code nodeId \n publishedAtMillis \n cache,cache}). Lower latency than polling, but
+ * delivery is best effort, so cache TTLs remain the upper bound on staleness.
+ */
+@Slf4j
+public class UdpInvalidationTransport implements InvalidationTransport {
+
+    private static final int MAX_DATAGRAM_BYTES = 1400;
+
+    private final InetSocketAddress group;
+    private final MulticastSocket socket;
+
+    private volatile boolean running;
+
+    public UdpInvalidationTransport(String groupAddress, int port, int timeToLive) {
+        try {
+            this.group = new InetSocketAddress(InetAddress.getByName(groupAddress), port);
+            this.socket = new MulticastSocket(port);
+            socket.setTimeToLive(timeToLive);
+            socket.joinGroup(group, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot join cache invalidation group " + groupAddress + ":" + port, e);
+        }
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        byte[] payload = (invalidation.nodeId() + "\n" + invalidation.publishedAtMillis() + "\n"
+                + String.join(",", invalidation.cacheNames())).getBytes(StandardCharsets.UTF_8);
+        try {
+            socket.send(new DatagramPacket(payload, payload.length, group));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void start(String nodeId, long replaySinceMillis, Consumer<CacheInvalidation> listener) {
+        // Nothing to replay: datagrams sent while this node was down are gone
+        running = true;
+        Thread receiver = new Thread(() -> receive(nodeId, listener), "cache-invalidation-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+        log.info("Receiving cache invalidations on {} as node {}", group, nodeId);
+    }
+
+    private void receive(String nodeId, Consumer<CacheInvalidation> listener) {
+        byte[] buffer = new byte[MAX_DATAGRAM_BYTES];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                String[] parts = new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8).split("\n", 3);
+                if (parts.length == 3 && !parts[0].equals(nodeId)) {
+                    listener.accept(new CacheInvalidation(parts[0],
+                            new LinkedHashSet<>(Arrays.asList(parts[2].split(","))), Long.parseLong(parts[1])));
+                }
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Receiving cache invalidation failed: {}", e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Ignoring malformed cache invalidation datagram: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        socket.close();
+    }
+}
@@ -1,25 +1,39 @@
 package com.hansaflex.ecommerce.config;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hansaflex.ecommerce.cache.BroadcastingCacheManager;
+import com.hansaflex.ecommerce.cache.CacheInvalidationBus;
+import com.hansaflex.ecommerce.cache.InvalidationTransport;
+import com.hansaflex.ecommerce.cache.MvStoreSecondLevelCacheStore;
+import com.hansaflex.ecommerce.cache.SecondLevelCacheStore;
+import com.hansaflex.ecommerce.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties({CacheProperties.class, CacheInvalidationProperties.class})
+@Slf4j
 public class CacheConfig {
 
-    @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(caffeineCacheBuilder());
-        
-        // Define specific caches with different configurations
-        cacheManager.setCacheNames(java.util.Arrays.asList(
+    static final List<String> CACHE_NAMES = List.of(
             "products",           // Product catalog cache
             "pricingConfig",      // VAT rules cache
             "users",             // User authentication cache
@@ -27,18 +41,145 @@ public class CacheConfig {
             "productDetails",    // Individual product cache
             "productPrice",      // Calculated prices cache
             "categories",        // Available categories cache
-            "regions"            // Available regions cache
-        ));
-        
+            "productFacets",     // Catalog facet counts per filter
+            "regions",           // Available regions cache
+            "serializedResponses" // Compressed catalog response bodies
+    );
+
+    @Bean
+    public CacheRefreshRegistry cacheRefreshRegistry() {
+        return new CacheRefreshRegistry();
+    }
+
+    /**
+     * On-disk second tier for the caches that opt in (caches.second-level)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "caches.second-level.enabled", havingValue = "true")
+    public SecondLevelCacheStore secondLevelCacheStore(CacheProperties cacheProperties) {
+        return new MvStoreSecondLevelCacheStore(cacheProperties.getSecondLevel().getPath());
+    }
+
+    /**
+     * Caffeine caches, backed by the second-level store where enabled, and wrapped so that their
+     * evictions reach the other nodes when an invalidation transport is configured (see CacheInvalidationConfig)
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties, CacheRefreshRegistry cacheRefreshRegistry,
+                                     CacheInvalidationProperties invalidationProperties,
+                                     ObjectProvider<SecondLevelCacheStore> secondLevelCacheStore,
+                                     ObjectProvider<InvalidationTransport> invalidationTransport,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        CacheManager localCacheManager = caffeineCacheManager(cacheProperties, cacheRefreshRegistry);
+        SecondLevelCacheStore store = secondLevelCacheStore.getIfAvailable();
+        if (store != null) {
+            CacheProperties.SecondLevel secondLevel = cacheProperties.getSecondLevel();
+            TwoTierCacheManager twoTier = new TwoTierCacheManager(localCacheManager, store, secondLevelTimeToLive(cacheProperties),
+                    secondLevel.getMaximumEntries(), secondLevel.getSweepInterval());
+            cacheRefreshRegistry.setReloadListener(twoTier::writeThrough);
+            localCacheManager = twoTier;
+        }
+        InvalidationTransport transport = invalidationTransport.getIfAvailable();
+        if (transport == null) {
+            log.info("Cache invalidation is node-local");
+            return localCacheManager;
+        }
+        CacheInvalidationBus bus = new CacheInvalidationBus(invalidationProperties.getNodeId(), transport,
+                invalidationProperties.getFlushInterval(), meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        log.info("Broadcasting cache invalidations as node {} via {}", bus.getNodeId(), invalidationProperties.getTransport());
+        return new BroadcastingCacheManager(localCacheManager, bus);
+    }
+
+    static CacheManager caffeineCacheManager(CacheProperties cacheProperties, CacheRefreshRegistry cacheRefreshRegistry) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // No dynamic caches: only the names below exist, each with its own policy
+        cacheManager.setCacheNames(List.of());
+
+        for (String cacheName : CACHE_NAMES) {
+            CacheProperties.Policy policy = cacheProperties.policyFor(cacheName);
+            Caffeine<Object, Object> builder = caffeineCacheBuilder(policy);
+            if (policy.getRefreshAfterWrite() != null) {
+                cacheManager.registerCustomCache(cacheName, builder.build(refreshingLoader(cacheRefreshRegistry, cacheName)));
+            } else {
+                cacheManager.registerCustomCache(cacheName, builder.build());
+            }
+            log.info("Cache {} configured with {}", cacheName, policy);
+        }
+
         return cacheManager;
     }
 
-    private Caffeine<Object, Object> caffeineCacheBuilder() {
-        return Caffeine.newBuilder()
+    /**
+     * Resolver for services whose cached reads should refresh in the background (see CacheRefreshRegistry)
+     */
+    @Bean
+    public CacheResolver refreshingCacheResolver(CacheManager cacheManager, CacheRefreshRegistry cacheRefreshRegistry) {
+        return new RefreshingCacheResolver(cacheManager, cacheRefreshRegistry);
+    }
+
+    /**
+     * Key for paged catalog results: filters plus page, size and sort
+     */
+    @Bean
+    public KeyGenerator productFilterKeyGenerator() {
+        return new ProductFilterKeyGenerator(true);
+    }
+
+    /**
+     * Key for results over the whole filtered catalog (facets, exact-order listing): filters only
+     */
+    @Bean
+    public KeyGenerator productFacetKeyGenerator() {
+        return new ProductFilterKeyGenerator(false);
+    }
+
+    private static Map<String, Duration> secondLevelTimeToLive(CacheProperties cacheProperties) {
+        Map<String, Duration> timeToLive = new LinkedHashMap<>();
+        for (String cacheName : CACHE_NAMES) {
+            CacheProperties.Policy policy = cacheProperties.policyFor(cacheName);
+            if (policy.usesSecondLevel()) {
+                timeToLive.put(cacheName, policy.getExpireAfterWrite() != null ? policy.getExpireAfterWrite() : Duration.ZERO);
+            }
+        }
+        return timeToLive;
+    }
+
+    static Caffeine<Object, Object> caffeineCacheBuilder(CacheProperties.Policy policy) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
                 .initialCapacity(100)
-                .maximumSize(1000)
-                .expireAfterWrite(Duration.ofMinutes(30)) // Cache expires after 30 minutes
-                .expireAfterAccess(Duration.ofMinutes(10)) // Cache expires after 10 minutes of inactivity
                 .recordStats(); // Enable cache statistics
+        if (policy.getMaximumWeight() != null) {
+            builder.maximumWeight(policy.getMaximumWeight().toBytes()).weigher(new CacheEntryWeigher());
+        } else if (policy.getMaximumSize() != null) {
+            builder.maximumSize(policy.getMaximumSize());
+        }
+        if (policy.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(policy.getExpireAfterWrite());
+        }
+        if (policy.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(policy.getExpireAfterAccess());
+        }
+        if (policy.getRefreshAfterWrite() != null) {
+            builder.refreshAfterWrite(policy.getRefreshAfterWrite());
+        }
+        return builder;
+    }
+
+    /**
+     * Misses are still computed by the @Cacheable method (load returns null, i.e. absent);
+     * only refreshes of known keys go through the registry
+     */
+    private static CacheLoader<Object, Object> refreshingLoader(CacheRefreshRegistry registry, String cacheName) {
+        return new CacheLoader<>() {
+            @Override
+            public Object load(Object key) {
+                return null;
+            }
+
+            @Override
+            public Object reload(Object key, Object oldValue) throws Exception {
+                return registry.reload(cacheName, key);
+            }
+        };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package com.hansaflex.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.hansaflex.ecommerce.cache.SerializedResponse;
+import com.hansaflex.ecommerce.dto.PriceRangeCount;
+import com.hansaflex.ecommerce.dto.ProductFacetsResponse;
+import com.hansaflex.ecommerce.dto.ProductResponse;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Rough retained size in bytes of a cached value, so that a page or a whole-catalog list
+ * counts for more than a single product against a cache's maximum weight.
+ * Assumes compressed oops and Latin-1 strings; it only needs to be proportional, not exact.
+ */
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT = 16;
+    private static final int REFERENCE = 4;
+    private static final int UNKNOWN = 256;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, estimate(key) + estimate(value));
+    }
+
+    static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return 40 + string.length();
+        }
+        if (value instanceof BigDecimal) {
+            return 40;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?>) {
+            return OBJECT;
+        }
+        if (value instanceof Temporal) {
+            return 48;
+        }
+        if (value instanceof ProductResponse product) {
+            return OBJECT + 11 * REFERENCE
+                    + estimate(product.getId()) + estimate(product.getName()) + estimate(product.getDescription())
+                    + estimate(product.getPrice()) + estimate(product.getCurrency()) + estimate(product.getStockQty())
+                    + estimate(product.getCategory()) + estimate(product.getRegion()) + estimate(product.getImageUrl())
+                    + estimate(product.getCreatedAt()) + estimate(product.getUpdatedAt());
+        }
+        if (value instanceof Page<?> page) {
+            return 128 + estimate(page.getContent());
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = OBJECT + 16 + (long) collection.size() * REFERENCE;
+            for (Object element : collection) {
+                size += estimate(element);
+            }
+            return size;
+        }
+        if (value instanceof Object[] array) {
+            long size = OBJECT + (long) array.length * REFERENCE;
+            for (Object element : array) {
+                size += estimate(element);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = 64 + (long) map.size() * 32;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += estimate(entry.getKey()) + estimate(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof ProductFacetsResponse facets) {
+            return OBJECT + 5 * REFERENCE + estimate(facets.getCategories()) + estimate(facets.getCurrencies())
+                    + estimate(facets.getPriceRanges()) + 2L * OBJECT;
+        }
+        if (value instanceof PriceRangeCount range) {
+            return OBJECT + 3 * REFERENCE + estimate(range.getMinPrice()) + estimate(range.getMaxPrice()) + OBJECT;
+        }
+        if (value instanceof ProductFilterCacheKey filterKey) {
+            return OBJECT + 15 * REFERENCE + estimate(filterKey.categories()) + estimate(filterKey.minPrice())
+                    + estimate(filterKey.maxPrice());
+        }
+        if (value instanceof SerializedResponse serialized) {
+            return OBJECT + 2 * REFERENCE + estimate(serialized.contentType()) + OBJECT + serialized.gzipped().length;
+        }
+        return UNKNOWN;
+    }
+}
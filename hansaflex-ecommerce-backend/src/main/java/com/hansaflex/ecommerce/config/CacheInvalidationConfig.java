@@ -0,0 +1,33 @@
+package com.hansaflex.ecommerce.config;
+
+import com.hansaflex.ecommerce.cache.InvalidationTransport;
+import com.hansaflex.ecommerce.cache.JdbcInvalidationTransport;
+import com.hansaflex.ecommerce.cache.UdpInvalidationTransport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Transport for cache invalidations between nodes, picked by caches.invalidation.transport.
+ * With transport=none no bean is created and CacheConfig keeps caches node-local.
+ */
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "caches.invalidation.transport", havingValue = "jdbc", matchIfMissing = true)
+    public InvalidationTransport jdbcInvalidationTransport(DataSource dataSource, CacheInvalidationProperties properties) {
+        return new JdbcInvalidationTransport(new JdbcTemplate(dataSource),
+                properties.getJdbc().getPollInterval(), properties.getJdbc().getRetention());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "caches.invalidation.transport", havingValue = "udp")
+    public InvalidationTransport udpInvalidationTransport(CacheInvalidationProperties properties) {
+        CacheInvalidationProperties.Udp udp = properties.getUdp();
+        return new UdpInvalidationTransport(udp.getGroup(), udp.getPort(), udp.getTimeToLive());
+    }
+}
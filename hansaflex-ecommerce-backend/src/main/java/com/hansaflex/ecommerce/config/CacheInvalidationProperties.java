@@ -0,0 +1,36 @@
+package com.hansaflex.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Cross-node cache invalidation, bound from {@code caches.invalidation} in application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "caches.invalidation")
+public class CacheInvalidationProperties {
+
+    public enum Transport { NONE, JDBC, UDP }
+
+    private Transport transport = Transport.JDBC;
+    private String nodeId = UUID.randomUUID().toString();
+    private Duration flushInterval = Duration.ofMillis(100);  // Coalescing window for local evictions
+    private Jdbc jdbc = new Jdbc();
+    private Udp udp = new Udp();
+
+    @Data
+    public static class Jdbc {
+        private Duration pollInterval = Duration.ofMillis(500);
+        private Duration retention = Duration.ofHours(1);     // Change log rows older than this are purged
+    }
+
+    @Data
+    public static class Udp {
+        private String group = "239.255.42.99";
+        private int port = 45599;
+        private int timeToLive = 1;                           // Stay within the local network
+    }
+}
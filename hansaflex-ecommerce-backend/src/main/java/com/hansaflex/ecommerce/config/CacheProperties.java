@@ -0,0 +1,85 @@
+package com.hansaflex.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caffeine policies per cache, bound from the {@code caches} section of application.yml.
+ * Unset fields of a cache's policy fall back to {@code caches.defaults}.
+ */
+@Data
+@ConfigurationProperties(prefix = "caches")
+public class CacheProperties {
+
+    private Policy defaults = new Policy();
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+    private SecondLevel secondLevel = new SecondLevel();
+    private WarmUp warmUp = new WarmUp();
+
+    /**
+     * Effective policy for a cache: its own settings over the defaults
+     */
+    public Policy policyFor(String cacheName) {
+        Policy own = policies.getOrDefault(cacheName, new Policy());
+        Policy merged = new Policy();
+        // A weight bound replaces the default size bound (Caffeine accepts only one of them)
+        if (own.getMaximumWeight() != null) {
+            merged.setMaximumWeight(own.getMaximumWeight());
+        } else if (own.getMaximumSize() != null) {
+            merged.setMaximumSize(own.getMaximumSize());
+        } else {
+            merged.setMaximumWeight(defaults.getMaximumWeight());
+            merged.setMaximumSize(defaults.getMaximumWeight() == null ? defaults.getMaximumSize() : null);
+        }
+        merged.setExpireAfterWrite(own.getExpireAfterWrite() != null ? own.getExpireAfterWrite() : defaults.getExpireAfterWrite());
+        merged.setExpireAfterAccess(own.getExpireAfterAccess() != null ? own.getExpireAfterAccess() : defaults.getExpireAfterAccess());
+        merged.setRefreshAfterWrite(own.getRefreshAfterWrite() != null ? own.getRefreshAfterWrite() : defaults.getRefreshAfterWrite());
+        merged.setSecondLevel(own.getSecondLevel() != null ? own.getSecondLevel() : defaults.getSecondLevel());
+        return merged;
+    }
+
+    @Data
+    public static class Policy {
+        private Long maximumSize;          // Entry count bound
+        private DataSize maximumWeight;    // Estimated byte bound, see CacheEntryWeigher
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        private Duration refreshAfterWrite; // Reload hot entries in the background, see CacheRefreshRegistry
+        private Boolean secondLevel;        // Also keep entries in the second-level store, see TwoTierCacheManager
+
+        public boolean usesSecondLevel() {
+            return Boolean.TRUE.equals(secondLevel);
+        }
+    }
+
+    /**
+     * Second-level store shared by the caches whose policy sets second-level
+     */
+    @Data
+    public static class SecondLevel {
+        private boolean enabled;
+        private String path;                                    // MVStore file; in memory when empty
+        private long maximumEntries = 10_000;                   // Per cache; the oldest-written entries go first
+        private Duration sweepInterval = Duration.ofMinutes(5); // Drops expired entries and trims to maximumEntries
+    }
+
+    /**
+     * Startup cache warm-up, see CacheWarmUp
+     */
+    @Data
+    public static class WarmUp {
+        private boolean enabled;
+        private int threads = 4;
+        private Duration timeout = Duration.ofSeconds(60);     // Readiness is not held back longer than this
+        private int pageSize = 10;                             // Catalog page size the storefront requests
+        private List<String> sorts = List.of("name,asc");      // "property,direction" pairs preloaded per region
+        private String hotKeysFile;                            // Hottest catalog keys, written at shutdown; none when empty
+        private int hotKeys = 200;
+    }
+}
@@ -0,0 +1,117 @@
+package com.hansaflex.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which method call produced a cache key, so caches with refresh-after-write can
+ * recompute hot entries in the background while still serving the current value.
+ * Keys are recorded by {@link RefreshingCacheResolver} when a @Cacheable read loads them; keys it has
+ * never seen (e.g. put directly) are not refreshed and are simply reloaded on the next miss.
+ */
+public class CacheRefreshRegistry implements BeanFactoryAware {
+
+    private static final ThreadLocal<Boolean> RELOADING = new ThreadLocal<>();
+
+    /**
+     * Told about every value a refresh recomputed (e.g. to write it to the second-level store,
+     * which Caffeine's own reload does not pass through)
+     */
+    @FunctionalInterface
+    public interface ReloadListener {
+
+        void reloaded(String cacheName, Object key, Object value);
+    }
+
+    private record Invocation(Object target, Method method, Object[] args) {
+    }
+
+    /**
+     * Keys are only unique within one cache: a product id keys both products and productPrice,
+     * a region both categories and pricingConfig
+     */
+    private record Entry(String cacheName, Object key) {
+    }
+
+    private final Cache<Entry, Invocation> invocations = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+    private final Map<Class<?>, Object> proxies = new ConcurrentHashMap<>();
+    private BeanFactory beanFactory;
+    private volatile ReloadListener reloadListener;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    public void setReloadListener(ReloadListener reloadListener) {
+        this.reloadListener = reloadListener;
+    }
+
+    /**
+     * True while a reload runs on the current thread; the recording caches then bypass their
+     * own entry, so the method is really invoked and Caffeine stores the result
+     */
+    static boolean isReloading() {
+        return RELOADING.get() != null;
+    }
+
+    /**
+     * Remember the latest invocation that loaded {@code key} into {@code cacheName}
+     */
+    void record(String cacheName, Object key, Object target, Method method, Object[] args) {
+        invocations.put(new Entry(cacheName, key), new Invocation(target, method, args));
+    }
+
+    /**
+     * Recompute the value for a key of {@code cacheName}, or null if the key is unknown (Caffeine then
+     * drops the entry), and pass the new value on to the listener.
+     * Invokes the bean through its proxy, so @Transactional(readOnly = true) applies (and routes
+     * to the read replica), with the cache bypassed so that it cannot hit its own stale entry.
+     */
+    Object reload(String cacheName, Object key) throws Exception {
+        Invocation invocation = invocations.getIfPresent(new Entry(cacheName, key));
+        if (invocation == null) {
+            return null;
+        }
+        Object value = invoke(invocation);
+        ReloadListener listener = reloadListener;
+        if (value != null && listener != null) {
+            listener.reloaded(cacheName, key, value);
+        }
+        return value;
+    }
+
+    private Object invoke(Invocation invocation) throws Exception {
+        RELOADING.set(Boolean.TRUE);
+        try {
+            return AopUtils.invokeJoinpointUsingReflection(proxyOf(invocation.target()), invocation.method(), invocation.args());
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        } finally {
+            RELOADING.remove();
+        }
+    }
+
+    private Object proxyOf(Object target) {
+        if (beanFactory == null) {
+            return target;
+        }
+        return proxies.computeIfAbsent(AopUtils.getTargetClass(target), type -> {
+            Object proxy = beanFactory.getBeanProvider(type).getIfUnique();
+            return proxy != null ? proxy : target;
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package com.hansaflex.ecommerce.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hansaflex.ecommerce.dto.ApiResponse;
+import com.hansaflex.ecommerce.dto.OrderResponse;
+import com.hansaflex.ecommerce.dto.OrderResponseWrapper;
+import com.hansaflex.ecommerce.dto.PriceResponse;
+import com.hansaflex.ecommerce.dto.ProductResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One shared ObjectWriter per wire format and root type, so the root serializer is looked up
+ * once rather than per response. At startup every DTO is written once in every format, which
+ * builds its serializers before the first request instead of during it; the mappers'
+ * serializer caches are shared with the HTTP message converters.
+ */
+@Component
+@Slf4j
+public class DtoWriters {
+
+    private final Map<WireFormat, ObjectMapper> mappers;
+    private final Map<WriterKey, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DtoWriters(ObjectMapper objectMapper,
+                      MappingJackson2CborHttpMessageConverter cborHttpMessageConverter,
+                      MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter) {
+        this(Map.of(WireFormat.JSON, objectMapper,
+                WireFormat.CBOR, cborHttpMessageConverter.getObjectMapper(),
+                WireFormat.SMILE, smileHttpMessageConverter.getObjectMapper()));
+    }
+
+    public DtoWriters(Map<WireFormat, ObjectMapper> mappers) {
+        this.mappers = mappers;
+    }
+
+    public ObjectWriter writerFor(WireFormat format, Class<?> type) {
+        return writers.computeIfAbsent(new WriterKey(format, type), key -> mappers.get(format).writerFor(type));
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        List<Object> samples = samples();
+        try {
+            for (WireFormat format : mappers.keySet()) {
+                for (Object sample : samples) {
+                    writerFor(format, sample.getClass()).writeValue(OutputStream.nullOutputStream(), sample);
+                    writerFor(format, ApiResponse.class).writeValue(OutputStream.nullOutputStream(), ApiResponse.success(sample));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Serializers for {} DTO types warmed in {} formats in {} ms",
+                samples.size(), mappers.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * One fully populated instance of each response DTO, nested types included
+     */
+    static List<Object> samples() {
+        LocalDateTime now = LocalDateTime.now();
+        ProductResponse product = ProductResponse.builder()
+                .id(1L).name("Hydraulic Hose").description("Warm-up").price(BigDecimal.ONE).currency("EUR")
+                .stockQty(1).category("Hoses").region("EU").imageUrl("").createdAt(now).updatedAt(now)
+                .build();
+        OrderResponse order = OrderResponse.builder()
+                .orderId(1L).totalPrice(BigDecimal.ONE).confirmationNumber("").contactName("").phoneNumber("")
+                .deliveryAddress("").createdAt(now).updatedAt(now)
+                .items(List.of(OrderResponse.OrderItemResponse.builder()
+                        .productId(1L).productName("").quantity(1).unitPrice(BigDecimal.ONE).region("EU")
+                        .vatPercentage(BigDecimal.ONE).vatAmount(BigDecimal.ONE).finalPrice(BigDecimal.ONE)
+                        .build()))
+                .build();
+        PriceResponse price = PriceResponse.builder()
+                .productId(1L).productName("").region("EU").basePrice(BigDecimal.ONE).vatPercentage(BigDecimal.ONE)
+                .vatAmount(BigDecimal.ONE).finalPrice(BigDecimal.ONE)
+                .build();
+        OrderResponseWrapper wrapper = OrderResponseWrapper.builder()
+                .order(order).orders(List.of(order))
+                .results(List.of(OrderResponseWrapper.OrderResult.builder().orderResponse(order).message("").build()))
+                .build();
+        return List.of(product, order, price, wrapper, List.of(product),
+                new PageImpl<>(List.of(product), PageRequest.of(0, 1), 1));
+    }
+
+    private record WriterKey(WireFormat format, Class<?> type) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.hansaflex.ecommerce.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves the order id sequences past any ids already present in the database.
+ * Orders and order items used to be IDENTITY columns; databases created before the
+ * switch to sequences would otherwise hand out ids that collide with existing rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceAligner {
+
+    private static final Map<String, String> SEQUENCES_BY_TABLE = Map.of(
+            "orders", "orders_seq",
+            "order_items", "order_items_seq"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Injected only so the schema (and its sequences) exists before we run
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void alignSequences() {
+        SEQUENCES_BY_TABLE.forEach(this::alignSequence);
+    }
+
+    private void alignSequence(String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        Long nextValue = jdbcTemplate.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                Long.class, sequence.toUpperCase());
+
+        if (maxId != null && nextValue != null && nextValue <= maxId) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 1));
+            log.info("Restarted sequence {} at {} to skip existing {} ids", sequence, maxId + 1, table);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.hansaflex.ecommerce.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+
+/**
+ * Boot registers Module beans with its Jackson builder, so the JSON, CBOR and Smile mappers
+ * all pick these up.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module plainBigDecimalModule() {
+        return new SimpleModule("PlainBigDecimal").addSerializer(BigDecimal.class, new PlainBigDecimalSerializer());
+    }
+}
@@ -0,0 +1,18 @@
+package com.hansaflex.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Live sales and stock counters, bound from {@code analytics.live-counters} in application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "analytics.live-counters")
+public class LiveCountersProperties {
+
+    private Duration checkpointInterval = Duration.ofMinutes(1);
+    private Duration commitGrace = Duration.ofMinutes(1);  // Orders are checkpointed once this old, so none is still committing
+    private int lowStockSize = 20;                         // Products listed per region
+}
@@ -0,0 +1,19 @@
+package com.hansaflex.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Archival of closed orders, bound from {@code orders.archive} in application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "orders.archive")
+public class OrderArchiveProperties {
+
+    private boolean enabled = true;
+    private int afterMonths = 12;                          // Whole calendar months an order stays live
+    private Duration interval = Duration.ofHours(1);
+    private int batchSize = 500;                           // Orders moved per transaction
+}
@@ -0,0 +1,33 @@
+package com.hansaflex.ecommerce.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes BigDecimals in plain notation (1500.00, never 1.5E+3) like WRITE_BIGDECIMAL_AS_PLAIN,
+ * but without its per-write toPlainString(). Whenever BigDecimal's own toString() is already
+ * plain (non-negative scale, fewer than six leading zeros, i.e. every price) that string is
+ * used, and BigDecimal caches it, so writing the same cached DTO again allocates nothing.
+ * Binary formats get the number itself.
+ */
+class PlainBigDecimalSerializer extends StdSerializer<BigDecimal> {
+
+    PlainBigDecimalSerializer() {
+        super(BigDecimal.class);
+    }
+
+    @Override
+    public void serialize(BigDecimal value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (!gen.canWriteFormattedNumbers()) {
+            gen.writeNumber(value);
+        } else if (value.scale() >= 0 && value.precision() - value.scale() > -6) {
+            gen.writeNumber(value.toString());
+        } else {
+            gen.writeNumber(value.toPlainString());
+        }
+    }
+}
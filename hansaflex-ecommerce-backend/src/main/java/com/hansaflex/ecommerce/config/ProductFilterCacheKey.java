@@ -0,0 +1,98 @@
+package com.hansaflex.ecommerce.config;
+
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Cache key for a {@link ProductFilterRequest}. Filters that select the same products produce
+ * equal keys: categories are sorted and de-duplicated, an empty category list counts as none,
+ * and prices compare by value (10.0 == 10.00). Strings keep their case because the queries
+ * compare them case-sensitively. Serializable so that entries can be kept in the second-level cache store.
+ *
+ * @param method  the cached method, so different result types never share a key
+ * @param page    -1 when the cached result does not depend on paging and sorting
+ */
+public record ProductFilterCacheKey(
+        String method,
+        String region,
+        String category,
+        List<String> categories,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        String name,
+        Integer minStock,
+        Integer maxStock,
+        String currency,
+        Boolean inStock,
+        int page,
+        int size,
+        String sortBy,
+        boolean descending) implements Serializable {
+
+    /**
+     * Key including paging and sorting
+     */
+    public static ProductFilterCacheKey of(String method, ProductFilterRequest filter) {
+        return new ProductFilterCacheKey(method,
+                filter.getRegion(), filter.getCategory(), normalize(filter.getCategories()),
+                normalize(filter.getMinPrice()), normalize(filter.getMaxPrice()), filter.getName(),
+                filter.getMinStock(), filter.getMaxStock(), filter.getCurrency(), filter.getInStock(),
+                filter.getPage() != null ? filter.getPage() : 0,
+                filter.getSize() != null ? filter.getSize() : 0,
+                filter.getSortBy(),
+                filter.getSortDirection() != null && filter.getSortDirection().toLowerCase(Locale.ROOT).startsWith("desc"));
+    }
+
+    /**
+     * Key for results that cover the whole filtered set, such as facet counts
+     */
+    public static ProductFilterCacheKey filtersOnly(String method, ProductFilterRequest filter) {
+        return new ProductFilterCacheKey(method,
+                filter.getRegion(), filter.getCategory(), normalize(filter.getCategories()),
+                normalize(filter.getMinPrice()), normalize(filter.getMaxPrice()), filter.getName(),
+                filter.getMinStock(), filter.getMaxStock(), filter.getCurrency(), filter.getInStock(),
+                -1, 0, null, false);
+    }
+
+    /**
+     * A request that maps back to this key, for replaying persisted hot keys at startup
+     */
+    public ProductFilterRequest toFilterRequest() {
+        return ProductFilterRequest.builder()
+                .region(region).category(category).categories(categories)
+                .minPrice(minPrice).maxPrice(maxPrice).name(name)
+                .minStock(minStock).maxStock(maxStock).currency(currency).inStock(inStock)
+                .page(Math.max(page, 0))
+                .size(size > 0 ? size : null)
+                .sortBy(sortBy)
+                .sortDirection(descending ? "desc" : "asc")
+                .build();
+    }
+
+    private static List<String> normalize(List<String> categories) {
+        if (categories == null || categories.isEmpty()) {
+            return null;
+        }
+        if (categories.size() == 1) {
+            return List.of(categories.get(0));
+        }
+        String[] sorted = categories.toArray(new String[0]);
+        Arrays.sort(sorted);
+        int distinct = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (!sorted[i].equals(sorted[distinct - 1])) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return List.of(distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct));
+    }
+
+    private static BigDecimal normalize(BigDecimal price) {
+        return price == null ? null : price.stripTrailingZeros();
+    }
+}
@@ -0,0 +1,32 @@
+package com.hansaflex.ecommerce.config;
+
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+
+import java.lang.reflect.Method;
+
+/**
+ * Builds a {@link ProductFilterCacheKey} from the method's {@link ProductFilterRequest} argument
+ * instead of formatting the whole request into a string.
+ */
+public class ProductFilterKeyGenerator implements KeyGenerator {
+
+    private final boolean includePaging;
+
+    public ProductFilterKeyGenerator(boolean includePaging) {
+        this.includePaging = includePaging;
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        for (Object param : params) {
+            if (param instanceof ProductFilterRequest filter) {
+                return includePaging
+                        ? ProductFilterCacheKey.of(method.getName(), filter)
+                        : ProductFilterCacheKey.filtersOnly(method.getName(), filter);
+            }
+        }
+        return SimpleKeyGenerator.generateKey(params);
+    }
+}
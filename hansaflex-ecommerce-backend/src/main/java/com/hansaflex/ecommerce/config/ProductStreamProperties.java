@@ -0,0 +1,20 @@
+package com.hansaflex.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Product delta stream for catalog clients, bound from {@code catalog.stream} in application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "catalog.stream")
+public class ProductStreamProperties {
+
+    private int queueCapacity = 256;                       // Pending products per subscriber before it is reset
+    private int replaySize = 1024;                         // Recent deltas kept for Last-Event-ID resumes
+    private int senderThreads = 2;
+    private Duration heartbeat = Duration.ofSeconds(20);
+    private Duration timeout = Duration.ofMinutes(30);     // Clients reconnect with Last-Event-ID afterwards
+}
@@ -0,0 +1,137 @@
+package com.hansaflex.ecommerce.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.interceptor.CacheableOperation;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Resolves caches by name like the default resolver, but for @Cacheable reads hands out a view
+ * that records the invocation behind every value it loads in the {@link CacheRefreshRegistry}.
+ * That way any cached read, whatever its key expression, can be refreshed in the background
+ * (stale-while-revalidate) instead of only those using a recording key generator.
+ * During such a refresh the view is bypassed: reads miss and writes are dropped, Caffeine
+ * stores the reloaded value itself.
+ */
+public class RefreshingCacheResolver implements CacheResolver {
+
+    private final SimpleCacheResolver delegate;
+    private final CacheRefreshRegistry refreshRegistry;
+
+    public RefreshingCacheResolver(CacheManager cacheManager, CacheRefreshRegistry refreshRegistry) {
+        this.delegate = new SimpleCacheResolver(cacheManager);
+        this.refreshRegistry = refreshRegistry;
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        Collection<? extends Cache> caches = delegate.resolveCaches(context);
+        if (!(context.getOperation() instanceof CacheableOperation)) {
+            return caches;
+        }
+        List<Cache> recording = new ArrayList<>(caches.size());
+        for (Cache cache : caches) {
+            recording.add(new RecordingCache(cache, context.getTarget(), context.getMethod(), context.getArgs()));
+        }
+        return recording;
+    }
+
+    private final class RecordingCache implements Cache {
+
+        private final Cache cache;
+        private final Object target;
+        private final Method method;
+        private final Object[] args;
+
+        private RecordingCache(Cache cache, Object target, Method method, Object[] args) {
+            this.cache = cache;
+            this.target = target;
+            this.method = method;
+            this.args = args;
+        }
+
+        @Override
+        public String getName() {
+            return cache.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return cache.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return CacheRefreshRegistry.isReloading() ? null : cache.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return CacheRefreshRegistry.isReloading() ? null : cache.get(key, type);
+        }
+
+        /**
+         * The @Cacheable(sync = true) path: the loader only runs on a miss, once per key
+         */
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            if (CacheRefreshRegistry.isReloading()) {
+                try {
+                    return valueLoader.call();
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(key, valueLoader, e);
+                }
+            }
+            return cache.get(key, () -> {
+                refreshRegistry.record(cache.getName(), key, target, method, args);
+                return valueLoader.call();
+            });
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            if (CacheRefreshRegistry.isReloading()) {
+                return;
+            }
+            refreshRegistry.record(cache.getName(), key, target, method, args);
+            cache.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            if (CacheRefreshRegistry.isReloading()) {
+                return null;
+            }
+            refreshRegistry.record(cache.getName(), key, target, method, args);
+            return cache.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            cache.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return cache.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            cache.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return cache.invalidate();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.hansaflex.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read replica connection, bound from {@code datasource.replica} in application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled;
+    private String url;
+    private String username;
+    private String password;
+    private String poolName = "hansaflex-replica-pool";
+    private int maximumPoolSize = 10;
+    private long connectionTimeout = 5000;
+}
@@ -5,7 +5,6 @@ import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -36,9 +35,10 @@ public class CacheController {
         
         // Get all cache names
         cacheManager.getCacheNames().forEach(cacheName -> {
-            CaffeineCache caffeineCache = (CaffeineCache) cacheManager.getCache(cacheName);
-            if (caffeineCache != null) {
-                Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+            org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null && cache.getNativeCache() instanceof Cache<?, ?>) {
+                @SuppressWarnings("unchecked")
+                Cache<Object, Object> nativeCache = (Cache<Object, Object>) cache.getNativeCache();
                 CacheStats cacheStats = nativeCache.stats();
                 
                 Map<String, Object> cacheInfo = new HashMap<>();
@@ -51,6 +51,7 @@ public class CacheController {
                 cacheInfo.put("loadCount", cacheStats.loadCount());
                 cacheInfo.put("loadSuccessCount", cacheStats.loadSuccessCount());
                 cacheInfo.put("averageLoadPenalty", cacheStats.averageLoadPenalty());
+                cacheInfo.put("policy", describePolicy(nativeCache));
                 
                 stats.put(cacheName, cacheInfo);
             }
@@ -59,6 +60,28 @@ public class CacheController {
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Effective Caffeine policy of a cache, as configured under caches.* in application.yml
+     */
+    private Map<String, Object> describePolicy(Cache<Object, Object> nativeCache) {
+        Map<String, Object> policy = new HashMap<>();
+        nativeCache.policy().eviction().ifPresent(eviction -> {
+            if (eviction.isWeighted()) {
+                policy.put("maximumWeightBytes", eviction.getMaximum());
+                eviction.weightedSize().ifPresent(weight -> policy.put("weightedSizeBytes", weight));
+            } else {
+                policy.put("maximumSize", eviction.getMaximum());
+            }
+        });
+        nativeCache.policy().expireAfterWrite()
+                .ifPresent(expiration -> policy.put("expireAfterWrite", expiration.getExpiresAfter().toString()));
+        nativeCache.policy().expireAfterAccess()
+                .ifPresent(expiration -> policy.put("expireAfterAccess", expiration.getExpiresAfter().toString()));
+        nativeCache.policy().refreshAfterWrite()
+                .ifPresent(refresh -> policy.put("refreshAfterWrite", refresh.getRefreshesAfter().toString()));
+        return policy;
+    }
+
     /**
      * Clear all caches (Admin only)
      * DELETE /api/admin/cache
@@ -1,14 +1,23 @@
 package com.hansaflex.ecommerce.controller;
 
+import com.hansaflex.ecommerce.cache.SerializedResponseCache;
+import com.hansaflex.ecommerce.config.ProductFilterCacheKey;
+import com.hansaflex.ecommerce.config.WireFormat;
 import com.hansaflex.ecommerce.dto.ApiResponse;
+import com.hansaflex.ecommerce.dto.CatalogVersion;
+import com.hansaflex.ecommerce.dto.FacetedProductsResponse;
 import com.hansaflex.ecommerce.dto.ProductFilterRequest;
 import com.hansaflex.ecommerce.dto.ProductResponse;
+import com.hansaflex.ecommerce.dto.SuggestionResponse;
+import com.hansaflex.ecommerce.monitoring.RequestLogSampler;
 import com.hansaflex.ecommerce.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,23 +29,31 @@ import java.util.List;
 public class CatalogController {
 
     private final ProductService productService;
+    private final RequestLogSampler requestLogSampler;
+    private final SerializedResponseCache serializedResponseCache;
 
     /**
      * Get all products (Public endpoint - No authentication required)
      * GET /api/catalog/all
+     * Catalog reads carry the catalog version as ETag/Last-Modified and answer 304 to a matching
+     * If-None-Match/If-Modified-Since without loading the products. The body is served from
+     * SerializedResponseCache as gzip-compressed JSON (or CBOR/Smile, by Accept), so a hit is not serialized again.
      */
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<ProductResponse>>> getAllProducts() {
-        log.info("Public request to fetch all products");
+    public ResponseEntity<byte[]> getAllProducts(WebRequest request) {
+        requestLogSampler.info(log, "Public request to fetch all products");
         ProductFilterRequest filterRequest = ProductFilterRequest.builder()
                 .page(0)
                 .size(1000) // Large size to get all products
                 .sortBy("name")
                 .sortDirection("asc")
                 .build();
-        Page<ProductResponse> productsPage = productService.getAllProducts(filterRequest);
-        List<ProductResponse> products = productsPage.getContent();
-        return ResponseEntity.ok(ApiResponse.success(products));
+        CatalogVersion version = productService.getCatalogVersion();
+        WireFormat format = WireFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        boolean envelope = !ResponseEnvelopeAdvice.isEnvelopeless(request.getHeader(ResponseEnvelopeAdvice.HEADER));
+        return ConditionalResponses.serializedIfModified(request, version.etag(), version.lastModifiedMillis(),
+                () -> serializedResponseCache.get(version.etag(), List.of("all_products", envelope), format,
+                        () -> envelope(envelope, productService.getAllProducts(filterRequest).getContent())));
     }
 
     /**
@@ -49,7 +66,7 @@ public class CatalogController {
      * - inStock: Only products with stock > 0
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<ProductResponse>>> getProductsWithPaginationAndFiltering(
+    public ResponseEntity<byte[]> getProductsWithPaginationAndFiltering(
             @RequestParam(required = false) String region,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String categories, // Comma-separated list
@@ -63,18 +80,106 @@ public class CatalogController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDirection) {
-        
-        log.info("Customer fetching products with enhanced pagination and filtering - region: {}, category: {}, categories: {}, minPrice: {}, maxPrice: {}, name: {}, minStock: {}, maxStock: {}, currency: {}, inStock: {}, page: {}, size: {}, sortBy: {}, sortDirection: {}", 
-                region, category, categories, minPrice, maxPrice, name, minStock, maxStock, currency, inStock, page, size, sortBy, sortDirection);
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            WebRequest request) {
+
+        ProductFilterRequest filterRequest = buildFilterRequest(region, category, categories, minPrice, maxPrice, name,
+                minStock, maxStock, currency, inStock, page, size, sortBy, sortDirection);
+
+        // Sampled: this endpoint is polled per keystroke, and the filter is only formatted when logged
+        requestLogSampler.info(log, "Customer fetching products with enhanced pagination and filtering: {}", filterRequest);
+
+        CatalogVersion version = productService.getCatalogVersion();
+        WireFormat format = WireFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        boolean envelope = !ResponseEnvelopeAdvice.isEnvelopeless(request.getHeader(ResponseEnvelopeAdvice.HEADER));
+        return ConditionalResponses.serializedIfModified(request, version.etag(), version.lastModifiedMillis(),
+                () -> serializedResponseCache.get(version.etag(),
+                        List.of(ProductFilterCacheKey.of("catalogPage", filterRequest), envelope), format,
+                        () -> envelope(envelope, productService.getAllProducts(filterRequest))));
+    }
+
+    /**
+     * Full-text product search ranked by relevance (Public endpoint - No authentication required)
+     * GET /api/catalog/search?q=2SN DN10&region=EU&page=0&size=10
+     * Matches name, description and category, including prefixes ("hydr") and small typos ("hydralic")
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<Page<ProductResponse>>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(required = false) String region,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Page<ProductResponse> products = productService.searchProducts(q, region, page, size);
+        return ResponseEntity.ok(ApiResponse.success(products));
+    }
+
+    /**
+     * Typeahead suggestions for the search box (Public endpoint - No authentication required)
+     * GET /api/catalog/suggest?q=hyd&region=EU&limit=8
+     * Returns product names and categories with a word starting with q, most products first
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<SuggestionResponse>>> suggestProducts(
+            @RequestParam String q,
+            @RequestParam(required = false) String region,
+            @RequestParam(defaultValue = "8") int limit) {
+        List<SuggestionResponse> suggestions = productService.suggestProducts(q, region, limit);
+        return ResponseEntity.ok(ApiResponse.success(suggestions));
+    }
 
+    /**
+     * Same filtering and pagination as GET /api/catalog, plus facet counts for the filtered catalog
+     * (Public endpoint - No authentication required)
+     * GET /api/catalog/faceted?region=EU&inStock=true&page=0&size=10
+     * Facets: per category, per currency, price ranges and in/out of stock
+     */
+    @GetMapping("/faceted")
+    public ResponseEntity<ApiResponse<FacetedProductsResponse>> getProductsWithFacets(
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String categories, // Comma-separated list
+            @RequestParam(required = false) String minPrice,
+            @RequestParam(required = false) String maxPrice,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Integer minStock,
+            @RequestParam(required = false) Integer maxStock,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            WebRequest request) {
+
+        ProductFilterRequest filterRequest = buildFilterRequest(region, category, categories, minPrice, maxPrice, name,
+                minStock, maxStock, currency, inStock, page, size, sortBy, sortDirection);
+
+        CatalogVersion version = productService.getCatalogVersion();
+        return ConditionalResponses.ifModified(request, version.etag(), version.lastModifiedMillis(),
+                () -> FacetedProductsResponse.builder()
+                        .products(productService.getAllProducts(filterRequest))
+                        .facets(productService.getProductFacets(filterRequest))
+                        .build());
+    }
+
+    /**
+     * Pre-serialized bodies bypass ResponseEnvelopeAdvice, so they apply the envelope choice themselves
+     */
+    private static Object envelope(boolean envelope, Object data) {
+        return envelope ? ApiResponse.success(data) : data;
+    }
+
+    private ProductFilterRequest buildFilterRequest(String region, String category, String categories,
+                                                    String minPrice, String maxPrice, String name,
+                                                    Integer minStock, Integer maxStock, String currency, Boolean inStock,
+                                                    int page, int size, String sortBy, String sortDirection) {
         // Parse categories if provided
         List<String> categoryList = null;
         if (categories != null && !categories.trim().isEmpty()) {
             categoryList = List.of(categories.split(","));
         }
 
-        ProductFilterRequest filterRequest = ProductFilterRequest.builder()
+        return ProductFilterRequest.builder()
                 .region(region)
                 .category(category)
                 .categories(categoryList)
@@ -90,8 +195,5 @@ public class CatalogController {
                 .sortBy(sortBy)
                 .sortDirection(sortDirection)
                 .build();
-
-        Page<ProductResponse> products = productService.getAllProducts(filterRequest);
-        return ResponseEntity.ok(ApiResponse.success(products));
     }
 }
@@ -0,0 +1,82 @@
+package com.hansaflex.ecommerce.controller;
+
+import com.hansaflex.ecommerce.cache.SerializedResponse;
+import com.hansaflex.ecommerce.dto.ApiResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET handling for public read endpoints. The body supplier only runs when the
+ * client's copy is out of date, so a 304 costs neither the query nor the serializer.
+ * Bodies list the headers they vary by, so shared caches keep one copy per format, encoding and envelope.
+ */
+final class ConditionalResponses {
+
+    // Browsers and CDNs may store the response but must revalidate it on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
+    // Request headers that select the format, encoding and envelope of the body
+    private static final String[] VARY = {HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, ResponseEnvelopeAdvice.HEADER};
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<ApiResponse<T>> ifModified(WebRequest request, String etag, long lastModifiedMillis,
+                                                         Supplier<T> body) {
+        if (request.checkNotModified(etag, lastModifiedMillis)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).varyBy(VARY).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(VARY).body(ApiResponse.success(body.get()));
+    }
+
+    static <T> ResponseEntity<ApiResponse<T>> ifModified(WebRequest request, String etag, Supplier<T> body) {
+        return ifModified(request, etag, -1, body);
+    }
+
+    /**
+     * Same, for a body kept pre-serialized: written gzip-encoded when the client accepts it
+     */
+    static ResponseEntity<byte[]> serializedIfModified(WebRequest request, String etag, long lastModifiedMillis,
+                                                       Supplier<SerializedResponse> body) {
+        if (request.checkNotModified(etag, lastModifiedMillis)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).varyBy(VARY).build();
+        }
+        SerializedResponse serialized = body.get();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(REVALIDATE)
+                .varyBy(VARY)
+                .contentType(MediaType.parseMediaType(serialized.contentType()));
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(serialized.gzipped());
+        }
+        return response.body(serialized.uncompressed());
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if ((name.equalsIgnoreCase("gzip") || name.equals("*")) && !rejected(parts)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean rejected(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            if (parameters[i].replace(" ", "").matches("q=0(\\.0*)?")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -4,6 +4,9 @@ import com.hansaflex.ecommerce.dto.ApiResponse;
 import com.hansaflex.ecommerce.dto.OrderRequest;
 import com.hansaflex.ecommerce.dto.OrderResponse;
 import com.hansaflex.ecommerce.dto.OrderResponseWrapper;
+import com.hansaflex.ecommerce.dto.OrderSummaryPage;
+import com.hansaflex.ecommerce.dto.OrderSummaryResponse;
+import com.hansaflex.ecommerce.enums.OrderStatus;
 import com.hansaflex.ecommerce.security.JwtUtil;
 import com.hansaflex.ecommerce.service.OrderService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -160,23 +163,52 @@ public class OrderController {
     }
 
     /**
-     * Get orders by region (Admin only - JWT or Basic Auth)
-     * GET /api/orders/region/{region}
+     * Get orders by region (Admin only - JWT or Basic Auth); archived orders too with includeArchived=true
+     * GET /api/orders/region/{region}?includeArchived=false
      */
     @GetMapping("/region/{region}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getOrdersByRegion(@PathVariable String region) {
+    public ResponseEntity<ApiResponse<List<OrderResponse>>> getOrdersByRegion(
+            @PathVariable String region,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         log.info("Admin fetching orders for region: {}", region);
-        List<OrderResponse> orders = orderService.getOrdersByRegion(region);
+        List<OrderResponse> orders = orderService.getOrdersByRegion(region, includeArchived);
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
 
     /**
-     * Get customer's own orders (Customer authentication required)
-     * GET /api/orders/my
+     * Get a customer's order summaries from the read model (Admin only - JWT or Basic Auth)
+     * GET /api/orders/customer/{customerId}/summaries
+     */
+    @GetMapping("/customer/{customerId}/summaries")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<OrderSummaryResponse>>> getOrderSummariesByCustomer(@PathVariable String customerId) {
+        log.info("Admin fetching order summaries for customer: {}", customerId);
+        List<OrderSummaryResponse> summaries = orderService.getOrderSummariesByCustomerId(customerId);
+        return ResponseEntity.ok(ApiResponse.success(summaries));
+    }
+
+    /**
+     * Change an order's status (Admin only - JWT or Basic Auth)
+     * PUT /api/orders/{id}/status?status=FAILED
+     */
+    @PutMapping("/{id}/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<OrderResponse>> updateOrderStatus(@PathVariable Long id, @RequestParam OrderStatus status) {
+        log.info("Admin updating order {} to status {}", id, status);
+        OrderResponse orderResponse = orderService.updateOrderStatus(id, status);
+        return ResponseEntity.ok(ApiResponse.success("Order status updated successfully", orderResponse));
+    }
+
+    /**
+     * Get customer's own orders, newest first, one page at a time (Customer authentication required)
+     * GET /api/orders/my?size=20&cursor=<nextCursor of the previous page>
      */
     @GetMapping("/my")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getMyOrders(HttpServletRequest request) {
+    public ResponseEntity<ApiResponse<OrderSummaryPage>> getMyOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            HttpServletRequest request) {
         log.info("Customer fetching their own orders");
         
         // Extract JWT token from Authorization header
@@ -220,7 +252,7 @@ public class OrderController {
                     .body(ApiResponse.error("Unsupported authentication method. Use Bearer (JWT) or Basic authentication."));
         }
         
-        List<OrderResponse> orders = orderService.getOrdersByCustomerId(customerId);
+        OrderSummaryPage orders = orderService.getOrderSummaryPage(customerId, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
 
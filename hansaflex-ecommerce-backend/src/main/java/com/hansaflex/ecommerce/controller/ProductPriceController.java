@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/products")
@@ -20,11 +21,13 @@ public class ProductPriceController {
     /**
      * Get product price with VAT calculation (Public endpoint - No authentication required)
      * GET /api/products/{id}/price
+     * The ETag is a hash of the (cached) price, so an unchanged price answers If-None-Match with 304
      */
     @GetMapping("/{id}/price")
-    public ResponseEntity<ApiResponse<PriceResponse>> getProductPrice(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<PriceResponse>> getProductPrice(@PathVariable Long id, WebRequest request) {
         log.info("Public request to get price for product ID: {}", id);
         PriceResponse priceResponse = pricingService.calculatePrice(id);
-        return ResponseEntity.ok(ApiResponse.success(priceResponse));
+        String etag = "W/\"" + id + "-" + Integer.toHexString(priceResponse.hashCode()) + "\"";
+        return ConditionalResponses.ifModified(request, etag, () -> priceResponse);
     }
 }
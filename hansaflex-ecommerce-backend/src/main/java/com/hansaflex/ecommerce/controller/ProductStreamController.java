@@ -0,0 +1,32 @@
+package com.hansaflex.ecommerce.controller;
+
+import com.hansaflex.ecommerce.stream.ProductDeltaBroadcaster;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/catalog")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class ProductStreamController {
+
+    private final ProductDeltaBroadcaster productDeltaBroadcaster;
+
+    /**
+     * Stream stock and price changes (Public endpoint - No authentication required)
+     * GET /api/catalog/stream?region=EU
+     * Server-sent events: "product" {id, stockQty, price, version}, "removed" {id, version}, and
+     * "reset" when the client fell behind or reconnected to another node and has to reload the catalog. Without region every
+     * region is streamed. EventSource reconnects with Last-Event-ID and gets the missed deltas.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProductChanges(@RequestParam(required = false) String region,
+                                           @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.debug("Opening product stream for region {}", region);
+        return productDeltaBroadcaster.subscribe(region, lastEventId);
+    }
+}
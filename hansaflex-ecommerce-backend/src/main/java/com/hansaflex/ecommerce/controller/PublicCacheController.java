@@ -19,8 +19,10 @@ public class PublicCacheController {
     private final CacheService cacheService;
 
     /**
-     * Clear all product caches (Public endpoint for testing)
+     * Clear all product caches (admin only, despite the path)
      * POST /api/public/cache/clear-products
+     * Product writes already evict the caches; clients following stock and price changes
+     * should subscribe to GET /api/catalog/stream instead of calling this.
      */
     @PostMapping("/clear-products")
     public ResponseEntity<Map<String, String>> clearProductCaches() {
@@ -46,7 +48,7 @@ public class PublicCacheController {
     }
 
     /**
-     * Clear all caches (Public endpoint for testing)
+     * Clear all caches (admin only, despite the path)
      * POST /api/public/cache/clear-all
      */
     @PostMapping("/clear-all")
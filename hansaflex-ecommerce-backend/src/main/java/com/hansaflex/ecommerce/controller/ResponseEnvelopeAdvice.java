@@ -0,0 +1,45 @@
+package com.hansaflex.ecommerce.controller;
+
+import com.hansaflex.ecommerce.dto.ApiResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Envelope-less responses for machine clients: with {@code X-Response-Envelope: none} a
+ * successful {@link ApiResponse} is written as its {@code data} alone, the status code already
+ * says it succeeded. Errors keep the envelope so that the message still reaches the client.
+ */
+@RestControllerAdvice
+public class ResponseEnvelopeAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-Response-Envelope";
+
+    /**
+     * Whether the request asked for bodies without the ApiResponse envelope
+     */
+    public static boolean isEnvelopeless(String headerValue) {
+        return "none".equalsIgnoreCase(headerValue);
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ApiResponse<?> apiResponse && apiResponse.isSuccess()
+                && isEnvelopeless(request.getHeaders().getFirst(HEADER))) {
+            return apiResponse.getData();
+        }
+        return body;
+    }
+}
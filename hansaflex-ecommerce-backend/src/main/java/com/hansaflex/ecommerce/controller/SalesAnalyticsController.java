@@ -0,0 +1,103 @@
+package com.hansaflex.ecommerce.controller;
+
+import com.hansaflex.ecommerce.dto.ApiResponse;
+import com.hansaflex.ecommerce.dto.LiveSalesResponse;
+import com.hansaflex.ecommerce.dto.SalesAggregateResponse;
+import com.hansaflex.ecommerce.dto.SalesCounterResponse;
+import com.hansaflex.ecommerce.dto.StockLevelResponse;
+import com.hansaflex.ecommerce.service.SalesAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class SalesAnalyticsController {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    /**
+     * Net revenue, VAT and units per region, product, category, day or month (Admin only)
+     * GET /api/admin/analytics/sales?groupBy=category&region=EU&from=2024-01-01&to=2024-12-31&limit=10
+     */
+    @GetMapping("/sales")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<SalesAggregateResponse>>> getSales(
+            @RequestParam(defaultValue = "region") String groupBy,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int limit) {
+        log.info("Admin fetching sales by {} (region {}, category {}, {} to {})", groupBy, region, category, from, to);
+        return ResponseEntity.ok(ApiResponse.success(salesAnalyticsService.getSales(groupBy, region, category, from, to, limit)));
+    }
+
+    /**
+     * Sales totals over the same filters (Admin only)
+     * GET /api/admin/analytics/sales/totals?region=EU
+     */
+    @GetMapping("/sales/totals")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<SalesAggregateResponse>> getSalesTotals(
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Admin fetching sales totals (region {}, category {}, {} to {})", region, category, from, to);
+        return ResponseEntity.ok(ApiResponse.success(salesAnalyticsService.getTotals(region, category, from, to)));
+    }
+
+    /**
+     * Live revenue and order counts per region with each region's lowest-stock products (Admin only)
+     * GET /api/admin/analytics/live
+     */
+    @GetMapping("/live")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<LiveSalesResponse>> getLiveSales() {
+        log.info("Admin fetching live sales counters");
+        return ResponseEntity.ok(ApiResponse.success(salesAnalyticsService.getLiveSales()));
+    }
+
+    /**
+     * Live counters of one region (Admin only)
+     * GET /api/admin/analytics/live/regions/{region}
+     */
+    @GetMapping("/live/regions/{region}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<SalesCounterResponse>> getLiveRegionSales(@PathVariable String region) {
+        log.info("Admin fetching live sales counters for region: {}", region);
+        return ResponseEntity.ok(ApiResponse.success(salesAnalyticsService.getLiveRegionSales(region)));
+    }
+
+    /**
+     * Live counters of one product (Admin only)
+     * GET /api/admin/analytics/live/products/{id}
+     */
+    @GetMapping("/live/products/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<SalesCounterResponse>> getLiveProductSales(@PathVariable Long id) {
+        log.info("Admin fetching live sales counters for product: {}", id);
+        return ResponseEntity.ok(ApiResponse.success(salesAnalyticsService.getLiveProductSales(id)));
+    }
+
+    /**
+     * A region's lowest-stock products, lowest first (Admin only)
+     * GET /api/admin/analytics/live/regions/{region}/low-stock
+     */
+    @GetMapping("/live/regions/{region}/low-stock")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<StockLevelResponse>>> getLowStock(@PathVariable String region) {
+        log.info("Admin fetching low-stock products for region: {}", region);
+        return ResponseEntity.ok(ApiResponse.success(salesAnalyticsService.getLowStock(region)));
+    }
+}
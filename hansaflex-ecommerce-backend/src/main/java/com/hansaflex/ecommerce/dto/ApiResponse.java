@@ -1,15 +1,25 @@
 package com.hansaflex.ecommerce.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Envelope of every REST response. Timestamps come from a once-per-second clock and are
+ * serialized by {@link ApiResponseSerializer}; clients that only want {@code data} can ask
+ * for it without the envelope (see ResponseEnvelopeAdvice).
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonSerialize(using = ApiResponseSerializer.class)
 public class ApiResponse<T> {
+
+    public static final String SUCCESS_MESSAGE = "Operation completed successfully";
+
     private boolean success;
     private String message;
     private T data;
@@ -18,9 +28,9 @@ public class ApiResponse<T> {
     public static <T> ApiResponse<T> success(T data) {
         return ApiResponse.<T>builder()
                 .success(true)
-                .message("Operation completed successfully")
+                .message(SUCCESS_MESSAGE)
                 .data(data)
-                .timestamp(java.time.LocalDateTime.now().toString())
+                .timestamp(CoarseClock.now())
                 .build();
     }
 
@@ -29,7 +39,7 @@ public class ApiResponse<T> {
                 .success(true)
                 .message(message)
                 .data(data)
-                .timestamp(java.time.LocalDateTime.now().toString())
+                .timestamp(CoarseClock.now())
                 .build();
     }
 
@@ -37,7 +47,7 @@ public class ApiResponse<T> {
         return ApiResponse.<T>builder()
                 .success(false)
                 .message(message)
-                .timestamp(java.time.LocalDateTime.now().toString())
+                .timestamp(CoarseClock.now())
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package com.hansaflex.ecommerce.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link ApiResponse} straight to the generator: field names and the default message are
+ * encoded once, and {@code data} is handed to its own serializer. Produces the same fields, in
+ * the same order, as the bean serializer it replaces.
+ */
+class ApiResponseSerializer extends StdSerializer<ApiResponse<?>> {
+
+    private static final SerializedString SUCCESS = new SerializedString("success");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString SUCCESS_MESSAGE = new SerializedString(ApiResponse.SUCCESS_MESSAGE);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ApiResponseSerializer() {
+        super((Class) ApiResponse.class);
+    }
+
+    @Override
+    public void serialize(ApiResponse<?> response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(response);
+        gen.writeFieldName(SUCCESS);
+        gen.writeBoolean(response.isSuccess());
+        gen.writeFieldName(MESSAGE);
+        writeMessage(response.getMessage(), gen);
+        gen.writeFieldName(DATA);
+        provider.defaultSerializeValue(response.getData(), gen);
+        gen.writeFieldName(TIMESTAMP);
+        if (response.getTimestamp() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(response.getTimestamp());
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeMessage(String message, JsonGenerator gen) throws IOException {
+        if (message == null) {
+            gen.writeNull();
+        } else if (message.equals(ApiResponse.SUCCESS_MESSAGE)) {
+            gen.writeString(SUCCESS_MESSAGE);
+        } else {
+            gen.writeString(message);
+        }
+    }
+}
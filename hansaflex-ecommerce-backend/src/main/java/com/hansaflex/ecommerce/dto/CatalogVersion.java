@@ -0,0 +1,16 @@
+package com.hansaflex.ecommerce.dto;
+
+import java.io.Serializable;
+
+/**
+ * ETag and Last-Modified of the catalog. Derived from the database (product count and latest
+ * update) rather than a counter, so that every node computes the same value.
+ */
+public record CatalogVersion(String etag, long lastModifiedMillis) implements Serializable {
+
+    public static CatalogVersion of(long productCount, long lastModifiedMillis) {
+        // Weak: the body carries a timestamp and may be compressed, only the data is identical
+        return new CatalogVersion("W/\"" + Long.toHexString(lastModifiedMillis) + "-" + Long.toHexString(productCount) + "\"",
+                lastModifiedMillis);
+    }
+}
@@ -0,0 +1,36 @@
+package com.hansaflex.ecommerce.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Response timestamps at one-second resolution. The formatted string is built once per second
+ * and shared by every response in it, instead of a LocalDateTime and a new string per response.
+ */
+final class CoarseClock {
+
+    private static volatile Tick tick = new Tick(Long.MIN_VALUE, null);
+
+    private CoarseClock() {
+    }
+
+    /**
+     * Local date-time of the current second, e.g. 2026-10-18T23:37:20
+     */
+    static String now() {
+        long second = System.currentTimeMillis() / 1000;
+        Tick current = tick;
+        if (current.second != second) {
+            // Racing threads may both format the same second; either result is correct
+            current = new Tick(second, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(
+                    LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZoneId.systemDefault())));
+            tick = current;
+        }
+        return current.formatted;
+    }
+
+    private record Tick(long second, String formatted) {
+    }
+}
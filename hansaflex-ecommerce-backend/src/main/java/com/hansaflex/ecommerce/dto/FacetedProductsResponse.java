@@ -0,0 +1,16 @@
+package com.hansaflex.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetedProductsResponse {
+    private Page<ProductResponse> products;
+    private ProductFacetsResponse facets;
+}
@@ -0,0 +1,18 @@
+package com.hansaflex.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveSalesResponse {
+    private List<SalesCounterResponse> regions;
+    private Map<String, List<StockLevelResponse>> lowStock;     // Lowest stock first, per region
+}
@@ -0,0 +1,22 @@
+package com.hansaflex.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a customer's orders, newest first. Pass {@code nextCursor} back as
+ * {@code cursor} for the following page; it is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryPage {
+    private List<OrderSummaryResponse> orders;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,27 @@
+package com.hansaflex.ecommerce.dto;
+
+import com.hansaflex.ecommerce.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryResponse {
+    private Long orderId;
+    private OrderStatus status;
+    private BigDecimal totalPrice;
+    private Integer itemCount;
+    private Integer totalQuantity;
+    private String confirmationNumber;
+    private List<String> productNames;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
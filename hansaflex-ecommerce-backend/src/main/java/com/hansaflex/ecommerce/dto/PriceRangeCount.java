@@ -0,0 +1,19 @@
+package com.hansaflex.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRangeCount implements Serializable {
+    private BigDecimal minPrice; // Inclusive
+    private BigDecimal maxPrice; // Exclusive, null for the open-ended top range
+    private Long count;
+}
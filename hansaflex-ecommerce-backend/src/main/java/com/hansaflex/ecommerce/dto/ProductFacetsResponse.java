@@ -0,0 +1,22 @@
+package com.hansaflex.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsResponse implements Serializable {
+    private Map<String, Long> categories;
+    private Map<String, Long> currencies;
+    private List<PriceRangeCount> priceRanges;
+    private Long inStock;
+    private Long outOfStock;
+}
@@ -38,8 +38,7 @@ public class ProductFilterRequest {
     private String sortDirection = "asc";
 
     /**
-     * Custom toString method for cache key generation
-     * Includes all filter parameters to ensure unique cache keys
+     * Readable form for request logging; cache keys come from ProductFilterKeyGenerator
      */
     @Override
     public String toString() {
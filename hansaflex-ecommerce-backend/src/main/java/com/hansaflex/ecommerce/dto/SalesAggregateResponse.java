@@ -0,0 +1,22 @@
+package com.hansaflex.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesAggregateResponse {
+    private String key;                  // Region, product id, category, yyyy-MM-dd or yyyy-MM
+    private String label;                // Product name when grouped by product
+    private BigDecimal netRevenue;
+    private BigDecimal vat;
+    private BigDecimal grossRevenue;
+    private Long units;
+    private Long lines;
+}
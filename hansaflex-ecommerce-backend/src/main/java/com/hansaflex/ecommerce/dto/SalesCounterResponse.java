@@ -0,0 +1,21 @@
+package com.hansaflex.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesCounterResponse {
+    private String key;                  // Region or product id
+    private Long orders;
+    private Long units;
+    private BigDecimal netRevenue;
+    private BigDecimal vat;
+    private BigDecimal grossRevenue;
+}
@@ -0,0 +1,17 @@
+package com.hansaflex.ecommerce.dto;
+
+import com.hansaflex.ecommerce.enums.SuggestionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionResponse {
+    private String text;
+    private SuggestionType type;
+    private Integer productCount; // Products carrying this name or category
+}
@@ -22,8 +22,10 @@ import java.util.List;
 @AllArgsConstructor
 public class Order {
 
+    // Sequence-backed ids (pooled-lo, see application.yml) keep JDBC insert batching enabled
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "customer_id", nullable = false)
@@ -13,7 +13,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_region_category_price", columnList = "region, category, price"),
+        @Index(name = "ux_products_name_region", columnList = "name, region", unique = true),
+        @Index(name = "idx_products_region_stock_qty", columnList = "region, stock_qty")
+})
 @Data
 @Builder
 @NoArgsConstructor
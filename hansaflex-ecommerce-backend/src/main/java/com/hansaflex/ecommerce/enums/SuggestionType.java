@@ -0,0 +1,6 @@
+package com.hansaflex.ecommerce.enums;
+
+public enum SuggestionType {
+    PRODUCT,
+    CATEGORY
+}
@@ -0,0 +1,37 @@
+package com.hansaflex.ecommerce.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource so every statement is reported to {@link QueryMetricsListener}.
+ * The proxy still unwraps to the Hikari pool, so actuator keeps publishing hikaricp.* metrics.
+ * With a read replica only the two pools are wrapped, not the routing DataSource in front of
+ * them, so each statement is counted once.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryMetricsListener> queryMetricsListener;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                && !(bean instanceof DelegatingDataSource) && !(bean instanceof AbstractRoutingDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(queryMetricsListener.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
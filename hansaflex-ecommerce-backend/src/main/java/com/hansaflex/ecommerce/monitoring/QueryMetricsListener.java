@@ -0,0 +1,65 @@
+package com.hansaflex.ecommerce.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Times every JDBC execution going through the proxied DataSource.
+ * Replaces SQL echoing: only statements slower than the threshold are logged.
+ */
+@Component
+@Slf4j
+public class QueryMetricsListener implements QueryExecutionListener {
+
+    private final Map<QueryType, Timer> timersByType = new EnumMap<>(QueryType.class);
+    private final long slowQueryThresholdMs;
+
+    public QueryMetricsListener(MeterRegistry meterRegistry,
+                                @Value("${monitoring.db.slow-query-threshold-ms:200}") long slowQueryThresholdMs) {
+        this.slowQueryThresholdMs = slowQueryThresholdMs;
+        for (QueryType type : QueryType.values()) {
+            timersByType.put(type, Timer.builder("db.query")
+                    .description("JDBC statement execution time")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMs = execInfo.getElapsedTime();
+        int statements = execInfo.isBatch() ? Math.max(execInfo.getBatchSize(), 1) : queryInfoList.size();
+
+        QueryType type = queryInfoList.isEmpty() ? QueryType.OTHER : QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+        timersByType.get(type).record(elapsedMs, TimeUnit.MILLISECONDS);
+
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.record(statements, elapsedMs);
+        }
+
+        if (elapsedMs >= slowQueryThresholdMs) {
+            String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+            log.warn("Slow query ({} ms, {} statement(s)) during {}: {}",
+                    elapsedMs, statements, stats != null ? stats.getRequest() : "background task", sql);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.hansaflex.ecommerce.monitoring;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a per-request INFO line should be written.
+ * Guarding the log call (rather than filtering in the appender) also skips the
+ * varargs array and argument formatting for requests that are not sampled; the
+ * info overloads take fixed arguments for the same reason, and primitive ones so that
+ * counts and page numbers are only boxed for lines that are written.
+ */
+@Component
+public class RequestLogSampler {
+
+    private final int sampleRate;
+
+    public RequestLogSampler(@Value("${monitoring.logging.request-sample-rate:100}") int sampleRate) {
+        this.sampleRate = Math.max(sampleRate, 1);
+    }
+
+    /**
+     * True for roughly one in {@code sampleRate} calls; always true when the rate is 1
+     */
+    public boolean sample() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /**
+     * Writes {@code message} to {@code log} at INFO when this call is sampled
+     */
+    public void info(Logger log, String message) {
+        if (enabled(log)) {
+            log.info(message);
+        }
+    }
+
+    public void info(Logger log, String format, Object arg) {
+        if (enabled(log)) {
+            log.info(format, arg);
+        }
+    }
+
+    public void info(Logger log, String format, long arg) {
+        if (enabled(log)) {
+            log.info(format, arg);
+        }
+    }
+
+    public void info(Logger log, String format, Object arg1, Object arg2) {
+        if (enabled(log)) {
+            log.info(format, arg1, arg2);
+        }
+    }
+
+    public void info(Logger log, String format, Object arg1, Object arg2, Object arg3) {
+        if (enabled(log)) {
+            log.info(format, arg1, arg2, arg3);
+        }
+    }
+
+    public void info(Logger log, String format, Object arg1, Object arg2, long arg3) {
+        if (enabled(log)) {
+            log.info(format, arg1, arg2, arg3);
+        }
+    }
+
+    public void info(Logger log, String format, Object arg1, long arg2, long arg3) {
+        if (enabled(log)) {
+            log.info(format, arg1, arg2, arg3);
+        }
+    }
+
+    private boolean enabled(Logger log) {
+        return log.isInfoEnabled() && sample();
+    }
+}
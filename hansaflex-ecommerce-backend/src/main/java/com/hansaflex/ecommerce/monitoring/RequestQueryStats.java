@@ -0,0 +1,52 @@
+package com.hansaflex.ecommerce.monitoring;
+
+/**
+ * Per-request JDBC statement count and time, bound to the request thread by
+ * {@link QueryMetricsFilter} and fed by {@link QueryMetricsListener}.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final String request;
+    private int queryCount;
+    private long elapsedMillis;
+
+    private RequestQueryStats(String request) {
+        this.request = request;
+    }
+
+    static RequestQueryStats begin(String request) {
+        RequestQueryStats stats = new RequestQueryStats(request);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Stats of the request running on this thread, or null outside a request
+     */
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void record(int statements, long millis) {
+        queryCount += statements;
+        elapsedMillis += millis;
+    }
+
+    public String getRequest() {
+        return request;
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,213 @@
+package com.hansaflex.ecommerce.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hansaflex.ecommerce.dto.OrderResponse;
+import com.hansaflex.ecommerce.enums.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for closed orders that OrderArchiver has moved out of orders/order_items.
+ * One table per month of order creation (orders_archive_yyyymm, created on first use), indexed
+ * by customer and region; each row holds the complete order as gzip-compressed JSON.
+ * order_archive_locations maps each order id to its partition, so a lookup by id reads one table;
+ * lookups by customer or region visit every partition, newest first. The partition list is
+ * cached, and reloaded when this node creates a partition or after PARTITION_LIST_TTL
+ * (partitions created by other nodes).
+ */
+@Repository
+public class OrderArchiveRepository {
+
+    static final String PARTITION_PREFIX = "orders_archive_";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Duration PARTITION_LIST_TTL = Duration.ofMinutes(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final Set<String> createdPartitions = ConcurrentHashMap.newKeySet();
+
+    private record PartitionList(List<String> names, long loadedAtMillis) {
+    }
+
+    private volatile PartitionList partitionList;
+
+    public OrderArchiveRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writer = objectMapper.writerFor(OrderResponse.class);
+        this.reader = objectMapper.readerFor(OrderResponse.class);
+    }
+
+    /**
+     * An order as archived: the columns it is looked up by plus the order itself
+     */
+    public record ArchivedOrder(String customerId, String region, OrderResponse order) {
+    }
+
+    /**
+     * Creates any missing partitions before writing. H2 commits on DDL, so call this before
+     * the transaction has written anything else.
+     */
+    public void saveAll(List<ArchivedOrder> orders) {
+        Map<String, List<ArchivedOrder>> byPartition = orders.stream()
+                .collect(Collectors.groupingBy(o -> partitionFor(o.order().getCreatedAt()), TreeMap::new, Collectors.toList()));
+        byPartition.keySet().forEach(this::createPartition);
+        byPartition.forEach((partition, batch) -> jdbcTemplate.batchUpdate(
+                "INSERT INTO " + partition + " (order_id, customer_id, region, status, created_at, payload) VALUES (?, ?, ?, ?, ?, ?)",
+                batch, batch.size(), (statement, archived) -> {
+                    OrderResponse order = archived.order();
+                    statement.setLong(1, order.getOrderId());
+                    statement.setString(2, archived.customerId());
+                    statement.setString(3, archived.region());
+                    statement.setString(4, order.getStatus().name());
+                    statement.setTimestamp(5, Timestamp.valueOf(order.getCreatedAt()));
+                    statement.setBytes(6, compress(order));
+                }));
+        jdbcTemplate.batchUpdate("INSERT INTO order_archive_locations (order_id, partition_name) VALUES (?, ?)",
+                orders, orders.size(), (statement, archived) -> {
+                    statement.setLong(1, archived.order().getOrderId());
+                    statement.setString(2, partitionFor(archived.order().getCreatedAt()));
+                });
+    }
+
+    public Optional<OrderResponse> findById(Long orderId) {
+        return partitionOf(orderId).flatMap(partition -> jdbcTemplate.query(
+                        "SELECT payload FROM " + partition + " WHERE order_id = ?",
+                        (resultSet, row) -> decompress(resultSet.getBytes(1)), orderId)
+                .stream().findFirst());
+    }
+
+    /**
+     * Changes the status of an archived order in its payload and status column. Returns the
+     * updated order, or empty when the order is not archived.
+     */
+    public Optional<OrderResponse> updateStatus(Long orderId, OrderStatus status, LocalDateTime updatedAt) {
+        Optional<String> partition = partitionOf(orderId);
+        Optional<OrderResponse> archived = partition.flatMap(p -> jdbcTemplate.query(
+                        "SELECT payload FROM " + p + " WHERE order_id = ? FOR UPDATE",
+                        (resultSet, row) -> decompress(resultSet.getBytes(1)), orderId)
+                .stream().findFirst());
+        archived.ifPresent(order -> {
+            order.setStatus(status);
+            order.setUpdatedAt(updatedAt);
+            jdbcTemplate.update("UPDATE " + partition.get() + " SET status = ?, payload = ? WHERE order_id = ?",
+                    status.name(), compress(order), orderId);
+        });
+        return archived;
+    }
+
+    /**
+     * A customer's archived orders, newest first
+     */
+    public List<OrderResponse> findByCustomerId(String customerId) {
+        return findAllWhere("customer_id", customerId);
+    }
+
+    /**
+     * A region's archived orders, newest first
+     */
+    public List<OrderResponse> findByRegion(String region) {
+        return findAllWhere("region", region);
+    }
+
+    /**
+     * Streams every archived order to {@code action}, oldest partition first
+     */
+    public void forEachOrder(Consumer<OrderResponse> action) {
+        List<String> partitions = partitions();
+        for (int p = partitions.size() - 1; p >= 0; p--) {
+            jdbcTemplate.query("SELECT payload FROM " + partitions.get(p),
+                    (RowCallbackHandler) resultSet -> action.accept(decompress(resultSet.getBytes(1))));
+        }
+    }
+
+    /**
+     * Partition table names, newest month first
+     */
+    public List<String> partitions() {
+        PartitionList cached = partitionList;
+        if (cached == null || System.currentTimeMillis() - cached.loadedAtMillis() > PARTITION_LIST_TTL.toMillis()) {
+            cached = new PartitionList(jdbcTemplate.queryForList("SELECT LOWER(TABLE_NAME) FROM INFORMATION_SCHEMA.TABLES " +
+                    "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME LIKE 'ORDERS\\_ARCHIVE\\_%' ESCAPE '\\' ORDER BY TABLE_NAME DESC",
+                    String.class), System.currentTimeMillis());
+            partitionList = cached;
+        }
+        return cached.names();
+    }
+
+    static String partitionFor(LocalDateTime createdAt) {
+        return PARTITION_PREFIX + PARTITION_MONTH.format(createdAt);
+    }
+
+    private Optional<String> partitionOf(Long orderId) {
+        return jdbcTemplate.queryForList("SELECT partition_name FROM order_archive_locations WHERE order_id = ?", String.class, orderId)
+                .stream().findFirst();
+    }
+
+    private List<OrderResponse> findAllWhere(String column, String value) {
+        List<OrderResponse> orders = new ArrayList<>();
+        for (String partition : partitions()) {
+            orders.addAll(jdbcTemplate.query("SELECT payload FROM " + partition + " WHERE " + column + " = ? ORDER BY created_at DESC",
+                    (resultSet, row) -> decompress(resultSet.getBytes(1)), value));
+        }
+        return orders;
+    }
+
+    private void createPartition(String partition) {
+        if (createdPartitions.contains(partition)) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " (" +
+                "order_id BIGINT NOT NULL PRIMARY KEY, " +
+                "customer_id VARCHAR(255) NOT NULL, " +
+                "region VARCHAR(255) NOT NULL, " +
+                "status VARCHAR(32) NOT NULL, " +
+                "created_at TIMESTAMP(6) NOT NULL, " +
+                "payload VARBINARY NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + partition + "_customer ON " + partition + " (customer_id, created_at)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + partition + "_region ON " + partition + " (region, created_at)");
+        createdPartitions.add(partition);
+        partitionList = null;
+    }
+
+    private byte[] compress(OrderResponse order) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            writer.writeValue(gzip, order);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private OrderResponse decompress(byte[] payload) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return reader.readValue(gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
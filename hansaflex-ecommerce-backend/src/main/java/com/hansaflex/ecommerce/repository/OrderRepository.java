@@ -2,11 +2,15 @@ package com.hansaflex.ecommerce.repository;
 
 import com.hansaflex.ecommerce.entity.Order;
 import com.hansaflex.ecommerce.enums.OrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,7 +21,27 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o JOIN o.items oi WHERE oi.region = :region")
     List<Order> findByRegion(@Param("region") String region);
     
+    // Items and their products in the same query instead of one lazy load per order and per item
+    @EntityGraph(attributePaths = {"items", "items.product"})
     List<Order> findByCustomerId(String customerId);
     
     List<Order> findByStatus(OrderStatus status);
+    
+    // Orders due for the archive, oldest first (idx_orders_status_created)
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.createdAt < :cutoff ORDER BY o.createdAt")
+    List<Long> findIdsByStatusCreatedBefore(@Param("statuses") Collection<OrderStatus> statuses,
+                                            @Param("cutoff") LocalDateTime cutoff, Limit limit);
+    
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    List<Order> findByIdIn(Collection<Long> ids);
+    
+    // A customer's orders that have no order_summaries row yet (idx_orders_customer_created)
+    @Query("SELECT o.id FROM Order o LEFT JOIN OrderSummary s ON s.orderId = o.id " +
+           "WHERE o.customerId = :customerId AND s.orderId IS NULL")
+    List<Long> findIdsByCustomerIdWithoutSummary(@Param("customerId") String customerId);
+    
+    // Orders after afterId whose order_summaries row is missing or has another status (OrderSummaryProjector)
+    @Query("SELECT o.id FROM Order o LEFT JOIN OrderSummary s ON s.orderId = o.id " +
+           "WHERE (s.orderId IS NULL OR s.status <> o.status) AND o.updatedAt < :before AND o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsWithoutCurrentSummary(@Param("before") LocalDateTime before, @Param("afterId") long afterId, Limit limit);
 }
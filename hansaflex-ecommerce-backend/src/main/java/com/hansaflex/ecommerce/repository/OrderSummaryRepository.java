@@ -0,0 +1,45 @@
+package com.hansaflex.ecommerce.repository;
+
+import com.hansaflex.ecommerce.entity.OrderSummary;
+import com.hansaflex.ecommerce.enums.OrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+    List<OrderSummary> findByCustomerIdOrderByCreatedAtDesc(String customerId);
+
+    /**
+     * Newest orders first. customer_id leads the ORDER BY (a no-op, it is fixed) so that H2
+     * reads the rows in (customer_id, created_at, order_id) index order and stops at the limit.
+     */
+    @Query("SELECT s FROM OrderSummary s WHERE s.customerId = :customerId " +
+           "ORDER BY s.customerId, s.createdAt DESC, s.orderId DESC")
+    List<OrderSummary> findFirstPage(@Param("customerId") String customerId, Limit limit);
+
+    /**
+     * The orders after the keyset (createdAt, orderId) in newest-first order. The redundant
+     * createdAt <= bound lets the index seek straight to the cursor instead of skipping the
+     * rows of earlier pages.
+     */
+    @Query("SELECT s FROM OrderSummary s WHERE s.customerId = :customerId AND s.createdAt <= :createdAt " +
+           "AND (s.createdAt < :createdAt OR s.orderId < :orderId) " +
+           "ORDER BY s.customerId, s.createdAt DESC, s.orderId DESC")
+    List<OrderSummary> findPageAfter(@Param("customerId") String customerId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("orderId") Long orderId,
+                                     Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderSummary s SET s.status = :status, s.updatedAt = :updatedAt WHERE s.orderId = :orderId")
+    int updateStatus(@Param("orderId") Long orderId, @Param("status") OrderStatus status, @Param("updatedAt") LocalDateTime updatedAt);
+}
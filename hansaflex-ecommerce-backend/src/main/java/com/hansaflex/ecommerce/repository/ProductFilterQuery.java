@@ -0,0 +1,148 @@
+package com.hansaflex.ecommerce.repository;
+
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Builds catalog JPQL containing only the predicates present in a {@link ProductFilterRequest}.
+ * Every filter combination ("shape") gets its own statement, so H2 can pick an index per shape
+ * instead of planning one "(:p IS NULL OR ...)" query for all of them.
+ */
+final class ProductFilterQuery {
+
+    /**
+     * Product properties the catalog may be sorted by; anything else is rejected before it reaches JPQL
+     */
+    static final Set<String> SORTABLE_PROPERTIES = Set.of(
+            "id", "name", "price", "currency", "stockQty", "category", "region", "createdAt", "updatedAt");
+
+    enum Projection {
+        ENTITY("SELECT p FROM Product p", ""),
+        COUNT("SELECT COUNT(p) FROM Product p", ""),
+        EXACT_ORDER("SELECT p.id, p.name, p.description, p.price, p.currency, p.stockQty, p.category, p.region FROM Product p", ""),
+        // One row per (category, currency, price bucket, in stock) combination
+        FACETS("SELECT p.category, p.currency, " + priceBucket() + ", " + IN_STOCK_EXPRESSION + ", COUNT(p) FROM Product p",
+                " GROUP BY p.category, p.currency, " + priceBucket() + ", " + IN_STOCK_EXPRESSION);
+
+        private final String select;
+        private final String groupBy;
+
+        Projection(String select, String groupBy) {
+            this.select = select;
+            this.groupBy = groupBy;
+        }
+    }
+
+    private static final String IN_STOCK_EXPRESSION = "CASE WHEN p.stockQty > 0 THEN true ELSE false END";
+
+    enum Predicate {
+        REGION("p.region = :region", "region", ProductFilterRequest::getRegion),
+        CATEGORY("p.category = :category", "category", ProductFilterRequest::getCategory),
+        CATEGORIES("p.category IN :categories", "categories", f -> f.getCategories() == null || f.getCategories().isEmpty() ? null : f.getCategories()),
+        MIN_PRICE("p.price >= :minPrice", "minPrice", ProductFilterRequest::getMinPrice),
+        MAX_PRICE("p.price <= :maxPrice", "maxPrice", ProductFilterRequest::getMaxPrice),
+        NAME("LOWER(p.name) LIKE :name", "name", f -> f.getName() == null ? null : "%" + f.getName().toLowerCase(Locale.ROOT) + "%"),
+        MIN_STOCK("p.stockQty >= :minStock", "minStock", ProductFilterRequest::getMinStock),
+        MAX_STOCK("p.stockQty <= :maxStock", "maxStock", ProductFilterRequest::getMaxStock),
+        CURRENCY("p.currency = :currency", "currency", ProductFilterRequest::getCurrency),
+        IN_STOCK("p.stockQty > 0", null, f -> Boolean.TRUE.equals(f.getInStock()) ? Boolean.TRUE : null),
+        OUT_OF_STOCK("p.stockQty = 0", null, f -> Boolean.FALSE.equals(f.getInStock()) ? Boolean.TRUE : null);
+
+        private final String jpql;
+        private final String parameter;
+        private final Function<ProductFilterRequest, Object> value;
+
+        Predicate(String jpql, String parameter, Function<ProductFilterRequest, Object> value) {
+            this.jpql = jpql;
+            this.parameter = parameter;
+            this.value = value;
+        }
+
+        private int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    /**
+     * Statement cache key: projection, the set of present predicates (as a bitmask) and the sort
+     */
+    record Shape(Projection projection, int predicates, Sort sort) {
+    }
+
+    private ProductFilterQuery() {
+    }
+
+    /**
+     * Bitmask of the predicates that apply to this request
+     */
+    static int predicatesOf(ProductFilterRequest filter) {
+        int predicates = 0;
+        for (Predicate predicate : Predicate.values()) {
+            if (predicate.value.apply(filter) != null) {
+                predicates |= predicate.bit();
+            }
+        }
+        return predicates;
+    }
+
+    /**
+     * Render the JPQL for a shape
+     */
+    static String jpql(Shape shape) {
+        StringBuilder jpql = new StringBuilder(shape.projection().select);
+        String separator = " WHERE ";
+        for (Predicate predicate : Predicate.values()) {
+            if ((shape.predicates() & predicate.bit()) != 0) {
+                jpql.append(separator).append(predicate.jpql);
+                separator = " AND ";
+            }
+        }
+
+        jpql.append(shape.projection().groupBy);
+
+        String orderSeparator = " ORDER BY ";
+        for (Sort.Order order : shape.sort()) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+            jpql.append(orderSeparator).append("p.").append(order.getProperty())
+                    .append(order.isAscending() ? " ASC" : " DESC");
+            orderSeparator = ", ";
+        }
+        return jpql.toString();
+    }
+
+    /**
+     * Index of the {@link ProductFilterRepository#PRICE_BUCKET_BOUNDS} bucket a price falls into
+     */
+    private static String priceBucket() {
+        StringBuilder expression = new StringBuilder("CASE");
+        List<BigDecimal> bounds = ProductFilterRepository.PRICE_BUCKET_BOUNDS;
+        for (int i = 0; i < bounds.size(); i++) {
+            expression.append(" WHEN p.price < ").append(bounds.get(i).toPlainString()).append(" THEN ").append(i);
+        }
+        return expression.append(" ELSE ").append(bounds.size()).append(" END").toString();
+    }
+
+    /**
+     * Bind the parameters of the predicates present in the request
+     */
+    static void bind(Query query, ProductFilterRequest filter) {
+        for (Predicate predicate : Predicate.values()) {
+            if (predicate.parameter == null) {
+                continue;
+            }
+            Object value = predicate.value.apply(filter);
+            if (value != null) {
+                query.setParameter(predicate.parameter, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.hansaflex.ecommerce.repository;
+
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import com.hansaflex.ecommerce.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Catalog filtering with queries composed from the filters actually present in the request
+ */
+public interface ProductFilterRepository {
+
+    /**
+     * Upper bounds (exclusive) of the price facet buckets; the last bucket is open-ended
+     */
+    List<BigDecimal> PRICE_BUCKET_BOUNDS = List.of(
+            new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("250"),
+            new BigDecimal("500"), new BigDecimal("1000"));
+
+    /**
+     * Find products matching the request's filters with pagination
+     */
+    Page<Product> findWithFilters(ProductFilterRequest filterRequest, Pageable pageable);
+
+    /**
+     * Find products matching the request's filters in exact column order:
+     * id, name, description, price, currency, stockQty, category, region
+     */
+    List<Object[]> findWithFiltersInExactOrder(ProductFilterRequest filterRequest);
+
+    /**
+     * Product counts for the request's filters grouped by category, currency, price bucket
+     * and in-stock flag: rows of (String, String, Integer, Boolean, Long)
+     */
+    List<Object[]> countFacets(ProductFilterRequest filterRequest);
+}
@@ -0,0 +1,76 @@
+package com.hansaflex.ecommerce.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.repository.ProductFilterQuery.Projection;
+import com.hansaflex.ecommerce.repository.ProductFilterQuery.Shape;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * JPQL text is cached per filter shape, so repeated shapes reuse the same statement string
+ * and therefore Hibernate's query plan cache and H2's per-connection statement cache.
+ */
+public class ProductFilterRepositoryImpl implements ProductFilterRepository {
+
+    private static final int MAX_CACHED_SHAPES = 256;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Cache<Shape, String> statements = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_SHAPES)
+            .build();
+
+    @Override
+    public Page<Product> findWithFilters(ProductFilterRequest filterRequest, Pageable pageable) {
+        int predicates = ProductFilterQuery.predicatesOf(filterRequest);
+
+        TypedQuery<Product> query = entityManager.createQuery(
+                statement(new Shape(Projection.ENTITY, predicates, pageable.getSort())), Product.class);
+        ProductFilterQuery.bind(query, filterRequest);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Product> content = query.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery(
+                    statement(new Shape(Projection.COUNT, predicates, Sort.unsorted())), Long.class);
+            ProductFilterQuery.bind(count, filterRequest);
+            return count.getSingleResult();
+        });
+    }
+
+    @Override
+    public List<Object[]> findWithFiltersInExactOrder(ProductFilterRequest filterRequest) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                statement(new Shape(Projection.EXACT_ORDER, ProductFilterQuery.predicatesOf(filterRequest), Sort.by("id"))),
+                Object[].class);
+        ProductFilterQuery.bind(query, filterRequest);
+        return query.getResultList();
+    }
+
+    @Override
+    public List<Object[]> countFacets(ProductFilterRequest filterRequest) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                statement(new Shape(Projection.FACETS, ProductFilterQuery.predicatesOf(filterRequest), Sort.unsorted())),
+                Object[].class);
+        ProductFilterQuery.bind(query, filterRequest);
+        return query.getResultList();
+    }
+
+    private String statement(Shape shape) {
+        return statements.get(shape, ProductFilterQuery::jpql);
+    }
+}
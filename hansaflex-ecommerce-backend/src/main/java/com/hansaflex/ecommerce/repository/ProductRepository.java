@@ -11,11 +11,12 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductFilterRepository {
 
     /**
      * Find all products by region
@@ -77,50 +78,6 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     Page<Product> findByStockQtyGreaterThan(Integer stockQty, Pageable pageable);
 
-    /**
-     * Custom query for complex filtering with pagination
-     */
-    @Query("SELECT p FROM Product p WHERE " +
-           "(:region IS NULL OR p.region = :region) AND " +
-           "(:category IS NULL OR p.category = :category) AND " +
-           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
-           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-           "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')))")
-    Page<Product> findProductsWithFilters(
-            @Param("region") String region,
-            @Param("category") String category,
-            @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice,
-            @Param("name") String name,
-            Pageable pageable);
-
-    /**
-     * Enhanced custom query for advanced filtering with pagination
-     */
-    @Query("SELECT p FROM Product p WHERE " +
-           "(:region IS NULL OR p.region = :region) AND " +
-           "(:category IS NULL OR p.category = :category) AND " +
-           "(:categories IS NULL OR p.category IN :categories) AND " +
-           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
-           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-           "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
-           "(:minStock IS NULL OR p.stockQty >= :minStock) AND " +
-           "(:maxStock IS NULL OR p.stockQty <= :maxStock) AND " +
-           "(:currency IS NULL OR p.currency = :currency) AND " +
-           "(:inStock IS NULL OR (:inStock = true AND p.stockQty > 0) OR (:inStock = false AND p.stockQty = 0))")
-    Page<Product> findProductsWithAdvancedFilters(
-            @Param("region") String region,
-            @Param("category") String category,
-            @Param("categories") List<String> categories,
-            @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice,
-            @Param("name") String name,
-            @Param("minStock") Integer minStock,
-            @Param("maxStock") Integer maxStock,
-            @Param("currency") String currency,
-            @Param("inStock") Boolean inStock,
-            Pageable pageable);
-
     /**
      * Find all distinct categories
      */
@@ -173,51 +130,21 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Object[]> findProductsByCategoryInExactOrder(@Param("category") String category);
 
     /**
-     * Custom query to get products with filters in exact column order
-     */
-    @Query("SELECT p.id, p.name, p.description, p.price, p.currency, p.stockQty, p.category, p.region " +
-           "FROM Product p WHERE " +
-           "(:region IS NULL OR p.region = :region) AND " +
-           "(:category IS NULL OR p.category = :category) AND " +
-           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
-           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-           "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
-           "ORDER BY p.id")
-    List<Object[]> findProductsWithFiltersInExactOrder(
-            @Param("region") String region,
-            @Param("category") String category,
-            @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice,
-            @Param("name") String name);
-
-    /**
-     * Custom query to get products with filters in exact column order with pagination
+     * Latest write to any product, used with count() as the catalog version
      */
-    @Query("SELECT p.id, p.name, p.description, p.price, p.currency, p.stockQty, p.category, p.region " +
-           "FROM Product p WHERE " +
-           "(:region IS NULL OR p.region = :region) AND " +
-           "(:category IS NULL OR p.category = :category) AND " +
-           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
-           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-           "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
-           "ORDER BY p.id")
-    Page<Object[]> findProductsWithFiltersInExactOrder(
-            @Param("region") String region,
-            @Param("category") String category,
-            @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice,
-            @Param("name") String name,
-            Pageable pageable);
+    @Query("SELECT MAX(p.updatedAt) FROM Product p")
+    Optional<LocalDateTime> findLastUpdatedAt();
 
     // ========== BATCH UPDATE METHODS FOR STOCK DEDUCTION ==========
 
     /**
      * Batch update stock quantity for a single product
-     * Used for atomic stock deduction during order processing
+     * Used for atomic stock deduction during order processing.
+     * Clears the persistence context, so products read afterwards carry the new stock.
      */
-    @Modifying
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Transactional
-    @Query("UPDATE Product p SET p.stockQty = p.stockQty - :quantity WHERE p.id = :productId AND p.stockQty >= :quantity")
+    @Query("UPDATE Product p SET p.stockQty = p.stockQty - :quantity, p.updatedAt = LOCAL DATETIME WHERE p.id = :productId AND p.stockQty >= :quantity")
     int deductStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
 
     /**
@@ -226,7 +153,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     @Modifying
     @Transactional
-    @Query("UPDATE Product p SET p.stockQty = p.stockQty - :quantity WHERE p.id = :productId AND p.stockQty >= :quantity")
+    @Query("UPDATE Product p SET p.stockQty = p.stockQty - :quantity, p.updatedAt = LOCAL DATETIME WHERE p.id = :productId AND p.stockQty >= :quantity")
     int batchDeductStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
 
     /**
@@ -0,0 +1,122 @@
+package com.hansaflex.ecommerce.repository;
+
+import com.hansaflex.ecommerce.analytics.LiveSalesCounters.SalesCounter;
+import com.hansaflex.ecommerce.analytics.OrderLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Sales totals of all nodes in sales_counters (V7 migration), one row per scope (REGION or
+ * PRODUCT) and key. Rows only change by additive deltas: {@link #checkpoint} folds in the
+ * confirmed orders created since the sales_counter_watermark (V9) and moves the watermark, in
+ * one transaction, and {@link #addOrder} corrects them for an order that moved into or out of
+ * CONFIRMED after it was folded in. Both lock the watermark row, so they run one at a time
+ * across all nodes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SalesCounterRepository {
+
+    public static final String REGION = "REGION";
+    public static final String PRODUCT = "PRODUCT";
+
+    private static final String ORDER_LINES = "FROM orders o JOIN order_items oi ON oi.order_id = o.id " +
+            "WHERE o.status = 'CONFIRMED' AND o.created_at >= ? AND o.created_at < ? ";
+    // Per-unit amounts times quantity in cents, rounded half up like OrderLineFeed.cents
+    private static final String SUMS = "COUNT(DISTINCT o.id), SUM(oi.quantity), " +
+            "SUM(CAST(ROUND(oi.unit_price * oi.quantity * 100) AS BIGINT)), SUM(CAST(ROUND(oi.vat_amount * oi.quantity * 100) AS BIGINT)) ";
+    private static final String ADD_DELTAS = "ON t.scope = d.scope AND t.counter_key = d.counter_key " +
+            "WHEN MATCHED THEN UPDATE SET t.orders = t.orders + d.orders, t.units = t.units + d.units, " +
+            "t.net_cents = t.net_cents + d.net_cents, t.vat_cents = t.vat_cents + d.vat_cents, t.checkpointed_at = ? " +
+            "WHEN NOT MATCHED THEN INSERT (scope, counter_key, orders, units, net_cents, vat_cents, checkpointed_at) " +
+            "VALUES (d.scope, d.counter_key, d.orders, d.units, d.net_cents, d.vat_cents, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the confirmed orders created since the watermark and before {@code cutoff}
+     * (younger ones may still be committing) to the totals. Returns the new watermark: every
+     * order created before it is counted.
+     */
+    @Transactional
+    public LocalDateTime checkpoint(LocalDateTime cutoff) {
+        LocalDateTime watermark = lockWatermark();
+        if (!cutoff.isAfter(watermark)) {
+            // Another node checkpointed further already
+            return watermark;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        addDeltas(REGION, "UPPER(o.region)", watermark, cutoff, now);
+        addDeltas(PRODUCT, "CAST(oi.product_id AS VARCHAR)", watermark, cutoff, now);
+        jdbcTemplate.update("UPDATE sales_counter_watermark SET counted_before = ?, updated_at = ? WHERE id = 1",
+                Timestamp.valueOf(cutoff), now);
+        return cutoff;
+    }
+
+    private void addDeltas(String scope, String key, LocalDateTime from, LocalDateTime to, Timestamp now) {
+        jdbcTemplate.update("MERGE INTO sales_counters t USING (SELECT '" + scope + "', " + key + ", " + SUMS + ORDER_LINES +
+                        "GROUP BY " + key + ") d (scope, counter_key, orders, units, net_cents, vat_cents) " + ADD_DELTAS,
+                Timestamp.valueOf(from), Timestamp.valueOf(to), now, now);
+    }
+
+    /**
+     * Adds one order made of {@code lines} to the totals ({@code sign} 1), or takes it out again
+     * ({@code sign} -1), if it was created before the watermark; returns whether it did. A younger
+     * order is left to the next checkpoint, which reads the status it has by then.
+     * Meant to run in the transaction that changes the order's status: a checkpoint either
+     * commits first, and this sees its watermark, or waits and then sees the new status.
+     */
+    @Transactional
+    public boolean addOrder(LocalDateTime createdAt, String region, List<OrderLine> lines, int sign) {
+        if (!createdAt.isBefore(lockWatermark())) {
+            return false;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        addDelta(REGION, region.toUpperCase(Locale.ROOT), sign, lines, now);
+        Map<Long, List<OrderLine>> linesByProduct = lines.stream()
+                .collect(Collectors.groupingBy(OrderLine::productId, LinkedHashMap::new, Collectors.toList()));
+        linesByProduct.forEach((productId, productLines) -> addDelta(PRODUCT, Long.toString(productId), sign, productLines, now));
+        return true;
+    }
+
+    private void addDelta(String scope, String key, int sign, List<OrderLine> lines, Timestamp now) {
+        jdbcTemplate.update("MERGE INTO sales_counters t USING (SELECT CAST(? AS VARCHAR(16)), CAST(? AS VARCHAR(255)), " +
+                        "CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT)) " +
+                        "d (scope, counter_key, orders, units, net_cents, vat_cents) " + ADD_DELTAS,
+                scope, key, sign,
+                sign * lines.stream().mapToLong(OrderLine::quantity).sum(),
+                sign * lines.stream().mapToLong(OrderLine::netCents).sum(),
+                sign * lines.stream().mapToLong(OrderLine::vatCents).sum(),
+                now, now);
+    }
+
+    // Waits for a checkpoint or order correction of another node to commit
+    private LocalDateTime lockWatermark() {
+        return jdbcTemplate.queryForObject(
+                "SELECT counted_before FROM sales_counter_watermark WHERE id = 1 FOR UPDATE", LocalDateTime.class);
+    }
+
+    /**
+     * Orders created before this are counted in the totals
+     */
+    public LocalDateTime watermark() {
+        return jdbcTemplate.queryForObject("SELECT counted_before FROM sales_counter_watermark WHERE id = 1", LocalDateTime.class);
+    }
+
+    public List<SalesCounter> findAll(String scope) {
+        return jdbcTemplate.query("SELECT counter_key, orders, units, net_cents, vat_cents FROM sales_counters WHERE scope = ?",
+                (resultSet, row) -> new SalesCounter(resultSet.getString(1), resultSet.getLong(2), resultSet.getLong(3),
+                        resultSet.getLong(4), resultSet.getLong(5)),
+                scope);
+    }
+}
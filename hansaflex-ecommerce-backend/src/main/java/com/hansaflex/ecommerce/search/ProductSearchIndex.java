@@ -0,0 +1,371 @@
+package com.hansaflex.ecommerce.search;
+
+import com.hansaflex.ecommerce.entity.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over product name, category and description.
+ * Query terms match exactly, as a prefix ("hyd" finds "hydraulic") or with one or two
+ * typos, and results are ranked BM25-style with name matches weighted highest.
+ * Part numbers are also indexed without punctuation, so "2SN-DN10" is found by "2sndn10".
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float CATEGORY_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final float PREFIX_BOOST = 0.6f;
+    private static final float FUZZY_BOOST = 0.4f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    // BM25 term frequency saturation; field weights act as the term frequency
+    private static final float K1 = 1.2f;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> postingsByTerm = new TreeMap<>();
+    private final Map<Long, Integer> slotsByProduct = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    private long[] productIds = new long[1024];
+    private String[] regions = new String[1024];
+    private String[][] termsBySlot = new String[1024][];
+    private int slotCount;
+
+    /**
+     * Ranked, paginated search result
+     */
+    public record SearchResult(List<Long> productIds, long totalHits) {
+    }
+
+    /**
+     * Add or replace a product
+     */
+    public void index(Product product) {
+        Map<String, Float> weights = analyzeDocument(product);
+        lock.writeLock().lock();
+        try {
+            removeInternal(product.getId());
+            addInternal(product.getId(), product.getRegion(), weights);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a product; unknown ids are ignored
+     */
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole index with the given products
+     */
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            postingsByTerm.clear();
+            slotsByProduct.clear();
+            freeSlots.clear();
+            slotCount = 0;
+            int capacity = Math.max(1024, products.size());
+            productIds = new long[capacity];
+            regions = new String[capacity];
+            termsBySlot = new String[capacity][];
+            for (Product product : products) {
+                addInternal(product.getId(), product.getRegion(), analyzeDocument(product));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed products
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByProduct.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search products, best match first
+     *
+     * @param region optional region restriction (case-insensitive), null for all regions
+     */
+    public SearchResult search(String query, String region, int page, int size) {
+        List<String> queryTerms = new ArrayList<>(analyze(query));
+        if (queryTerms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int documents = slotsByProduct.size();
+            float[] scores = new float[slotCount];
+            float[] bestForTerm = new float[slotCount];
+            int[] lastTerm = new int[slotCount];
+            int[] matchedTerms = new int[slotCount];
+
+            for (int t = 0; t < queryTerms.size(); t++) {
+                int marker = t + 1;
+                for (Map.Entry<Postings, Float> expansion : expand(queryTerms.get(t)).entrySet()) {
+                    Postings postings = expansion.getKey();
+                    float idf = idf(postings.size, documents) * expansion.getValue();
+                    for (int i = 0; i < postings.size; i++) {
+                        int slot = postings.slots[i];
+                        float weight = postings.weights[i];
+                        float contribution = idf * weight * (K1 + 1) / (weight + K1);
+                        if (lastTerm[slot] != marker) {
+                            lastTerm[slot] = marker;
+                            matchedTerms[slot]++;
+                            bestForTerm[slot] = contribution;
+                            scores[slot] += contribution;
+                        } else if (contribution > bestForTerm[slot]) {
+                            scores[slot] += contribution - bestForTerm[slot];
+                            bestForTerm[slot] = contribution;
+                        }
+                    }
+                }
+            }
+
+            // Keep only the best (page + 1) * size hits instead of sorting every match
+            int limit = (int) Math.min((long) (page + 1) * size, Integer.MAX_VALUE);
+            Comparator<Integer> worstFirst = (a, b) -> {
+                int byScore = Float.compare(scores[a], scores[b]);
+                return byScore != 0 ? byScore : Long.compare(productIds[b], productIds[a]);
+            };
+            PriorityQueue<Integer> top = new PriorityQueue<>(Math.min(limit, 1024), worstFirst);
+            int hits = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (matchedTerms[slot] == 0 || (region != null && !region.equalsIgnoreCase(regions[slot]))) {
+                    continue;
+                }
+                // Coordination: documents matching more of the query terms rank higher
+                float coverage = (float) matchedTerms[slot] / queryTerms.size();
+                scores[slot] *= coverage * coverage;
+                hits++;
+                if (top.size() < limit) {
+                    top.add(slot);
+                } else if (worstFirst.compare(slot, top.peek()) > 0) {
+                    top.poll();
+                    top.add(slot);
+                }
+            }
+
+            int pageSize = (int) Math.max(top.size() - (long) page * size, 0);
+            Long[] pageIds = new Long[pageSize];
+            for (int i = pageSize - 1; i >= 0; i--) {
+                pageIds[i] = productIds[top.poll()];
+            }
+            return new SearchResult(Arrays.asList(pageIds), hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Postings for a query term with their boost: the exact term, prefix extensions and,
+     * only when neither exists, terms within one edit (two for long terms)
+     */
+    private Map<Postings, Float> expand(String term) {
+        Map<Postings, Float> expansions = new LinkedHashMap<>();
+        Postings exact = postingsByTerm.get(term);
+        if (exact != null) {
+            expansions.put(exact, 1.0f);
+        }
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            NavigableMap<String, Postings> extensions = postingsByTerm.subMap(term, false, term + Character.MAX_VALUE, false);
+            int expanded = 0;
+            for (Postings postings : extensions.values()) {
+                if (expanded++ == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                expansions.put(postings, PREFIX_BOOST);
+            }
+        }
+        if (expansions.isEmpty() && term.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = term.length() >= 8 ? 2 : 1;
+            String first = term.substring(0, 1);
+            for (Map.Entry<String, Postings> candidate : postingsByTerm.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                String key = candidate.getKey();
+                if (Math.abs(key.length() - term.length()) <= maxEdits && editDistance(term, key, maxEdits) <= maxEdits) {
+                    expansions.put(candidate.getValue(), FUZZY_BOOST);
+                }
+            }
+        }
+        return expansions;
+    }
+
+    private void addInternal(Long productId, String region, Map<String, Float> weights) {
+        int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+        if (slot >= productIds.length) {
+            int capacity = productIds.length * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            regions = Arrays.copyOf(regions, capacity);
+            termsBySlot = Arrays.copyOf(termsBySlot, capacity);
+        }
+        productIds[slot] = productId;
+        regions[slot] = region;
+        termsBySlot[slot] = weights.keySet().toArray(new String[0]);
+        slotsByProduct.put(productId, slot);
+        weights.forEach((term, weight) -> postingsByTerm.computeIfAbsent(term, t -> new Postings()).add(slot, weight));
+    }
+
+    private void removeInternal(Long productId) {
+        Integer slot = slotsByProduct.remove(productId);
+        if (slot == null) {
+            return;
+        }
+        for (String term : termsBySlot[slot]) {
+            Postings postings = postingsByTerm.get(term);
+            if (postings != null && postings.remove(slot) && postings.size == 0) {
+                postingsByTerm.remove(term);
+            }
+        }
+        termsBySlot[slot] = null;
+        regions[slot] = null;
+        freeSlots.push(slot);
+    }
+
+    private static Map<String, Float> analyzeDocument(Product product) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, product.getName(), NAME_WEIGHT);
+        addField(weights, product.getCategory(), CATEGORY_WEIGHT);
+        addField(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+        return weights;
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String term : analyze(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+
+    /**
+     * Lower-cased alphanumeric tokens, plus the punctuation-free form of part-number-like words
+     */
+    static Collection<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String word : WHITESPACE.split(text.toLowerCase(Locale.ROOT).trim())) {
+            String[] parts = TOKEN_SEPARATOR.split(word);
+            StringBuilder compact = new StringBuilder(word.length());
+            int tokens = 0;
+            for (String part : parts) {
+                if (!part.isEmpty()) {
+                    terms.add(part);
+                    compact.append(part);
+                    tokens++;
+                }
+            }
+            if (tokens > 1) {
+                terms.add(compact.toString());
+            }
+        }
+        return terms;
+    }
+
+    private static float idf(int documentFrequency, int documents) {
+        return (float) Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    /**
+     * Edit distance counting insertions, deletions, substitutions and adjacent transpositions
+     * ("filtre" -> "filter" is one edit), giving up once it exceeds {@code limit}
+     */
+    static int editDistance(String a, String b, int limit) {
+        int[] twoBack = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], twoBack[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Unordered slot/weight pairs for one term
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(int slot, float weight) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            slots[size] = slot;
+            weights[size] = weight;
+            size++;
+        }
+
+        boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    weights[i] = weights[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hansaflex.ecommerce.search;
+
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.repository.ProductRepository;
+import com.hansaflex.ecommerce.service.ProductChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the search index and typeahead suggestions from the database at startup and
+ * applies product writes, local and relayed from other nodes, once committed.
+ * Writes that arrive while the startup snapshot is read are held back and read again once
+ * the snapshot is in place, so an older snapshot row never overwrites them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndexer {
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggester productSuggester;
+
+    private final Object lock = new Object();
+    // Ids written during buildIndex; null when no build is running
+    private Set<Long> changedDuringBuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long start = System.currentTimeMillis();
+        synchronized (lock) {
+            changedDuringBuild = new LinkedHashSet<>();
+        }
+        List<Product> products = productRepository.findAll();
+        synchronized (lock) {
+            productSearchIndex.rebuild(products);
+            productSuggester.rebuild(products);
+            Map<Long, Product> current = new HashMap<>();
+            productRepository.findAllById(changedDuringBuild).forEach(product -> current.put(product.getId(), product));
+            changedDuringBuild.forEach(id -> apply(id, current.get(id)));
+            changedDuringBuild = null;
+        }
+        log.info("Indexed {} products for search and suggestions in {} ms", products.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (lock) {
+            if (changedDuringBuild != null) {
+                changedDuringBuild.add(event.productId());
+            } else {
+                apply(event.productId(), event.product());
+            }
+        }
+    }
+
+    private void apply(Long productId, Product product) {
+        if (product == null) {
+            productSearchIndex.remove(productId);
+            productSuggester.remove(productId);
+        } else {
+            productSearchIndex.index(product);
+            productSuggester.index(product);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.hansaflex.ecommerce.search;
+
+import com.hansaflex.ecommerce.dto.SuggestionResponse;
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.enums.SuggestionType;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Typeahead over product names and categories, one {@link SuggestionTrie} per region plus
+ * one across all regions. Serves suggestions from memory without touching the database.
+ */
+@Component
+public class ProductSuggester {
+
+    private static final String ALL_REGIONS = "";
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, SuggestionTrie> triesByRegion = new HashMap<>();
+    private final Map<Long, Entry> entriesByProduct = new HashMap<>();
+
+    private record Entry(String name, String category, String region) {
+    }
+
+    /**
+     * Add or replace a product
+     */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(product.getId());
+            addInternal(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a product; unknown ids are ignored
+     */
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace all suggestions with the given products
+     */
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            triesByRegion.clear();
+            entriesByProduct.clear();
+            products.forEach(this::addInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Top suggestions for a prefix, most products first
+     *
+     * @param region optional region restriction (case-insensitive), null for all regions
+     */
+    public List<SuggestionResponse> suggest(String prefix, String region, int limit) {
+        lock.readLock().lock();
+        try {
+            SuggestionTrie trie = triesByRegion.get(regionKey(region));
+            if (trie == null) {
+                return List.of();
+            }
+            return trie.top(prefix, limit).stream()
+                    .map(suggestion -> SuggestionResponse.builder()
+                            .text(suggestion.text)
+                            .type(suggestion.type)
+                            .productCount(suggestion.count)
+                            .build())
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addInternal(Product product) {
+        Entry entry = new Entry(product.getName(), product.getCategory(), product.getRegion());
+        entriesByProduct.put(product.getId(), entry);
+        for (String key : List.of(ALL_REGIONS, regionKey(entry.region()))) {
+            SuggestionTrie trie = triesByRegion.computeIfAbsent(key, k -> new SuggestionTrie());
+            trie.add(entry.name(), SuggestionType.PRODUCT);
+            trie.add(entry.category(), SuggestionType.CATEGORY);
+        }
+    }
+
+    private void removeInternal(Long productId) {
+        Entry entry = entriesByProduct.remove(productId);
+        if (entry == null) {
+            return;
+        }
+        for (String key : List.of(ALL_REGIONS, regionKey(entry.region()))) {
+            SuggestionTrie trie = triesByRegion.get(key);
+            if (trie != null) {
+                trie.remove(entry.name(), SuggestionType.PRODUCT);
+                trie.remove(entry.category(), SuggestionType.CATEGORY);
+                if (trie.isEmpty()) {
+                    triesByRegion.remove(key);
+                }
+            }
+        }
+    }
+
+    private static String regionKey(String region) {
+        return region == null ? ALL_REGIONS : region.trim().toUpperCase(Locale.ROOT);
+    }
+}
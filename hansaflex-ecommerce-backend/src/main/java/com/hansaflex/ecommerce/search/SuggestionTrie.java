@@ -0,0 +1,310 @@
+package com.hansaflex.ecommerce.search;
+
+import com.hansaflex.ecommerce.enums.SuggestionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Radix trie from lower-cased text to suggestions. Each suggestion is reachable from every
+ * word start ("hose" finds "Hydraulic Hose 2SN"), and every node knows the highest weight
+ * below it, so top-k is a best-first walk that stops after k results. Not thread-safe.
+ */
+final class SuggestionTrie {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private final Node root = new Node(new char[0]);
+    private final Map<String, Suggestion> suggestions = new HashMap<>();
+
+    /**
+     * Text shown to the user; its weight is the number of products that added it
+     */
+    static final class Suggestion {
+        final String text;
+        final SuggestionType type;
+        int count;
+
+        private Suggestion(String text, SuggestionType type) {
+            this.text = text;
+            this.type = type;
+        }
+    }
+
+    private static final class Node {
+        char[] label;
+        Node[] children = NO_CHILDREN;
+        Suggestion[] values = NO_SUGGESTIONS;
+        int maxWeight;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    private record Candidate(int weight, Node node, Suggestion suggestion) {
+    }
+
+    // Highest weight first; at equal weight suggestions come out before nodes are expanded
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparingInt(Candidate::weight).reversed()
+            .thenComparing(candidate -> candidate.suggestion() == null)
+            .thenComparing(candidate -> candidate.suggestion() == null ? "" : candidate.suggestion().text);
+
+    /**
+     * Count one more product for this text
+     */
+    void add(String text, SuggestionType type) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Suggestion suggestion = suggestions.computeIfAbsent(type.name() + ':' + normalized,
+                id -> new Suggestion(text.trim(), type));
+        suggestion.count++;
+        for (String key : keys(normalized)) {
+            if (suggestion.count == 1) {
+                insert(key, suggestion);
+            } else {
+                recompute(path(key));
+            }
+        }
+    }
+
+    /**
+     * Count one product less for this text, dropping it when no product is left
+     */
+    void remove(String text, SuggestionType type) {
+        String normalized = normalize(text);
+        Suggestion suggestion = suggestions.get(type.name() + ':' + normalized);
+        if (suggestion == null) {
+            return;
+        }
+        suggestion.count--;
+        if (suggestion.count == 0) {
+            suggestions.remove(type.name() + ':' + normalized);
+        }
+        for (String key : keys(normalized)) {
+            if (suggestion.count == 0) {
+                delete(key, suggestion);
+            } else {
+                recompute(path(key));
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return suggestions.isEmpty();
+    }
+
+    /**
+     * Up to {@code limit} suggestions with a word starting with {@code prefix}, most products first
+     */
+    List<Suggestion> top(String prefix, int limit) {
+        String normalized = WHITESPACE.matcher(prefix.toLowerCase(Locale.ROOT).stripLeading()).replaceAll(" ");
+        Node start = locate(normalized);
+        if (normalized.isEmpty() || start == null) {
+            return List.of();
+        }
+
+        List<Suggestion> results = new ArrayList<>(limit);
+        Set<Suggestion> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+        queue.add(new Candidate(start.maxWeight, start, null));
+        while (!queue.isEmpty() && results.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.suggestion() != null) {
+                if (seen.add(candidate.suggestion())) {
+                    results.add(candidate.suggestion());
+                }
+                continue;
+            }
+            for (Suggestion suggestion : candidate.node().values) {
+                queue.add(new Candidate(suggestion.count, null, suggestion));
+            }
+            for (Node child : candidate.node().children) {
+                queue.add(new Candidate(child.maxWeight, child, null));
+            }
+        }
+        return results;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : WHITESPACE.matcher(text.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    /**
+     * The normalized text from each word start onwards
+     */
+    private static Set<String> keys(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            if (i + 1 < normalized.length()) {
+                keys.add(normalized.substring(i + 1));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Node whose subtree holds every key starting with {@code prefix}, or null
+     */
+    private Node locate(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = child(node, prefix.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.label, prefix, i);
+            if (common < child.label.length && i + common < prefix.length()) {
+                return null;
+            }
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    private void insert(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = child(node, key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i).toCharArray());
+                addChild(node, child);
+                i = key.length();
+            } else {
+                int common = commonPrefix(child.label, key, i);
+                if (common < child.label.length) {
+                    split(child, common);
+                }
+                i += common;
+            }
+            node = child;
+            path.add(node);
+        }
+        node.values = Arrays.copyOf(node.values, node.values.length + 1);
+        node.values[node.values.length - 1] = suggestion;
+        recompute(path);
+    }
+
+    private void delete(String key, Suggestion suggestion) {
+        List<Node> path = path(key);
+        if (path == null) {
+            return;
+        }
+        Node node = path.get(path.size() - 1);
+        node.values = Arrays.stream(node.values).filter(value -> value != suggestion).toArray(Suggestion[]::new);
+
+        // Drop empty leaves and merge single-child nodes back into their parent edge
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node current = path.get(depth);
+            Node parent = path.get(depth - 1);
+            if (current.values.length == 0 && current.children.length == 0) {
+                parent.children = Arrays.stream(parent.children).filter(c -> c != current).toArray(Node[]::new);
+                path.remove(depth);
+            } else if (current.values.length == 0 && current.children.length == 1) {
+                Node only = current.children[0];
+                char[] merged = Arrays.copyOf(current.label, current.label.length + only.label.length);
+                System.arraycopy(only.label, 0, merged, current.label.length, only.label.length);
+                current.label = merged;
+                current.children = only.children;
+                current.values = only.values;
+                current.maxWeight = only.maxWeight;
+            }
+        }
+        recompute(path);
+    }
+
+    /**
+     * Nodes from the root to the node holding exactly {@code key}, or null if the key is absent
+     */
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = child(node, key.charAt(i));
+            if (child == null || commonPrefix(child.label, key, i) < child.label.length) {
+                return null;
+            }
+            i += child.label.length;
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    private static void recompute(List<Node> path) {
+        if (path == null) {
+            return;
+        }
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = path.get(depth);
+            int max = 0;
+            for (Suggestion value : node.values) {
+                max = Math.max(max, value.count);
+            }
+            for (Node child : node.children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            node.maxWeight = max;
+        }
+    }
+
+    /**
+     * Cut {@code node}'s edge after {@code at} chars; the tail keeps its children and values
+     */
+    private static void split(Node node, int at) {
+        Node tail = new Node(Arrays.copyOfRange(node.label, at, node.label.length));
+        tail.children = node.children;
+        tail.values = node.values;
+        tail.maxWeight = node.maxWeight;
+        node.label = Arrays.copyOf(node.label, at);
+        node.children = new Node[]{tail};
+        node.values = NO_SUGGESTIONS;
+    }
+
+    private static Node child(Node node, char first) {
+        for (Node child : node.children) {
+            if (child.label[0] == first) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static void addChild(Node node, Node child) {
+        node.children = Arrays.copyOf(node.children, node.children.length + 1);
+        node.children[node.children.length - 1] = child;
+    }
+
+    private static int commonPrefix(char[] label, String key, int offset) {
+        int length = Math.min(label.length, key.length() - offset);
+        int i = 0;
+        while (i < length && label[i] == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -39,7 +39,7 @@ public class SecurityConfig {
                 .requestMatchers("GET", "/api/orders/*").permitAll() // GET /api/orders/{id} (public)
                 .requestMatchers("/api/pricing/vat/**").permitAll() // VAT endpoint for customers
                 .requestMatchers("/api/mock/**").permitAll()
-                .requestMatchers("/api/public/cache/**").permitAll() // Public cache endpoints for testing
+                .requestMatchers("GET", "/actuator/health", "/actuator/health/**").permitAll() // Liveness/readiness probes
                 
                 // Customer endpoints (require authentication)
                 .requestMatchers("POST", "/api/orders").authenticated() // POST /api/orders (create order)
@@ -47,6 +47,7 @@ public class SecurityConfig {
                 
                 // Admin endpoints
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/api/public/cache/**").hasRole("ADMIN") // Clearing caches is cluster-wide, see CacheInvalidationBus
                 .requestMatchers("/api/pricing/**").hasRole("ADMIN")
                 .requestMatchers("GET", "/api/orders").hasRole("ADMIN") // GET /api/orders (all orders)
                 .requestMatchers("GET", "/api/orders/region/**").hasRole("ADMIN") // GET /api/orders/region/{region} (admin only)
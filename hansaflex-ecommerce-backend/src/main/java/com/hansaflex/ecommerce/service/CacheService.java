@@ -20,7 +20,7 @@ public class CacheService {
     public void clearProductCaches() {
         log.info("Manually clearing all product-related caches");
         
-        String[] cacheNames = {"products", "productDetails", "productPrice", "pricingConfig"};
+        String[] cacheNames = {"products", "productFacets", "productDetails", "productPrice", "categories", "pricingConfig"};
         
         for (String cacheName : cacheNames) {
             if (cacheManager.getCache(cacheName) != null) {
@@ -0,0 +1,78 @@
+package com.hansaflex.ecommerce.service;
+
+import com.hansaflex.ecommerce.config.OrderArchiveProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically moves closed orders older than {@code orders.archive.after-months} whole months
+ * into the monthly archive tables (OrderArchiveRepository), one batch per transaction, so the
+ * live orders table only holds the recent window.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@EnableConfigurationProperties(OrderArchiveProperties.class)
+public class OrderArchiver {
+
+    private final OrderService orderService;
+    private final OrderArchiveProperties properties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Order archival disabled");
+            return;
+        }
+        long interval = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::runSafely, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Archiving closed orders older than {} months every {}", properties.getAfterMonths(), properties.getInterval());
+    }
+
+    /**
+     * Archives everything currently due, batch by batch. Returns the number of orders moved.
+     */
+    public int archive() {
+        // Whole months, so each archive partition is filled in one go
+        LocalDateTime cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(properties.getAfterMonths()).atStartOfDay();
+        int total = 0;
+        int moved;
+        do {
+            moved = orderService.archiveClosedOrders(cutoff, properties.getBatchSize());
+            total += moved;
+        } while (moved == properties.getBatchSize());
+        if (total > 0) {
+            log.info("Moved {} orders created before {} to the archive", total, cutoff);
+        }
+        return total;
+    }
+
+    private void runSafely() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.error("Order archival failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
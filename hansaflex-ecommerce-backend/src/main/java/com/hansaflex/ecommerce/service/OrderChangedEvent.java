@@ -0,0 +1,63 @@
+package com.hansaflex.ecommerce.service;
+
+import com.hansaflex.ecommerce.entity.Order;
+import com.hansaflex.ecommerce.entity.OrderItem;
+import com.hansaflex.ecommerce.entity.OrderSummary;
+import com.hansaflex.ecommerce.enums.OrderStatus;
+
+import java.util.stream.Collectors;
+
+/**
+ * Published by {@link OrderService} when an order is written; {@code order} is the saved state.
+ * For {@link Kind#PLACED} its items and their products are loaded; a status change only
+ * guarantees the order's own columns, plus the status it had before ({@code previousStatus},
+ * null for a new order).
+ */
+public record OrderChangedEvent(Order order, Kind kind, OrderStatus previousStatus) {
+
+    public enum Kind { PLACED, STATUS_CHANGED }
+
+    static final int MAX_PRODUCT_NAMES_LENGTH = 1000;
+
+    public static OrderChangedEvent placed(Order order) {
+        return new OrderChangedEvent(order, Kind.PLACED, null);
+    }
+
+    public static OrderChangedEvent statusChanged(Order order, OrderStatus previousStatus) {
+        return new OrderChangedEvent(order, Kind.STATUS_CHANGED, previousStatus);
+    }
+
+    /**
+     * The order's read-model row. Only complete once the transaction has flushed, since
+     * that is when the order's timestamps are assigned.
+     */
+    public OrderSummary summary() {
+        return OrderSummary.builder()
+                .orderId(order.getId())
+                .customerId(order.getCustomerId())
+                .region(order.getRegion())
+                .status(order.getStatus())
+                .totalPrice(order.getTotalPrice())
+                .itemCount(order.getItems().size())
+                .totalQuantity(order.getItems().stream().mapToInt(OrderItem::getQuantity).sum())
+                .confirmationNumber(order.getConfirmationNumber())
+                .productNames(productNames())
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .build();
+    }
+
+    private String productNames() {
+        String names = order.getItems().stream()
+                .map(item -> item.getProduct().getName())
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining("\n"));
+        if (names.length() <= MAX_PRODUCT_NAMES_LENGTH) {
+            return names;
+        }
+        // Whole names only; the dashboard splits the column on line breaks
+        int lastBreak = names.lastIndexOf('\n', MAX_PRODUCT_NAMES_LENGTH);
+        return lastBreak > 0 ? names.substring(0, lastBreak) : names.substring(0, MAX_PRODUCT_NAMES_LENGTH);
+    }
+}
@@ -3,8 +3,11 @@ package com.hansaflex.ecommerce.service;
 import com.hansaflex.ecommerce.dto.OrderRequest;
 import com.hansaflex.ecommerce.dto.OrderResponse;
 import com.hansaflex.ecommerce.dto.OrderResponseWrapper;
+import com.hansaflex.ecommerce.dto.OrderSummaryPage;
+import com.hansaflex.ecommerce.dto.OrderSummaryResponse;
 import com.hansaflex.ecommerce.entity.Order;
 import com.hansaflex.ecommerce.entity.OrderItem;
+import com.hansaflex.ecommerce.entity.OrderSummary;
 import com.hansaflex.ecommerce.entity.Product;
 import com.hansaflex.ecommerce.entity.RegionPricingConfig;
 import com.hansaflex.ecommerce.enums.OrderStatus;
@@ -12,21 +15,35 @@ import com.hansaflex.ecommerce.exception.InsufficientStockException;
 import com.hansaflex.ecommerce.exception.ProductNotFoundException;
 import com.hansaflex.ecommerce.exception.ProductRegionMismatchException;
 import com.hansaflex.ecommerce.exception.RegionPricingConfigNotFoundException;
+import com.hansaflex.ecommerce.monitoring.RequestLogSampler;
+import com.hansaflex.ecommerce.repository.OrderArchiveRepository;
+import com.hansaflex.ecommerce.repository.OrderItemRepository;
 import com.hansaflex.ecommerce.repository.OrderRepository;
+import com.hansaflex.ecommerce.repository.OrderSummaryRepository;
 import com.hansaflex.ecommerce.repository.ProductRepository;
 import com.hansaflex.ecommerce.repository.RegionPricingConfigRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -34,13 +51,26 @@ import java.util.Optional;
 @Transactional
 public class OrderService {
 
+    static final int MAX_SUMMARY_PAGE_SIZE = 100;
+    // Dashboard order: newest first, ties broken by id (the keyset of order_summaries)
+    private static final Comparator<OrderSummary> NEWEST_FIRST =
+            Comparator.comparing(OrderSummary::getCreatedAt).thenComparing(OrderSummary::getOrderId).reversed();
+    // Orders that may move to the archive; a later status change is applied to the archived copy
+    static final Set<OrderStatus> ARCHIVABLE_STATUSES = EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.FAILED);
+
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
     private final ProductRepository productRepository;
     private final RegionPricingConfigRepository regionPricingConfigRepository;
     private final PricingService pricingService;
     private final SapIntegrationService sapIntegrationService;
     private final CacheService cacheService;
-    @CacheEvict(value = {"products", "productDetails", "productPrice"}, allEntries = true)
+    private final RequestLogSampler requestLogSampler;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @CacheEvict(value = {"products", "productDetails", "productFacets", "productPrice"}, allEntries = true)
     public OrderResponse createOrder(OrderRequest orderRequest, String customerId, String region) {
         log.info("Creating order with {} items for customer {} in region {}", 
                 orderRequest.getItems().size(), customerId, region);
@@ -85,6 +115,7 @@ public class OrderService {
             order.setConfirmationNumber(confirmationNumber);
             order.setStatus(OrderStatus.CONFIRMED);
             order = orderRepository.save(order);
+            eventPublisher.publishEvent(OrderChangedEvent.placed(order));
             
             log.info("Order created successfully with ID: {} and confirmation number: {}", 
                     order.getId(), order.getConfirmationNumber());
@@ -111,7 +142,7 @@ public class OrderService {
      * @param region Customer region from authentication
      * @return OrderResponseWrapper containing either single order or bulk order results
      */
-    @CacheEvict(value = {"products", "productDetails", "productPrice"}, allEntries = true)
+    @CacheEvict(value = {"products", "productDetails", "productFacets", "productPrice"}, allEntries = true)
     public OrderResponseWrapper createOrderFlexible(OrderRequest orderRequest, String customerId, String region) {
         log.info("Creating order(s) for customer {} in region {}", customerId, region);
         
@@ -135,7 +166,7 @@ public class OrderService {
      * Create multiple orders in a single transaction with batch stock deduction
      */
     @Transactional
-    @CacheEvict(value = {"products", "productDetails", "productPrice"}, allEntries = true)
+    @CacheEvict(value = {"products", "productDetails", "productFacets", "productPrice"}, allEntries = true)
     public OrderResponseWrapper createBulkOrders(List<OrderRequest.BulkOrderItem> bulkOrders, String customerId, String region) {
         log.info("Creating {} bulk orders for customer {} in region {}", bulkOrders.size(), customerId, region);
         
@@ -257,7 +288,7 @@ public class OrderService {
         return orderItem;
     }
     
-    @CacheEvict(value = {"products", "productDetails", "productPrice"}, allEntries = true)
+    @CacheEvict(value = {"products", "productDetails", "productFacets", "productPrice"}, allEntries = true)
     @Transactional
     public void updateProductStock(Long productId, Integer quantity) {
         try {
@@ -273,30 +304,63 @@ public class OrderService {
             
             product.setStockQty(newStock);
             productRepository.save(product);
+            eventPublisher.publishEvent(ProductChangedEvent.saved(product));
             log.info("Updated stock for product {} (ID: {}) from {} to {} - Cache will be evicted", product.getName(), productId, oldStock, newStock);
             
             // Explicitly clear product caches to ensure immediate UI updates
             cacheService.clearProductCaches();
-            log.info("Explicitly cleared product caches after stock update for product {}", productId);
+            log.debug("Explicitly cleared product caches after stock update for product {}", productId);
         } catch (Exception e) {
             log.error("Failed to update stock for product {}: {}", productId, e.getMessage(), e);
             throw e;
         }
     }
     
+    /**
+     * Moves an order to another status and updates its summary once committed. Archived
+     * orders are updated in the archive.
+     */
+    public OrderResponse updateOrderStatus(Long orderId, OrderStatus status) {
+        log.info("Updating order {} to status {}", orderId, status);
+        
+        Optional<Order> live = orderRepository.findById(orderId);
+        if (live.isEmpty()) {
+            OrderStatus previousStatus = orderArchiveRepository.findById(orderId)
+                    .orElseThrow(() -> new RuntimeException("Order not found with ID: " + orderId))
+                    .getStatus();
+            OrderResponse archived = orderArchiveRepository.updateStatus(orderId, status, LocalDateTime.now())
+                    .orElseThrow(() -> new RuntimeException("Order not found with ID: " + orderId));
+            // Status changes only carry the order's own columns
+            eventPublisher.publishEvent(OrderChangedEvent.statusChanged(Order.builder()
+                    .id(orderId).status(status).createdAt(archived.getCreatedAt()).updatedAt(archived.getUpdatedAt()).build(),
+                    previousStatus));
+            return archived;
+        }
+        Order order = live.get();
+        OrderStatus previousStatus = order.getStatus();
+        order.setStatus(status);
+        order = orderRepository.save(order);
+        eventPublisher.publishEvent(OrderChangedEvent.statusChanged(order, previousStatus));
+        
+        return mapToOrderResponse(order);
+    }
+    
     @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long orderId) {
-        log.info("Fetching order with ID: {}", orderId);
+        requestLogSampler.info(log, "Fetching order with ID: {}", orderId);
         
-        Order order = orderRepository.findById(orderId)
+        return orderRepository.findById(orderId)
+                .map(this::mapToOrderResponse)
+                .or(() -> orderArchiveRepository.findById(orderId))
                 .orElseThrow(() -> new RuntimeException("Order not found with ID: " + orderId));
-        
-        return mapToOrderResponse(order);
     }
     
+    /**
+     * Live orders only; archived orders are reachable by id, and by customer and region on request
+     */
     @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders() {
-        log.info("Fetching all orders");
+        requestLogSampler.info(log, "Fetching all orders");
         
         List<Order> orders = orderRepository.findAll();
         return orders.stream()
@@ -304,26 +368,108 @@ public class OrderService {
                 .toList();
     }
     
+    /**
+     * A region's live orders, followed by its archived ones when {@code includeArchived}
+     * (which reads every archive partition)
+     */
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByRegion(String region) {
-        log.info("Fetching orders for region: {}", region);
+    public List<OrderResponse> getOrdersByRegion(String region, boolean includeArchived) {
+        requestLogSampler.info(log, "Fetching orders for region: {}", region);
         
         List<Order> orders = orderRepository.findByRegion(region);
-        return orders.stream()
-                .map(this::mapToOrderResponse)
+        return Stream.concat(orders.stream().map(this::mapToOrderResponse),
+                        includeArchived ? orderArchiveRepository.findByRegion(region).stream() : Stream.empty())
                 .toList();
     }
     
+    /**
+     * A customer's live orders, followed by the archived ones when {@code includeArchived}
+     * (which reads every archive partition)
+     */
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByCustomerId(String customerId) {
-        log.info("Fetching orders for customer: {}", customerId);
+    public List<OrderResponse> getOrdersByCustomerId(String customerId, boolean includeArchived) {
+        requestLogSampler.info(log, "Fetching orders for customer: {}", customerId);
         
         List<Order> orders = orderRepository.findByCustomerId(customerId);
-        return orders.stream()
-                .map(this::mapToOrderResponse)
+        return Stream.concat(orders.stream().map(this::mapToOrderResponse),
+                        includeArchived ? orderArchiveRepository.findByCustomerId(customerId).stream() : Stream.empty())
+                .toList();
+    }
+    
+    /**
+     * A customer's orders from the order_summaries read model, newest first. Orders whose
+     * summary the projector has not written yet are summarized from the orders table.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderSummaryResponse> getOrderSummariesByCustomerId(String customerId) {
+        requestLogSampler.info(log, "Fetching order summaries for customer: {}", customerId);
+        
+        return Stream.concat(orderSummaryRepository.findByCustomerIdOrderByCreatedAtDesc(customerId).stream(),
+                        unprojectedSummaries(customerId).stream())
+                .sorted(NEWEST_FIRST)
+                .map(this::mapToOrderSummaryResponse)
                 .toList();
     }
     
+    /**
+     * One page of a customer's orders for the dashboard: a single indexed query on
+     * order_summaries, continuing after {@code cursor} (null for the first page).
+     * Like {@link #getOrderSummariesByCustomerId}, orders not projected yet are merged in from the orders table.
+     */
+    @Transactional(readOnly = true)
+    public OrderSummaryPage getOrderSummaryPage(String customerId, String cursor, int size) {
+        requestLogSampler.info(log, "Fetching order summary page for customer: {} (cursor {}, size {})", customerId, cursor, size);
+        
+        int pageSize = Math.max(1, Math.min(size, MAX_SUMMARY_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);  // One extra row tells whether another page follows
+        List<OrderSummary> rows;
+        OrderSummary after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        if (after == null) {
+            rows = orderSummaryRepository.findFirstPage(customerId, limit);
+        } else {
+            rows = orderSummaryRepository.findPageAfter(customerId, after.getCreatedAt(), after.getOrderId(), limit);
+        }
+        List<OrderSummary> unprojected = unprojectedSummaries(customerId);
+        if (!unprojected.isEmpty()) {
+            rows = Stream.concat(rows.stream(),
+                            unprojected.stream().filter(summary -> after == null || NEWEST_FIRST.compare(summary, after) > 0))
+                    .sorted(NEWEST_FIRST)
+                    .limit(pageSize + 1)
+                    .toList();
+        }
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<OrderSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+        return OrderSummaryPage.builder()
+                .orders(page.stream().map(this::mapToOrderSummaryResponse).toList())
+                .nextCursor(hasMore ? encodeCursor(page.get(page.size() - 1)) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    /**
+     * Moves up to {@code batchSize} closed orders created before {@code cutoff} from
+     * orders/order_items into the archive, in one transaction. Returns the number moved.
+     */
+    public int archiveClosedOrders(LocalDateTime cutoff, int batchSize) {
+        List<Long> orderIds = orderRepository.findIdsByStatusCreatedBefore(ARCHIVABLE_STATUSES, cutoff, Limit.of(batchSize));
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        
+        List<Order> orders = orderRepository.findByIdIn(orderIds);
+        orderArchiveRepository.saveAll(orders.stream()
+                .sorted(Comparator.comparing(Order::getCreatedAt))
+                .map(order -> new OrderArchiveRepository.ArchivedOrder(order.getCustomerId(), order.getRegion(), mapToOrderResponse(order)))
+                .toList());
+        orderItemRepository.deleteByOrderIds(orderIds);
+        orderRepository.deleteAllByIdInBatch(orderIds);
+        
+        if (log.isDebugEnabled()) {
+            log.debug("Archived {} orders created before {}", orders.size(), cutoff);
+        }
+        return orders.size();
+    }
 
     /**
      * Check stock availability for multiple products
@@ -385,4 +531,54 @@ public class OrderService {
                 .build();
     }
 
+    /**
+     * Summaries of the customer's orders that have no order_summaries row yet, built from the
+     * orders themselves (the projection is asynchronous; usually this is one empty index lookup)
+     */
+    private List<OrderSummary> unprojectedSummaries(String customerId) {
+        List<Long> orderIds = orderRepository.findIdsByCustomerIdWithoutSummary(customerId);
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return orderRepository.findByIdIn(orderIds).stream()
+                .map(order -> OrderChangedEvent.placed(order).summary())
+                .toList();
+    }
+
+    /**
+     * Opaque keyset cursor: the (createdAt, orderId) of the last order on the page
+     */
+    static String encodeCursor(OrderSummary last) {
+        String keyset = last.getCreatedAt() + "|" + last.getOrderId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keyset.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static OrderSummary decodeCursor(String cursor) {
+        try {
+            String keyset = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = keyset.indexOf('|');
+            return OrderSummary.builder()
+                    .createdAt(LocalDateTime.parse(keyset.substring(0, separator)))
+                    .orderId(Long.valueOf(keyset.substring(separator + 1)))
+                    .build();
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid order page cursor: " + cursor);
+        }
+    }
+
+    private OrderSummaryResponse mapToOrderSummaryResponse(OrderSummary summary) {
+        return OrderSummaryResponse.builder()
+                .orderId(summary.getOrderId())
+                .status(summary.getStatus())
+                .totalPrice(summary.getTotalPrice())
+                .itemCount(summary.getItemCount())
+                .totalQuantity(summary.getTotalQuantity())
+                .confirmationNumber(summary.getConfirmationNumber())
+                .productNames(summary.getProductNames() == null || summary.getProductNames().isEmpty()
+                        ? List.of() : List.of(summary.getProductNames().split("\n")))
+                .createdAt(summary.getCreatedAt())
+                .updatedAt(summary.getUpdatedAt())
+                .build();
+    }
+
 }
@@ -0,0 +1,179 @@
+package com.hansaflex.ecommerce.service;
+
+import com.hansaflex.ecommerce.entity.Order;
+import com.hansaflex.ecommerce.entity.OrderSummary;
+import com.hansaflex.ecommerce.enums.OrderStatus;
+import com.hansaflex.ecommerce.repository.OrderRepository;
+import com.hansaflex.ecommerce.repository.OrderSummaryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the order_summaries read model up to date. Summaries are written after the order's
+ * transaction has committed, on a single background thread, so placing an order never waits
+ * for the read model and updates to one order are applied in the order they were made.
+ *
+ * The hand-off is not durable: a full queue, a failed write or a shutdown can lose a summary.
+ * A reconciliation pass at startup and every RECONCILE_INTERVAL re-projects the orders whose
+ * summary is missing or has another status, on the same thread as the regular projections.
+ */
+@Component
+@Slf4j
+public class OrderSummaryProjector {
+
+    static final int QUEUE_CAPACITY = 10_000;
+    static final int RECONCILE_BATCH_SIZE = 500;
+    private static final Duration RECONCILE_INTERVAL = Duration.ofMinutes(5);
+    // Orders changed more recently may still have their projection queued
+    private static final Duration RECONCILE_GRACE = Duration.ofMinutes(1);
+
+    private final OrderRepository orderRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    // Read-write, so reconciliation reads the primary rather than a lagging replica
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-summary-reconciler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public OrderSummaryProjector(OrderRepository orderRepository, OrderSummaryRepository orderSummaryRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this(orderRepository, orderSummaryRepository, transactionManager, new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "order-summary-projector");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    OrderSummaryProjector(OrderRepository orderRepository, OrderSummaryRepository orderSummaryRepository,
+                          PlatformTransactionManager transactionManager, ExecutorService executor) {
+        this.orderRepository = orderRepository;
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = RECONCILE_INTERVAL.toMillis();
+        reconciler.scheduleWithFixedDelay(() -> submit(this::reconcileSafely, "reconciliation"), 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs on the committing thread, so everything needed is taken from the flushed order
+     * before the write is handed to the projection thread
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (event.kind() == OrderChangedEvent.Kind.PLACED) {
+            OrderSummary summary = event.summary();
+            submit(() -> project(summary), "order " + summary.getOrderId());
+        } else {
+            Long orderId = event.order().getId();
+            OrderStatus status = event.order().getStatus();
+            LocalDateTime updatedAt = event.order().getUpdatedAt();
+            submit(() -> projectStatus(orderId, status, updatedAt), "order " + orderId);
+        }
+    }
+
+    void project(OrderSummary summary) {
+        try {
+            orderSummaryRepository.save(summary);
+            log.debug("Projected order {} ({}) into order_summaries", summary.getOrderId(), summary.getStatus());
+        } catch (RuntimeException e) {
+            log.error("Failed to project order {} into order_summaries: {}", summary.getOrderId(), e.getMessage(), e);
+        }
+    }
+
+    void projectStatus(Long orderId, OrderStatus status, LocalDateTime updatedAt) {
+        try {
+            if (orderSummaryRepository.updateStatus(orderId, status, updatedAt) == 0) {
+                log.warn("No order summary to update for order {} ({})", orderId, status);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to project status {} of order {} into order_summaries: {}", status, orderId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Re-projects the orders last changed before {@code changedBefore} whose summary is missing
+     * or stale, one transaction per batch. Returns the number of summaries written.
+     */
+    public int reconcile(LocalDateTime changedBefore) {
+        int total = 0;
+        long afterId = 0;
+        List<Long> orderIds;
+        do {
+            long after = afterId;
+            orderIds = transactionTemplate.execute(status -> {
+                List<Long> ids = orderRepository.findIdsWithoutCurrentSummary(changedBefore, after, Limit.of(RECONCILE_BATCH_SIZE));
+                if (!ids.isEmpty()) {
+                    List<Order> orders = orderRepository.findByIdIn(ids);
+                    orderSummaryRepository.saveAll(orders.stream().map(order -> OrderChangedEvent.placed(order).summary()).toList());
+                }
+                return ids;
+            });
+            if (orderIds.isEmpty()) {
+                break;
+            }
+            total += orderIds.size();
+            afterId = orderIds.get(orderIds.size() - 1);
+        } while (orderIds.size() == RECONCILE_BATCH_SIZE);
+        if (total > 0) {
+            log.warn("Re-projected {} orders with a missing or stale summary", total);
+        }
+        return total;
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile(LocalDateTime.now().minus(RECONCILE_GRACE));
+        } catch (RuntimeException e) {
+            log.error("Order summary reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void submit(Runnable task, String what) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Queue full or shutting down: the next reconciliation catches up
+            log.warn("Order summary projection of {} skipped: queue full or closed", what);
+        }
+    }
+
+    /**
+     * Lets summaries already queued reach the database before the context closes
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        reconciler.shutdownNow();
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Order summary projection did not finish within 5 s; the next startup reconciles the rest");
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.hansaflex.ecommerce.repository.RegionPricingConfigRepository;
 import com.hansaflex.ecommerce.strategy.PricingStrategy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +27,7 @@ public class PricingService {
     private final RegionPricingConfigRepository regionPricingConfigRepository;
     private final PricingStrategy pricingStrategy;
 
+    @Cacheable(value = "productPrice", key = "#productId", sync = true)
     public PriceResponse calculatePrice(Long productId) {
         log.info("Calculating price for product ID: {}", productId);
         
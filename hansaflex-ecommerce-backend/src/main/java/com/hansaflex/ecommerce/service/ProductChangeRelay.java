@@ -0,0 +1,75 @@
+package com.hansaflex.ecommerce.service;
+
+import com.hansaflex.ecommerce.cache.BroadcastingCacheManager;
+import com.hansaflex.ecommerce.cache.CacheInvalidationBus;
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relays product writes between nodes over the cache invalidation bus, when one is configured.
+ * Committed local writes go out as product ids; ids from other nodes are read back from the
+ * database and published here as relayed {@link ProductChangedEvent}s, so the search index,
+ * the live counters and the product stream follow the writes of every node. Relayed events
+ * are not sent on.
+ */
+@Component
+@Slf4j
+public class ProductChangeRelay {
+
+    static final String CHANNEL = "product-deltas";
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheInvalidationBus bus;
+
+    @Autowired
+    public ProductChangeRelay(ProductRepository productRepository, ApplicationEventPublisher eventPublisher,
+                              CacheManager cacheManager) {
+        this(productRepository, eventPublisher,
+                cacheManager instanceof BroadcastingCacheManager broadcasting ? broadcasting.getBus() : null);
+    }
+
+    ProductChangeRelay(ProductRepository productRepository, ApplicationEventPublisher eventPublisher, CacheInvalidationBus bus) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.bus = bus;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (bus != null) {
+            bus.subscribe(CHANNEL, this::onRemoteChanges);
+            log.info("Relaying product changes between nodes as {}", bus.getNodeId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (bus != null && !event.relayed()) {
+            bus.publish(CHANNEL, Long.toString(event.productId()));
+        }
+    }
+
+    /**
+     * Products written on other nodes: each is read back and published as saved, or as deleted
+     * when it no longer exists
+     */
+    void onRemoteChanges(Collection<String> productIds) {
+        List<Long> ids = productIds.stream().map(Long::valueOf).toList();
+        Map<Long, Product> products = new HashMap<>();
+        productRepository.findAllById(ids).forEach(product -> products.put(product.getId(), product));
+        ids.forEach(id -> eventPublisher.publishEvent(ProductChangedEvent.relayed(id, products.get(id))));
+    }
+}
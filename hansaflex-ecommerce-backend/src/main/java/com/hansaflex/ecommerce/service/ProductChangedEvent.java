@@ -0,0 +1,30 @@
+package com.hansaflex.ecommerce.service;
+
+import com.hansaflex.ecommerce.entity.Product;
+
+/**
+ * Published by {@link ProductService} for every product write, and by {@link ProductChangeRelay}
+ * for writes on other nodes ({@code relayed}). {@code product} is the saved state, or null when
+ * the product was deleted.
+ */
+public record ProductChangedEvent(Long productId, Product product, boolean relayed) {
+
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(product.getId(), product, false);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null, false);
+    }
+
+    /**
+     * A write on another node, with the product as read back here (null when it is gone)
+     */
+    public static ProductChangedEvent relayed(Long productId, Product product) {
+        return new ProductChangedEvent(productId, product, true);
+    }
+
+    public boolean isDeleted() {
+        return product == null;
+    }
+}
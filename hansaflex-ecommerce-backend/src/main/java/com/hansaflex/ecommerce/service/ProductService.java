@@ -1,42 +1,65 @@
 package com.hansaflex.ecommerce.service;
 
+import com.hansaflex.ecommerce.dto.CatalogVersion;
+import com.hansaflex.ecommerce.dto.PriceRangeCount;
+import com.hansaflex.ecommerce.dto.ProductFacetsResponse;
 import com.hansaflex.ecommerce.dto.ProductFilterRequest;
 import com.hansaflex.ecommerce.dto.ProductRequest;
 import com.hansaflex.ecommerce.dto.ProductResponse;
 import com.hansaflex.ecommerce.dto.ProductUpdateRequest;
+import com.hansaflex.ecommerce.dto.SuggestionResponse;
 import com.hansaflex.ecommerce.entity.Product;
 import com.hansaflex.ecommerce.exception.ProductNotFoundException;
 import com.hansaflex.ecommerce.exception.ProductAlreadyExistsException;
+import com.hansaflex.ecommerce.monitoring.RequestLogSampler;
+import com.hansaflex.ecommerce.repository.ProductFilterRepository;
 import com.hansaflex.ecommerce.repository.ProductRepository;
+import com.hansaflex.ecommerce.search.ProductSearchIndex;
+import com.hansaflex.ecommerce.search.ProductSuggester;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@CacheConfig(cacheResolver = "refreshingCacheResolver")
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final RequestLogSampler requestLogSampler;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggester productSuggester;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new product
      */
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = {"products", "productFacets", "productPrice", "categories"}, allEntries = true)
     public ProductResponse createProduct(ProductRequest productRequest) {
         log.info("Creating new product: {}", productRequest.getName());
         
@@ -60,6 +83,7 @@ public class ProductService {
                 .build();
 
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(savedProduct));
         log.info("Product created successfully with ID: {}", savedProduct.getId());
         
         return mapToProductResponse(savedProduct);
@@ -68,7 +92,7 @@ public class ProductService {
     /**
      * Update an existing product
      */
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = {"products", "productFacets", "productPrice", "categories"}, allEntries = true)
     public ProductResponse updateProduct(Long id, ProductRequest productRequest) {
         log.info("Updating product with ID: {}", id);
         
@@ -97,6 +121,7 @@ public class ProductService {
         existingProduct.setRegion(productRequest.getRegion());
 
         Product updatedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(updatedProduct));
         log.info("Product updated successfully with ID: {}", updatedProduct.getId());
         
         return mapToProductResponse(updatedProduct);
@@ -105,7 +130,7 @@ public class ProductService {
     /**
      * Partially update an existing product
      */
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = {"products", "productFacets", "productPrice", "categories"}, allEntries = true)
     public ProductResponse partialUpdateProduct(Long id, ProductUpdateRequest productUpdateRequest) {
         log.info("Partially updating product with ID: {}", id);
         
@@ -193,6 +218,7 @@ public class ProductService {
         }
 
         Product updatedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(updatedProduct));
         log.info("Product partially updated successfully with ID: {}", updatedProduct.getId());
         
         return mapToProductResponse(updatedProduct);
@@ -201,7 +227,7 @@ public class ProductService {
     /**
      * Delete a product
      */
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = {"products", "productFacets", "productPrice", "categories"}, allEntries = true)
     public void deleteProduct(Long id) {
         log.info("Deleting product with ID: {}", id);
         
@@ -210,16 +236,17 @@ public class ProductService {
         }
         
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
         log.info("Product deleted successfully with ID: {}", id);
     }
 
     /**
      * Get product by ID
      */
-    @Cacheable(value = "products", key = "#id")
+    @Cacheable(value = "products", key = "#id", sync = true)
     @Transactional(readOnly = true)
     public ProductResponse getProductById(Long id) {
-        log.info("Fetching product with ID: {}", id);
+        requestLogSampler.info(log, "Fetching product with ID: {}", id);
         
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id));
@@ -230,10 +257,10 @@ public class ProductService {
     /**
      * Get all products without any filters (for public API)
      */
-    @Cacheable(value = "products", key = "'all_products'")
+    @Cacheable(value = "products", key = "'all_products'", sync = true)
     @Transactional(readOnly = true)
     public List<ProductResponse> getAllProducts() {
-        log.info("Fetching all products without filters");
+        requestLogSampler.info(log, "Fetching all products without filters");
         List<Product> products = productRepository.findAll();
         return products.stream()
                 .map(this::mapToProductResponse)
@@ -243,10 +270,10 @@ public class ProductService {
     /**
      * Get all products with pagination and filtering
      */
-    @Cacheable(value = "products", key = "#filterRequest.toString()")
+    @Cacheable(value = "products", keyGenerator = "productFilterKeyGenerator", sync = true)
     @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProducts(ProductFilterRequest filterRequest) {
-        log.info("Fetching products with filters: {}", filterRequest);
+        requestLogSampler.info(log, "Fetching products with filters: {}", filterRequest);
         
         // Create pageable object
         Sort sort = Sort.by(
@@ -255,54 +282,102 @@ public class ProductService {
         );
         Pageable pageable = PageRequest.of(filterRequest.getPage(), filterRequest.getSize(), sort);
         
-        // Use enhanced filtering if advanced filters are provided
-        if (hasAdvancedFilters(filterRequest)) {
-            Page<Product> products = productRepository.findProductsWithAdvancedFilters(
-                filterRequest.getRegion(),
-                filterRequest.getCategory(),
-                filterRequest.getCategories(),
-                filterRequest.getMinPrice(),
-                filterRequest.getMaxPrice(),
-                filterRequest.getName(),
-                filterRequest.getMinStock(),
-                filterRequest.getMaxStock(),
-                filterRequest.getCurrency(),
-                filterRequest.getInStock(),
-                pageable
-            );
-            return products.map(this::mapToProductResponse);
-        } else {
-            // Use basic filtering for backward compatibility
-            Page<Product> products = productRepository.findProductsWithFilters(
-                filterRequest.getRegion(),
-                filterRequest.getCategory(),
-                filterRequest.getMinPrice(),
-                filterRequest.getMaxPrice(),
-                filterRequest.getName(),
-                pageable
-            );
-            return products.map(this::mapToProductResponse);
+        // Only the filters present in the request end up in the query
+        Page<Product> products = productRepository.findWithFilters(filterRequest, pageable);
+        return products.map(this::mapToProductResponse);
+    }
+
+    /**
+     * Facet counts (category, currency, price range, stock) for the request's filters.
+     * Computed from one grouped query and shared by every page and sort order of the same filters.
+     */
+    @Cacheable(value = "productFacets", keyGenerator = "productFacetKeyGenerator", sync = true)
+    @Transactional(readOnly = true)
+    public ProductFacetsResponse getProductFacets(ProductFilterRequest filterRequest) {
+        List<BigDecimal> bounds = ProductFilterRepository.PRICE_BUCKET_BOUNDS;
+        Map<String, Long> categories = new TreeMap<>();
+        Map<String, Long> currencies = new TreeMap<>();
+        long[] priceBuckets = new long[bounds.size() + 1];
+        long inStock = 0;
+        long outOfStock = 0;
+
+        for (Object[] row : productRepository.countFacets(filterRequest)) {
+            long count = ((Number) row[4]).longValue();
+            categories.merge((String) row[0], count, Long::sum);
+            currencies.merge((String) row[1], count, Long::sum);
+            priceBuckets[((Number) row[2]).intValue()] += count;
+            if (Boolean.TRUE.equals(row[3])) {
+                inStock += count;
+            } else {
+                outOfStock += count;
+            }
+        }
+
+        List<PriceRangeCount> priceRanges = new ArrayList<>(priceBuckets.length);
+        for (int i = 0; i < priceBuckets.length; i++) {
+            priceRanges.add(PriceRangeCount.builder()
+                    .minPrice(i == 0 ? BigDecimal.ZERO : bounds.get(i - 1))
+                    .maxPrice(i < bounds.size() ? bounds.get(i) : null)
+                    .count(priceBuckets[i])
+                    .build());
+        }
+
+        return ProductFacetsResponse.builder()
+                .categories(categories)
+                .currencies(currencies)
+                .priceRanges(priceRanges)
+                .inStock(inStock)
+                .outOfStock(outOfStock)
+                .build();
+    }
+
+    /**
+     * Full-text search over name, description and category, best match first
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductResponse> searchProducts(String query, String region, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
         }
+        if (page < 0 || size < 1 || size > 100) {
+            throw new IllegalArgumentException("Page must not be negative and size must be between 1 and 100");
+        }
+        requestLogSampler.info(log, "Searching products for '{}' in region: {}", query, region);
+
+        ProductSearchIndex.SearchResult result = productSearchIndex.search(query, region, page, size);
+        Map<Long, Product> productsById = productRepository.findAllById(result.productIds()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        // Keep the index's ranking; ids deleted since the search are skipped
+        List<ProductResponse> content = result.productIds().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToProductResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, PageRequest.of(page, size), result.totalHits());
     }
 
     /**
-     * Check if advanced filters are being used
+     * Typeahead suggestions (product names and categories) for a prefix, served from memory
      */
-    private boolean hasAdvancedFilters(ProductFilterRequest filterRequest) {
-        return filterRequest.getCategories() != null && !filterRequest.getCategories().isEmpty() ||
-               filterRequest.getMinStock() != null ||
-               filterRequest.getMaxStock() != null ||
-               filterRequest.getCurrency() != null ||
-               filterRequest.getInStock() != null;
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<SuggestionResponse> suggestProducts(String prefix, String region, int limit) {
+        if (limit < 1 || limit > 20) {
+            throw new IllegalArgumentException("Limit must be between 1 and 20");
+        }
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return productSuggester.suggest(prefix, region, limit);
     }
 
     /**
      * Get products by region
      */
-    @Cacheable(value = "products", key = "'region_' + #region")
+    @Cacheable(value = "products", key = "'region_' + #region", sync = true)
     @Transactional(readOnly = true)
     public List<ProductResponse> getProductsByRegion(String region) {
-        log.info("Fetching products for region: {}", region);
+        requestLogSampler.info(log, "Fetching products for region: {}", region);
         
         List<Product> products = productRepository.findByRegion(region);
         return products.stream()
@@ -313,10 +388,10 @@ public class ProductService {
     /**
      * Get products by region with pagination
      */
-    @Cacheable(value = "products", key = "'region_' + #region + '_page_' + #page + '_size_' + #size")
+    @Cacheable(value = "products", key = "'region_' + #region + '_page_' + #page + '_size_' + #size", sync = true)
     @Transactional(readOnly = true)
     public Page<ProductResponse> getProductsByRegion(String region, int page, int size) {
-        log.info("Fetching products for region: {} with pagination (page: {}, size: {})", region, page, size);
+        requestLogSampler.info(log, "Fetching products for region: {} with pagination (page: {}, size: {})", region, page, size);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("name").ascending());
         Page<Product> products = productRepository.findByRegion(region, pageable);
@@ -324,30 +399,44 @@ public class ProductService {
         return products.map(this::mapToProductResponse);
     }
 
+    /**
+     * Version of the whole catalog, for conditional GETs. Cached with the catalog itself, so every
+     * write that evicts "products" (on any node) also moves the version.
+     */
+    @Cacheable(value = "products", key = "'catalog_version'", sync = true)
+    @Transactional(readOnly = true)
+    public CatalogVersion getCatalogVersion() {
+        long count = productRepository.count();
+        long lastModified = productRepository.findLastUpdatedAt()
+                .map(updatedAt -> updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .orElse(0L);
+        return CatalogVersion.of(count, lastModified);
+    }
+
     /**
      * Get all distinct categories
      */
-    @Cacheable(value = "categories")
+    @Cacheable(value = "categories", sync = true)
     @Transactional(readOnly = true)
     public List<String> getAllCategories() {
-        log.info("Fetching all distinct categories");
+        requestLogSampler.info(log, "Fetching all distinct categories");
         return productRepository.findDistinctCategories();
     }
 
     /**
      * Get all distinct categories by region
      */
-    @Cacheable(value = "categories", key = "#region")
+    @Cacheable(value = "categories", key = "#region", sync = true)
     @Transactional(readOnly = true)
     public List<String> getCategoriesByRegion(String region) {
-        log.info("Fetching categories for region: {}", region);
+        requestLogSampler.info(log, "Fetching categories for region: {}", region);
         return productRepository.findDistinctCategoriesByRegion(region);
     }
 
     /**
      * Update stock quantity for a product
      */
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = {"products", "productFacets", "productPrice"}, allEntries = true)
     public ProductResponse updateStock(Long id, Integer newStockQty) {
         log.info("Updating stock for product ID: {} to quantity: {}", id, newStockQty);
         
@@ -356,6 +445,7 @@ public class ProductService {
         
         product.setStockQty(newStockQty);
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(updatedProduct));
         
         log.info("Stock updated successfully for product ID: {}", id);
         return mapToProductResponse(updatedProduct);
@@ -364,47 +454,42 @@ public class ProductService {
     /**
      * Get all products in exact column order: id, name, description, price, currency, stockQty, category, region
      */
-    @Cacheable(value = "products", key = "'exact_order'")
+    @Cacheable(value = "products", key = "'exact_order'", sync = true)
     @Transactional(readOnly = true)
     public List<Object[]> getAllProductsInExactOrder() {
-        log.info("Fetching all products in exact column order");
+        requestLogSampler.info(log, "Fetching all products in exact column order");
         return productRepository.findProductsInExactOrder();
     }
 
     /**
      * Get products by region in exact column order
      */
-    @Cacheable(value = "products", key = "'exact_order_region_' + #region")
+    @Cacheable(value = "products", key = "'exact_order_region_' + #region", sync = true)
     @Transactional(readOnly = true)
     public List<Object[]> getProductsByRegionInExactOrder(String region) {
-        log.info("Fetching products for region: {} in exact column order", region);
+        requestLogSampler.info(log, "Fetching products for region: {} in exact column order", region);
         return productRepository.findProductsByRegionInExactOrder(region);
     }
 
     /**
      * Get products by category in exact column order
      */
-    @Cacheable(value = "products", key = "'exact_order_category_' + #category")
+    @Cacheable(value = "products", key = "'exact_order_category_' + #category", sync = true)
     @Transactional(readOnly = true)
     public List<Object[]> getProductsByCategoryInExactOrder(String category) {
-        log.info("Fetching products for category: {} in exact column order", category);
+        requestLogSampler.info(log, "Fetching products for category: {} in exact column order", category);
         return productRepository.findProductsByCategoryInExactOrder(category);
     }
 
     /**
      * Get products with filters in exact column order
+     * The result is unpaged and ordered by id, so the cache key holds the filters only.
      */
-    @Cacheable(value = "products", key = "'exact_order_filters_' + #filterRequest.toString()")
+    @Cacheable(value = "products", keyGenerator = "productFacetKeyGenerator", sync = true)
     @Transactional(readOnly = true)
     public List<Object[]> getProductsWithFiltersInExactOrder(ProductFilterRequest filterRequest) {
-        log.info("Fetching products with filters in exact column order: {}", filterRequest);
-        return productRepository.findProductsWithFiltersInExactOrder(
-                filterRequest.getRegion(),
-                filterRequest.getCategory(),
-                filterRequest.getMinPrice(),
-                filterRequest.getMaxPrice(),
-                filterRequest.getName()
-        );
+        requestLogSampler.info(log, "Fetching products with filters in exact column order: {}", filterRequest);
+        return productRepository.findWithFiltersInExactOrder(filterRequest);
     }
 
     // ========== BATCH STOCK UPDATE METHODS ==========
@@ -413,7 +498,7 @@ public class ProductService {
      * Batch update stock quantities for multiple products
      * Used for bulk order processing with atomic operations
      */
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = {"products", "productFacets", "productPrice"}, allEntries = true)
     @Transactional
     public Map<Long, Boolean> batchDeductStock(Map<Long, Integer> productQuantityMap) {
         log.info("Batch deducting stock for {} products", productQuantityMap.size());
@@ -439,6 +524,10 @@ public class ProductService {
             }
         }
         
+        // Bulk updates bypass the entities, so listeners get the products as re-read
+        List<Long> deducted = results.entrySet().stream().filter(Map.Entry::getValue).map(Map.Entry::getKey).toList();
+        productRepository.findAllById(deducted).forEach(product -> eventPublisher.publishEvent(ProductChangedEvent.saved(product)));
+        
         return results;
     }
 
@@ -447,7 +536,7 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Map<Long, Boolean> checkStockAvailability(Map<Long, Integer> productQuantityMap) {
-        log.info("Checking stock availability for {} products", productQuantityMap.size());
+        requestLogSampler.info(log, "Checking stock availability for {} products", productQuantityMap.size());
         
         Map<Long, Boolean> results = new HashMap<>();
         
@@ -479,7 +568,7 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<Product> getProductsByIds(List<Long> productIds) {
-        log.info("Fetching {} products by IDs", productIds.size());
+        requestLogSampler.info(log, "Fetching {} products by IDs", productIds.size());
         return productRepository.findByIds(productIds);
     }
 
@@ -488,7 +577,7 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public boolean hasOrders(Long productId) {
-        log.info("Checking if product {} has orders", productId);
+        requestLogSampler.info(log, "Checking if product {} has orders", productId);
         return productRepository.hasOrders(productId);
     }
 
@@ -7,6 +7,8 @@ import com.hansaflex.ecommerce.exception.RegionPricingConfigNotFoundException;
 import com.hansaflex.ecommerce.repository.RegionPricingConfigRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,7 @@ public class RegionPricingConfigService {
 
     private final RegionPricingConfigRepository regionPricingConfigRepository;
 
+    @CacheEvict(value = {"pricingConfig", "productPrice"}, allEntries = true)
     public RegionPricingConfigResponse createRegionPricingConfig(RegionPricingConfigRequest request) {
         log.info("Creating region pricing config for region: {}", request.getRegion());
         
@@ -35,6 +38,7 @@ public class RegionPricingConfigService {
         return mapToResponse(savedConfig);
     }
 
+    @CacheEvict(value = {"pricingConfig", "productPrice"}, allEntries = true)
     public RegionPricingConfigResponse updateRegionPricingConfig(Long id, RegionPricingConfigRequest request) {
         log.info("Updating region pricing config with ID: {}", id);
         
@@ -69,6 +73,7 @@ public class RegionPricingConfigService {
         return mapToResponse(config);
     }
 
+    @CacheEvict(value = {"pricingConfig", "productPrice"}, allEntries = true)
     public void deleteRegionPricingConfig(Long id) {
         log.info("Deleting region pricing config with ID: {}", id);
         
@@ -79,6 +84,7 @@ public class RegionPricingConfigService {
         log.info("Region pricing config deleted successfully");
     }
 
+    @Cacheable(value = "pricingConfig", key = "#region", sync = true)
     @Transactional(readOnly = true)
     public RegionPricingConfigResponse getVatByRegion(String region) {
         log.info("Fetching VAT configuration for region: {}", region);
@@ -0,0 +1,120 @@
+package com.hansaflex.ecommerce.service;
+
+import com.hansaflex.ecommerce.analytics.LiveSalesCounters;
+import com.hansaflex.ecommerce.analytics.SalesColumnStore;
+import com.hansaflex.ecommerce.analytics.SalesDimension;
+import com.hansaflex.ecommerce.dto.LiveSalesResponse;
+import com.hansaflex.ecommerce.dto.SalesAggregateResponse;
+import com.hansaflex.ecommerce.dto.SalesCounterResponse;
+import com.hansaflex.ecommerce.dto.StockLevelResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sales figures for the admin dashboards, answered in memory without touching the database:
+ * historical breakdowns from the sales column store (confirmed orders, live and archived),
+ * live totals and low-stock lists from the incrementally maintained counters
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesAnalyticsService {
+
+    private final SalesColumnStore salesColumnStore;
+    private final LiveSalesCounters liveSalesCounters;
+
+    /**
+     * Sales grouped by region, product, category, day or month, optionally filtered
+     *
+     * @param limit maximum number of groups, 0 for all
+     */
+    public List<SalesAggregateResponse> getSales(String groupBy, String region, String category,
+                                                 LocalDate from, LocalDate to, int limit) {
+        SalesDimension dimension = parseDimension(groupBy);
+        List<SalesColumnStore.SalesAggregate> groups = salesColumnStore.aggregate(dimension,
+                new SalesColumnStore.SalesFilter(region, category, from, to));
+        return groups.stream()
+                .limit(limit > 0 ? limit : Long.MAX_VALUE)
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    public SalesAggregateResponse getTotals(String region, String category, LocalDate from, LocalDate to) {
+        return mapToResponse(salesColumnStore.totals(new SalesColumnStore.SalesFilter(region, category, from, to)));
+    }
+
+    /**
+     * Running totals of every region and the lowest-stock products of each region
+     */
+    public LiveSalesResponse getLiveSales() {
+        Map<String, List<StockLevelResponse>> lowStock = new TreeMap<>();
+        liveSalesCounters.lowStock().forEach((region, levels) -> lowStock.put(region, levels.stream()
+                .map(this::mapToStockLevelResponse)
+                .toList()));
+        return LiveSalesResponse.builder()
+                .regions(liveSalesCounters.regions().stream().map(this::mapToCounterResponse).toList())
+                .lowStock(lowStock)
+                .build();
+    }
+
+    public SalesCounterResponse getLiveRegionSales(String region) {
+        return mapToCounterResponse(liveSalesCounters.region(region));
+    }
+
+    public SalesCounterResponse getLiveProductSales(Long productId) {
+        return mapToCounterResponse(liveSalesCounters.product(productId));
+    }
+
+    public List<StockLevelResponse> getLowStock(String region) {
+        return liveSalesCounters.lowStock(region).stream()
+                .map(this::mapToStockLevelResponse)
+                .toList();
+    }
+
+    private static SalesDimension parseDimension(String groupBy) {
+        try {
+            return SalesDimension.valueOf(groupBy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sales dimension: " + groupBy + " (expected region, product, category, day or month)");
+        }
+    }
+
+    private SalesAggregateResponse mapToResponse(SalesColumnStore.SalesAggregate aggregate) {
+        return SalesAggregateResponse.builder()
+                .key(aggregate.key())
+                .label(aggregate.label())
+                .netRevenue(BigDecimal.valueOf(aggregate.netCents(), 2))
+                .vat(BigDecimal.valueOf(aggregate.vatCents(), 2))
+                .grossRevenue(BigDecimal.valueOf(aggregate.netCents() + aggregate.vatCents(), 2))
+                .units(aggregate.units())
+                .lines(aggregate.lines())
+                .build();
+    }
+
+    private SalesCounterResponse mapToCounterResponse(LiveSalesCounters.SalesCounter counter) {
+        return SalesCounterResponse.builder()
+                .key(counter.key())
+                .orders(counter.orders())
+                .units(counter.units())
+                .netRevenue(BigDecimal.valueOf(counter.netCents(), 2))
+                .vat(BigDecimal.valueOf(counter.vatCents(), 2))
+                .grossRevenue(BigDecimal.valueOf(counter.netCents() + counter.vatCents(), 2))
+                .build();
+    }
+
+    private StockLevelResponse mapToStockLevelResponse(LiveSalesCounters.StockLevel level) {
+        return StockLevelResponse.builder()
+                .productId(level.productId())
+                .name(level.name())
+                .stockQty(level.stockQty())
+                .build();
+    }
+}
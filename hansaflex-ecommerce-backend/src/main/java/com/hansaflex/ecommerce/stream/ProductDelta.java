@@ -0,0 +1,21 @@
+package com.hansaflex.ecommerce.stream;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * Compact change of one product as pushed to catalog stream subscribers. {@code version}
+ * increases with every change on the node that sent it and, with that node's epoch, makes
+ * up the SSE event id; stockQty and price are null when the product was removed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductDelta(long id, Integer stockQty, BigDecimal price, long version,
+                           @JsonIgnore String region) {
+
+    @JsonIgnore
+    public boolean isRemoved() {
+        return stockQty == null;
+    }
+}
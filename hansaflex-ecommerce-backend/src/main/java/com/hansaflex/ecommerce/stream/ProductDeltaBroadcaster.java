@@ -0,0 +1,389 @@
+package com.hansaflex.ecommerce.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hansaflex.ecommerce.config.ProductStreamProperties;
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.service.ProductChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed product writes (stock and price) to catalog clients as server-sent events,
+ * so they can patch their local state instead of polling or clearing the caches.
+ * Subscribers follow one region or all of them. Every subscriber has a bounded queue of
+ * pending products: a newer delta replaces a pending one for the same product, and a
+ * subscriber that falls behind by more than queueCapacity products is dropped to a single
+ * {@code reset} event telling it to reload the catalog. Writers never wait for slow clients;
+ * the sends run on the sender threads.
+ * Writes on other nodes arrive as relayed events (ProductChangeRelay). Versions are per node
+ * and per start, so event ids carry this broadcaster's epoch, and a Last-Event-ID from another
+ * node or an earlier start gets a reset.
+ */
+@Component
+@Slf4j
+@EnableConfigurationProperties(ProductStreamProperties.class)
+public class ProductDeltaBroadcaster {
+
+    static final String ALL_REGIONS = "*";
+    static final String PRODUCT_EVENT = "product";
+    static final String REMOVED_EVENT = "removed";
+    static final String RESET_EVENT = "reset";
+
+    private final ProductStreamProperties properties;
+    private final ObjectWriter writer;
+    private final Executor senders;
+    private final String epoch = UUID.randomUUID().toString();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-stream-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Versions, history and queues change together under the lock, so subscribers see deltas in version order
+    private final Object publishLock = new Object();
+    private long version;
+    private final ArrayDeque<Frame> history = new ArrayDeque<>();
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final Map<Long, String> regionByProduct = new ConcurrentHashMap<>();
+
+    private record Frame(ProductDelta delta, String json) {
+    }
+
+    /**
+     * What a sender writes next: a reset, pending frames, or a heartbeat when frames is empty
+     */
+    private record Batch(boolean reset, List<Frame> frames) {
+
+        static final Batch RESET = new Batch(true, List.of());
+        static final Batch PING = new Batch(false, List.of());
+    }
+
+    @Autowired
+    public ProductDeltaBroadcaster(ProductStreamProperties properties, ObjectMapper objectMapper) {
+        this(properties, objectMapper, Executors.newFixedThreadPool(properties.getSenderThreads(), new SenderThreadFactory()));
+    }
+
+    ProductDeltaBroadcaster(ProductStreamProperties properties, ObjectMapper objectMapper, Executor senders) {
+        this.properties = properties;
+        this.writer = objectMapper.writerFor(ProductDelta.class);
+        this.senders = senders;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = properties.getHeartbeat().toMillis();
+        heartbeat.scheduleWithFixedDelay(this::ping, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream of the deltas of {@code region} (all regions when null). With the id of
+     * the last event a reconnecting client received, the deltas it missed are sent first, or a
+     * reset when they are no longer retained.
+     */
+    public SseEmitter subscribe(String region, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        register(region, lastEventId, emitter);
+        return emitter;
+    }
+
+    void register(String region, String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(topicOf(region), emitter);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+        synchronized (publishLock) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            // Added inside compute, so a concurrent unregister cannot drop the set in between
+            topics.compute(subscriber.topic, (topic, subscribers) -> {
+                Set<Subscriber> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                updated.add(subscriber);
+                return updated;
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            removed(event.productId());
+        } else {
+            saved(event.product());
+        }
+    }
+
+    private void removed(long productId) {
+        // Region unknown when the product was not written since startup: every topic gets the removal
+        publish(productId, null, null, regionByProduct.remove(productId));
+    }
+
+    private void saved(Product product) {
+        String region = topicOf(product.getRegion());
+        String previousRegion = regionByProduct.put(product.getId(), region);
+        if (previousRegion != null && !previousRegion.equals(region)) {
+            publish(product.getId(), null, null, previousRegion);
+        }
+        publish(product.getId(), product.getStockQty(), product.getPrice(), region);
+    }
+
+    /**
+     * Number of open streams
+     */
+    public int subscriberCount() {
+        return topics.values().stream().mapToInt(Set::size).sum();
+    }
+
+    int topicCount() {
+        return topics.size();
+    }
+
+    void publish(long productId, Integer stockQty, BigDecimal price, String region) {
+        synchronized (publishLock) {
+            Frame frame = frame(new ProductDelta(productId, stockQty, price, ++version, region));
+            history.addLast(frame);
+            if (history.size() > properties.getReplaySize()) {
+                history.removeFirst();
+            }
+            if (region == null) {
+                topics.values().forEach(subscribers -> subscribers.forEach(subscriber -> offer(subscriber, frame)));
+                return;
+            }
+            offerAll(topics.get(region), frame);
+            offerAll(topics.get(ALL_REGIONS), frame);
+        }
+    }
+
+    private void replay(Subscriber subscriber, String lastEventId) {
+        long lastVersion = versionOf(lastEventId);
+        long oldestRetained = history.isEmpty() ? version + 1 : history.peekFirst().delta().version();
+        if (lastVersion < 0 || lastVersion < oldestRetained - 1) {
+            subscriber.reset();
+        } else {
+            for (Frame frame : history) {
+                if (frame.delta().version() > lastVersion && subscriber.follows(frame.delta().region())) {
+                    subscriber.enqueue(frame, properties.getQueueCapacity());
+                }
+            }
+        }
+        schedule(subscriber);
+    }
+
+    /**
+     * The version of an event id of this epoch, or -1 for any other id
+     */
+    private long versionOf(String eventId) {
+        String prefix = epoch + "-";
+        if (!eventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventIdOf(ProductDelta delta) {
+        return epoch + "-" + delta.version();
+    }
+
+    private void offerAll(Set<Subscriber> subscribers, Frame frame) {
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> offer(subscriber, frame));
+        }
+    }
+
+    private void offer(Subscriber subscriber, Frame frame) {
+        subscriber.enqueue(frame, properties.getQueueCapacity());
+        schedule(subscriber);
+    }
+
+    private void ping() {
+        topics.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            subscriber.pingRequested = true;
+            schedule(subscriber);
+        }));
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.claimSender()) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                // Sender pool shut down
+                subscriber.releaseSender();
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Batch batch;
+            while ((batch = subscriber.takePending()) != null) {
+                if (batch.reset()) {
+                    subscriber.emitter.send(SseEmitter.event().name(RESET_EVENT).data("{}"));
+                } else if (batch.frames().isEmpty()) {
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                }
+                for (Frame frame : batch.frames()) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(eventIdOf(frame.delta()))
+                            .name(frame.delta().isRemoved() ? REMOVED_EVENT : PRODUCT_EVENT)
+                            .data(frame.json()));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client gone or emitter already completed
+            log.debug("Dropping product stream subscriber: {}", e.getMessage());
+            unregister(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    /**
+     * Removes the subscriber, and its topic once empty: regions are client input, so topics must not accumulate
+     */
+    private void unregister(Subscriber subscriber) {
+        topics.computeIfPresent(subscriber.topic, (topic, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private Frame frame(ProductDelta delta) {
+        try {
+            return new Frame(delta, writer.writeValueAsString(delta));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize product delta " + delta, e);
+        }
+    }
+
+    private static String topicOf(String region) {
+        return region == null || region.isBlank() ? ALL_REGIONS : region.trim().toUpperCase(Locale.ROOT);
+    }
+
+    @PreDestroy
+    public void close() {
+        heartbeat.shutdownNow();
+        if (senders instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+        topics.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        topics.clear();
+    }
+
+    /**
+     * One open stream. Pending frames are keyed by product, so only the newest delta of a
+     * product waits; at most one sender drains a subscriber at a time.
+     */
+    private static final class Subscriber {
+
+        final String topic;
+        final SseEmitter emitter;
+        private final LinkedHashMap<Long, Frame> pending = new LinkedHashMap<>();
+        private boolean overflowed;
+        private boolean sending;
+        volatile boolean pingRequested;
+
+        Subscriber(String topic, SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+        }
+
+        boolean follows(String region) {
+            return region == null || ALL_REGIONS.equals(topic) || topic.equals(region);
+        }
+
+        synchronized void enqueue(Frame frame, int capacity) {
+            if (overflowed) {
+                return;
+            }
+            // Re-inserted at the end, so pending frames stay in version order
+            pending.remove(frame.delta().id());
+            pending.put(frame.delta().id(), frame);
+            if (pending.size() > capacity) {
+                reset();
+            }
+        }
+
+        synchronized void reset() {
+            pending.clear();
+            overflowed = true;
+        }
+
+        synchronized boolean claimSender() {
+            if (sending) {
+                return false;
+            }
+            sending = true;
+            return true;
+        }
+
+        synchronized void releaseSender() {
+            sending = false;
+        }
+
+        /**
+         * The next batch to send, or null (releasing the sender) when there is nothing left
+         */
+        synchronized Batch takePending() {
+            if (overflowed) {
+                overflowed = false;
+                pingRequested = false;
+                return Batch.RESET;
+            }
+            if (!pending.isEmpty()) {
+                List<Frame> frames = new ArrayList<>(pending.values());
+                pending.clear();
+                pingRequested = false;
+                return new Batch(false, frames);
+            }
+            if (pingRequested) {
+                pingRequested = false;
+                return Batch.PING;
+            }
+            sending = false;
+            return null;
+        }
+    }
+
+    private static final class SenderThreadFactory implements java.util.concurrent.ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "product-stream-sender-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
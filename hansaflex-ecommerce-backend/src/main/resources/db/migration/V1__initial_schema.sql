@@ -0,0 +1,74 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update).
+-- Databases that already have these tables are baselined at this version and skip it.
+
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username    VARCHAR(50)  NOT NULL UNIQUE,
+    email       VARCHAR(255) NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    role        ENUM ('ADMIN', 'CUSTOMER') NOT NULL,
+    region      VARCHAR(255),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE region_pricing_config (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    region          VARCHAR(50)   NOT NULL UNIQUE,
+    vat_percentage  NUMERIC(5, 2) NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    updated_at      TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE products (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name         VARCHAR(255)   NOT NULL,
+    description  VARCHAR(1000)  NOT NULL,
+    price        NUMERIC(12, 2) NOT NULL,
+    currency     VARCHAR(3)     NOT NULL,
+    stock_qty    INTEGER        NOT NULL CHECK (stock_qty >= 0),
+    category     VARCHAR(100)   NOT NULL,
+    region       VARCHAR(100)   NOT NULL,
+    image_url    VARCHAR(500),
+    created_at   TIMESTAMP(6)   NOT NULL,
+    updated_at   TIMESTAMP(6)   NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE orders (
+    id                   BIGINT         NOT NULL,
+    customer_id          VARCHAR(255)   NOT NULL,
+    region               VARCHAR(255)   NOT NULL,
+    status               ENUM ('CONFIRMED', 'CREATED', 'FAILED') NOT NULL,
+    total_price          NUMERIC(12, 2) NOT NULL,
+    confirmation_number  VARCHAR(255),
+    contact_name         VARCHAR(255),
+    phone_number         VARCHAR(255),
+    delivery_address     TEXT,
+    created_at           TIMESTAMP(6)   NOT NULL,
+    updated_at           TIMESTAMP(6)   NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE order_items (
+    id              BIGINT         NOT NULL,
+    order_id        BIGINT         NOT NULL,
+    product_id      BIGINT         NOT NULL,
+    quantity        INTEGER        NOT NULL CHECK (quantity >= 1),
+    unit_price      NUMERIC(12, 2) NOT NULL,
+    region          VARCHAR(100)   NOT NULL,
+    vat_percentage  NUMERIC(5, 2)  NOT NULL,
+    vat_amount      NUMERIC(12, 2) NOT NULL,
+    final_price     NUMERIC(12, 2) NOT NULL,
+    created_at      TIMESTAMP(6)   NOT NULL,
+    updated_at      TIMESTAMP(6)   NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders;
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products;
@@ -0,0 +1,21 @@
+-- Databases baselined from ddl-auto may predate the switch of orders/order_items to sequences
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1 INCREMENT BY 50;
+
+-- Catalog filtering by region and category, with price range / price sort
+CREATE INDEX IF NOT EXISTS idx_products_region_category_price ON products (region, category, price);
+
+-- Rows created before ProductService checked for duplicates would fail the unique index below:
+-- every (name, region) keeps its oldest product, later copies get their id appended to the name.
+-- They are renamed rather than deleted, since order items may reference them
+UPDATE products SET name = LEFT(name, 230) || ' (#' || id || ')'
+WHERE id NOT IN (SELECT MIN(id) FROM products GROUP BY name, region);
+
+-- existsByNameAndRegion / findByNameAndRegion; also enforces what ProductService already checks
+CREATE UNIQUE INDEX IF NOT EXISTS ux_products_name_region ON products (name, region);
+
+-- inStock / minStock / maxStock filters within a region
+CREATE INDEX IF NOT EXISTS idx_products_region_stock_qty ON products (region, stock_qty);
+
+-- ProductRepository.hasOrders(productId) needs no extra index: H2 backs the order_items.product_id
+-- foreign key with its own index, and a second one would only slow down order inserts
@@ -0,0 +1,11 @@
+-- Change log for cross-node cache invalidation (JdbcInvalidationTransport).
+-- One row per coalesced batch; nodes poll for ids above the last one they have seen.
+CREATE TABLE IF NOT EXISTS cache_invalidations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    node_id VARCHAR(64) NOT NULL,
+    cache_names VARCHAR(1000) NOT NULL,
+    published_at BIGINT NOT NULL
+);
+
+-- Retention purge
+CREATE INDEX IF NOT EXISTS idx_cache_invalidations_published_at ON cache_invalidations (published_at);
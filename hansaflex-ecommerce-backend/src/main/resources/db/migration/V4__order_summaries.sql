@@ -0,0 +1,27 @@
+-- Read model: one denormalized row per order, written after commit by OrderSummaryProjector.
+-- Customer order lists read this table instead of joining orders and order_items.
+CREATE TABLE IF NOT EXISTS order_summaries (
+    order_id             BIGINT         NOT NULL,
+    customer_id          VARCHAR(255)   NOT NULL,
+    region               VARCHAR(255)   NOT NULL,
+    status               ENUM ('CONFIRMED', 'CREATED', 'FAILED') NOT NULL,
+    total_price          NUMERIC(12, 2) NOT NULL,
+    item_count           INTEGER        NOT NULL,
+    total_quantity       INTEGER        NOT NULL,
+    confirmation_number  VARCHAR(255),
+    created_at           TIMESTAMP(6)   NOT NULL,
+    updated_at           TIMESTAMP(6)   NOT NULL,
+    PRIMARY KEY (order_id)
+);
+
+-- A customer's orders, newest first
+CREATE INDEX IF NOT EXISTS idx_order_summaries_customer_created ON order_summaries (customer_id, created_at DESC);
+
+-- Orders placed before the read model existed
+INSERT INTO order_summaries (order_id, customer_id, region, status, total_price, item_count, total_quantity,
+                             confirmation_number, created_at, updated_at)
+SELECT o.id, o.customer_id, o.region, o.status, o.total_price,
+       COUNT(oi.id), COALESCE(SUM(oi.quantity), 0), o.confirmation_number, o.created_at, o.updated_at
+FROM orders o
+LEFT JOIN order_items oi ON oi.order_id = o.id
+GROUP BY o.id, o.customer_id, o.region, o.status, o.total_price, o.confirmation_number, o.created_at, o.updated_at;
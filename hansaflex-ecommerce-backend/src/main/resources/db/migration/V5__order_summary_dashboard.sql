@@ -0,0 +1,13 @@
+-- Product names for the customer dashboard, one per line (OrderChangedEvent caps the length)
+ALTER TABLE order_summaries ADD COLUMN IF NOT EXISTS product_names VARCHAR(1000);
+
+UPDATE order_summaries s SET product_names = (
+    SELECT LEFT(LISTAGG(DISTINCT p.name, CHAR(10)) WITHIN GROUP (ORDER BY p.name), 1000)
+    FROM order_items oi
+    JOIN products p ON p.id = oi.product_id
+    WHERE oi.order_id = s.order_id
+);
+
+-- Keyset pagination of a customer's orders: (created_at, order_id) descending, ties broken by id
+DROP INDEX IF EXISTS idx_order_summaries_customer_created;
+CREATE INDEX IF NOT EXISTS idx_order_summaries_customer_keyset ON order_summaries (customer_id, created_at DESC, order_id DESC);
@@ -0,0 +1,10 @@
+-- Order lookups on the live orders table (closed orders move to the monthly archive tables, OrderArchiver)
+
+-- OrderRepository.findByCustomerId
+CREATE INDEX IF NOT EXISTS idx_orders_customer_created ON orders (customer_id, created_at);
+
+-- OrderRepository.findByStatus and the archiver's "closed and older than the cutoff" scan
+CREATE INDEX IF NOT EXISTS idx_orders_status_created ON orders (status, created_at);
+
+-- OrderRepository.findByRegion filters on the items' region
+CREATE INDEX IF NOT EXISTS idx_order_items_region ON order_items (region);
@@ -0,0 +1,12 @@
+-- Checkpoints of the live sales counters (LiveSalesCounters), restored at startup.
+-- scope is REGION or PRODUCT; counter_key the region or the product id.
+CREATE TABLE IF NOT EXISTS sales_counters (
+    scope VARCHAR(16) NOT NULL,
+    counter_key VARCHAR(255) NOT NULL,
+    orders BIGINT NOT NULL,
+    units BIGINT NOT NULL,
+    net_cents BIGINT NOT NULL,
+    vat_cents BIGINT NOT NULL,
+    checkpointed_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (scope, counter_key)
+);
@@ -0,0 +1,7 @@
+-- The monthly archive partition (orders_archive_yyyymm) of every archived order, so that a lookup
+-- by id reads one partition instead of all of them (OrderArchiveRepository.findById)
+CREATE TABLE IF NOT EXISTS order_archive_locations (
+    order_id BIGINT NOT NULL,
+    partition_name VARCHAR(64) NOT NULL,
+    PRIMARY KEY (order_id)
+);
@@ -0,0 +1,14 @@
+-- How far sales_counters reach: checkpoints add the confirmed orders created from counted_before
+-- up to their cutoff as deltas and move it forward in the same transaction, whichever node runs
+-- them (LiveCountersFeed). Creation time rather than order id, since every node draws its own
+-- block of ids from orders_seq
+CREATE TABLE IF NOT EXISTS sales_counter_watermark (
+    id INTEGER NOT NULL,
+    counted_before TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- The existing counters were checkpointed from the orders placed so far
+INSERT INTO sales_counter_watermark (id, counted_before, updated_at)
+SELECT 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP;
@@ -0,0 +1,127 @@
+package com.hansaflex.ecommerce.analytics;
+
+import com.hansaflex.ecommerce.analytics.LiveSalesCounters.SalesCounter;
+import com.hansaflex.ecommerce.config.LiveCountersProperties;
+import com.hansaflex.ecommerce.entity.Order;
+import com.hansaflex.ecommerce.entity.OrderItem;
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.enums.OrderStatus;
+import com.hansaflex.ecommerce.repository.SalesCounterRepository;
+import com.hansaflex.ecommerce.service.OrderChangedEvent;
+import com.hansaflex.ecommerce.service.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveCountersFeedTest {
+
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    @Mock
+    private SalesCounterRepository salesCounterRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private OrderLineFeed orderLineFeed;
+
+    private LiveSalesCounters counters;
+    private LiveCountersFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        counters = new LiveSalesCounters(2);
+        feed = new LiveCountersFeed(counters, salesCounterRepository, jdbcTemplate, new LiveCountersProperties(), orderLineFeed);
+        when(salesCounterRepository.checkpoint(any())).thenReturn(WATERMARK);
+        // Another node's order, folded in by the last checkpoint
+        when(salesCounterRepository.findAll(SalesCounterRepository.REGION))
+                .thenReturn(List.of(new SalesCounter("EU", 1, 3, 3000, 570)));
+        feed.checkpoint();
+    }
+
+    @Test
+    void placedOrderThatFails_IsTakenOutAgain() {
+        Order order = order(1L, WATERMARK.plusSeconds(1), OrderStatus.CONFIRMED);
+        feed.onOrderChanged(OrderChangedEvent.placed(order));
+        assertEquals(new SalesCounter("EU", 2, 5, 5000, 950), counters.region("EU"));
+
+        order.setStatus(OrderStatus.FAILED);
+        when(orderLineFeed.storedLinesOf(1L)).thenReturn(OrderLineFeed.linesOf(order));
+        feed.onOrderChanged(OrderChangedEvent.statusChanged(order, OrderStatus.CONFIRMED));
+
+        assertEquals(new SalesCounter("EU", 1, 3, 3000, 570), counters.region("EU"));
+        // Not folded into the totals by a later checkpoint either
+        feed.checkpoint();
+        assertEquals(new SalesCounter("EU", 1, 3, 3000, 570), counters.region("EU"));
+    }
+
+    @Test
+    void otherNodesOrderThatFails_IsOnlyTakenOutOnceInTheTotals() {
+        Order folded = order(2L, WATERMARK.minusSeconds(1), OrderStatus.FAILED);
+        Order unfolded = order(3L, WATERMARK.plusSeconds(1), OrderStatus.FAILED);
+        when(orderLineFeed.storedLinesOf(2L)).thenReturn(OrderLineFeed.linesOf(folded));
+        when(orderLineFeed.storedLinesOf(3L)).thenReturn(OrderLineFeed.linesOf(unfolded));
+
+        feed.onOrderChanged(OrderChangedEvent.statusChanged(unfolded, OrderStatus.CONFIRMED));
+        assertEquals(new SalesCounter("EU", 1, 3, 3000, 570), counters.region("EU"));
+
+        feed.onOrderChanged(OrderChangedEvent.statusChanged(folded, OrderStatus.CONFIRMED));
+        assertEquals(new SalesCounter("EU", 0, 1, 1000, 190), counters.region("EU"));
+    }
+
+    @Test
+    void statusChangeAcrossConfirmed_CorrectsTheTotalsBeforeCommit() {
+        Order order = order(4L, WATERMARK.minusSeconds(1), OrderStatus.FAILED);
+        List<OrderLine> lines = OrderLineFeed.linesOf(order);
+        when(orderLineFeed.storedLinesOf(4L)).thenReturn(lines);
+
+        feed.onOrderStatusChanging(OrderChangedEvent.statusChanged(order, OrderStatus.CONFIRMED));
+        feed.onOrderStatusChanging(OrderChangedEvent.statusChanged(order, OrderStatus.CREATED));
+        feed.onOrderStatusChanging(OrderChangedEvent.placed(order(5L, WATERMARK, OrderStatus.CONFIRMED)));
+
+        verify(salesCounterRepository).addOrder(WATERMARK.minusSeconds(1), "EU", lines, -1);
+        verify(salesCounterRepository, never()).addOrder(any(), any(), any(), eq(1));
+        verify(salesCounterRepository, times(1)).addOrder(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void relayedProductWrites_UpdateTheLowStockList() {
+        Product product = Product.builder().id(7L).name("Hose").region("EU").stockQty(3).build();
+
+        feed.onProductChanged(ProductChangedEvent.relayed(7L, product));
+        assertEquals(List.of(new LiveSalesCounters.StockLevel(7L, "Hose", "EU", 3)), counters.lowStock("EU"));
+
+        feed.onProductChanged(ProductChangedEvent.relayed(7L, null));
+        assertEquals(List.of(), counters.lowStock("EU"));
+    }
+
+    private static Order order(Long id, LocalDateTime createdAt, OrderStatus status) {
+        Product product = Product.builder().id(7L).name("Hose").category("Hoses").build();
+        return Order.builder()
+                .id(id)
+                .region("EU")
+                .status(status)
+                .createdAt(createdAt)
+                .items(List.of(OrderItem.builder()
+                        .region("EU")
+                        .product(product)
+                        .quantity(2)
+                        .unitPrice(new BigDecimal("10.00"))
+                        .vatAmount(new BigDecimal("1.90"))
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.hansaflex.ecommerce.analytics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveSalesCountersTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 5, 1);
+
+    private LiveSalesCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new LiveSalesCounters(2);
+    }
+
+    @Test
+    void recordOrder_CountsRegionAndProducts() {
+        counters.recordOrder("eu", List.of(line(1L, 2, 2000), line(2L, 1, 500), line(1L, 1, 1000)));
+        counters.recordOrder("EU", List.of(line(2L, 3, 1500)));
+
+        assertEquals(new LiveSalesCounters.SalesCounter("EU", 2, 7, 5000, 950), counters.region("EU"));
+        assertEquals(new LiveSalesCounters.SalesCounter("1", 1, 3, 3000, 570), counters.product(1L));
+        assertEquals(new LiveSalesCounters.SalesCounter("2", 2, 4, 2000, 380), counters.product(2L));
+        assertEquals(new LiveSalesCounters.SalesCounter("US", 0, 0, 0, 0), counters.region("US"));
+    }
+
+    @Test
+    void removeOrder_TakesARecordedOrderOutAgain() {
+        counters.recordOrder("EU", List.of(line(1L, 2, 2000)));
+        counters.recordOrder("EU", List.of(line(1L, 1, 1000), line(2L, 1, 500)));
+
+        counters.removeOrder("eu", List.of(line(1L, 1, 1000), line(2L, 1, 500)));
+
+        assertEquals(new LiveSalesCounters.SalesCounter("EU", 1, 2, 2000, 380), counters.region("EU"));
+        assertEquals(new LiveSalesCounters.SalesCounter("1", 1, 2, 2000, 380), counters.product(1L));
+        assertEquals(new LiveSalesCounters.SalesCounter("2", 0, 0, 0, 0), counters.product(2L));
+    }
+
+    @Test
+    void reset_ReplacesCountersWithTotalsPlusUncheckpointedOrders() {
+        counters.recordOrder("EU", List.of(line(1L, 1, 1000)));
+        counters.recordOrder("US", List.of(line(1L, 1, 1000)));
+
+        counters.reset(List.of(new LiveSalesCounters.SalesCounter("EU", 10, 20, 30000, 5700)), List.of(),
+                List.of(Map.entry("EU", List.of(line(1L, 1, 1000)))));
+
+        assertEquals(new LiveSalesCounters.SalesCounter("EU", 11, 21, 31000, 5890), counters.region("EU"));
+        assertEquals(new LiveSalesCounters.SalesCounter("US", 0, 0, 0, 0), counters.region("US"));
+    }
+
+    @Test
+    void lowStock_KeepsLowestProductsPerRegion() {
+        counters.updateStock(1L, "Hose", "EU", 50);
+        counters.updateStock(2L, "Fitting", "EU", 5);
+        counters.updateStock(3L, "Seal", "EU", 20);
+        counters.updateStock(4L, "Filter", "US", 1);
+
+        assertEquals(List.of(2L, 3L), productIds(counters.lowStock("EU")));
+
+        counters.updateStock(1L, "Hose", "EU", 3);
+        assertEquals(List.of(1L, 2L), productIds(counters.lowStock("EU")));
+
+        counters.removeProduct(1L);
+        counters.updateStock(2L, "Fitting", "US", 5);
+        assertEquals(List.of(3L), productIds(counters.lowStock("EU")));
+        assertEquals(List.of(4L, 2L), productIds(counters.lowStock("us")));
+    }
+
+    private static OrderLine line(long productId, int quantity, long netCents) {
+        return new OrderLine("EU", productId, "Product " + productId, "Hoses", TODAY, quantity, netCents, netCents * 19 / 100);
+    }
+
+    private static List<Long> productIds(List<LiveSalesCounters.StockLevel> levels) {
+        return levels.stream().map(LiveSalesCounters.StockLevel::productId).toList();
+    }
+}
@@ -0,0 +1,79 @@
+package com.hansaflex.ecommerce.analytics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesColumnStoreTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(2024, 1, 10);
+    private static final LocalDate FEBRUARY = LocalDate.of(2024, 2, 20);
+
+    private SalesColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new SalesColumnStore();
+        store.append(new OrderLine("EU", 1L, "Hose DN10", "Hoses", JANUARY, 2, 2000, 380));
+        store.append(new OrderLine("EU", 2L, "Fitting M18", "Fittings", FEBRUARY, 10, 3200, 608));
+        store.append(new OrderLine("us", 1L, "Hose DN10", "Hoses", FEBRUARY, 1, 1000, 0));
+    }
+
+    @Test
+    void aggregate_ByRegion_HighestRevenueFirst() {
+        List<SalesColumnStore.SalesAggregate> regions = store.aggregate(SalesDimension.REGION, SalesColumnStore.SalesFilter.NONE);
+
+        assertEquals(List.of(
+                new SalesColumnStore.SalesAggregate("EU", null, 5200, 988, 12, 2),
+                new SalesColumnStore.SalesAggregate("US", null, 1000, 0, 1, 1)), regions);
+    }
+
+    @Test
+    void aggregate_ByProduct_CarriesProductNames() {
+        List<SalesColumnStore.SalesAggregate> products = store.aggregate(SalesDimension.PRODUCT, SalesColumnStore.SalesFilter.NONE);
+
+        assertEquals("2", products.get(0).key());
+        assertEquals("Fitting M18", products.get(0).label());
+        assertEquals(3000, products.get(1).netCents());
+    }
+
+    @Test
+    void aggregate_ByMonth_AppliesFilters() {
+        List<SalesColumnStore.SalesAggregate> months = store.aggregate(SalesDimension.MONTH,
+                new SalesColumnStore.SalesFilter("eu", "Hoses", null, null));
+
+        assertEquals(List.of(new SalesColumnStore.SalesAggregate("2024-01", null, 2000, 380, 2, 1)), months);
+    }
+
+    @Test
+    void reversal_CancelsTheLineOut() {
+        store.append(new OrderLine("us", 1L, "Hose DN10", "Hoses", FEBRUARY, 1, 1000, 0).reversal());
+
+        assertEquals(List.of(new SalesColumnStore.SalesAggregate("EU", null, 5200, 988, 12, 2)),
+                store.aggregate(SalesDimension.REGION, SalesColumnStore.SalesFilter.NONE));
+        assertEquals(2, store.totals(SalesColumnStore.SalesFilter.NONE).lines());
+    }
+
+    @Test
+    void aggregate_UnknownRegion_IsEmpty() {
+        assertTrue(store.aggregate(SalesDimension.CATEGORY, new SalesColumnStore.SalesFilter("APAC", null, null, null)).isEmpty());
+    }
+
+    @Test
+    void totals_SpanSegmentsAndDateRange() {
+        for (int i = 0; i < SalesColumnStore.SEGMENT_SIZE; i++) {
+            store.append(new OrderLine("EU", 3L, "Seal", "Seals", FEBRUARY.plusDays(i % 5), 1, 100, 19));
+        }
+
+        SalesColumnStore.SalesAggregate all = store.totals(SalesColumnStore.SalesFilter.NONE);
+        SalesColumnStore.SalesAggregate february = store.totals(new SalesColumnStore.SalesFilter(null, null, FEBRUARY, FEBRUARY));
+
+        assertEquals(SalesColumnStore.SEGMENT_SIZE + 3L, all.lines());
+        assertEquals(6200 + 100L * SalesColumnStore.SEGMENT_SIZE, all.netCents());
+        assertEquals(2 + (SalesColumnStore.SEGMENT_SIZE + 4) / 5, february.lines());
+    }
+}
@@ -0,0 +1,102 @@
+package com.hansaflex.ecommerce.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hansaflex.ecommerce.dto.ApiResponse;
+import com.hansaflex.ecommerce.dto.PriceResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and serializing the response envelope around a small payload (a price), which is
+ * where the envelope's share of the cost is largest. legacy is the old envelope (LocalDateTime.now()
+ * formatted per response, bean serializer); lean is ApiResponse with the coarse clock and its own
+ * serializer; envelopeless is X-Response-Envelope: none. Run with the GC profiler for bytes per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiResponseBenchmark.class);
+
+    @Param({"legacy", "lean", "envelopeless"})
+    private String envelope;
+
+    private ObjectWriter writer;
+    private PriceResponse price;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+        price = PriceResponse.builder()
+                .productId(42L)
+                .productName("Hydraulic Hose 2SN DN10")
+                .region("EU")
+                .basePrice(new BigDecimal("42.50"))
+                .vatPercentage(new BigDecimal("19.00"))
+                .vatAmount(new BigDecimal("8.08"))
+                .finalPrice(new BigDecimal("50.58"))
+                .build();
+        log.info("{}: {} bytes", envelope, serializeOnce().length);
+    }
+
+    @Benchmark
+    public byte[] respond() {
+        return serializeOnce();
+    }
+
+    private byte[] serializeOnce() {
+        try {
+            return switch (envelope) {
+                case "legacy" -> writer.writeValueAsBytes(LegacyApiResponse.success(price));
+                case "lean" -> writer.writeValueAsBytes(ApiResponse.success(price));
+                default -> writer.writeValueAsBytes(price);
+            };
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The envelope as it was: default bean serializer, timestamp formatted per response
+     */
+    @Data
+    @AllArgsConstructor
+    public static class LegacyApiResponse<T> {
+        private boolean success;
+        private String message;
+        private T data;
+        private String timestamp;
+
+        static <T> LegacyApiResponse<T> success(T data) {
+            return new LegacyApiResponse<>(true, "Operation completed successfully", data, LocalDateTime.now().toString());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ApiResponseBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.hansaflex.ecommerce.benchmark;
+
+import com.hansaflex.ecommerce.config.ProductFilterKeyGenerator;
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import com.hansaflex.ecommerce.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog cache key cost: the old "#filterRequest.toString()" key against ProductFilterKeyGenerator.
+ * keyGeneration measures building a key; lookup builds a key and probes a populated map the way
+ * the cache does. Run with the GC profiler: gc.alloc.rate.norm is the bytes allocated per key,
+ * which for both variants is also what a cache entry's key retains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+    @Param({"toString", "keyGenerator"})
+    private String strategy;
+
+    private ProductFilterRequest filter;
+    private ProductFilterKeyGenerator keyGenerator;
+    private Method method;
+    private final ConcurrentHashMap<Object, Object> cache = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        filter = ProductFilterRequest.builder()
+                .region("EU")
+                .categories(List.of("Hoses", "Fittings"))
+                .minPrice(new BigDecimal("10.00"))
+                .maxPrice(new BigDecimal("500.00"))
+                .inStock(true)
+                .page(2)
+                .sortBy("price")
+                .build();
+        keyGenerator = new ProductFilterKeyGenerator(true);
+        method = ProductService.class.getMethod("getAllProducts", ProductFilterRequest.class);
+
+        for (int page = 0; page < 1000; page++) {
+            filter.setPage(page);
+            cache.put(key(), Boolean.TRUE);
+        }
+        filter.setPage(2);
+    }
+
+    @Benchmark
+    public Object keyGeneration() {
+        return key();
+    }
+
+    @Benchmark
+    public Object lookup() {
+        return cache.get(key());
+    }
+
+    private Object key() {
+        return "toString".equals(strategy) ? filter.toString() : keyGenerator.generate(null, method, filter);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheKeyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,141 @@
+package com.hansaflex.ecommerce.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hansaflex.ecommerce.config.DtoWriters;
+import com.hansaflex.ecommerce.config.JacksonConfig;
+import com.hansaflex.ecommerce.config.WireFormat;
+import com.hansaflex.ecommerce.dto.OrderResponse;
+import com.hansaflex.ecommerce.dto.OrderResponseWrapper;
+import com.hansaflex.ecommerce.dto.PriceResponse;
+import com.hansaflex.ecommerce.dto.ProductResponse;
+import com.hansaflex.ecommerce.enums.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of each response DTO. baseline is Boot's default mapper called through
+ * writeValueAsBytes (root serializer looked up per call, reflective accessors); tuned adds
+ * JacksonConfig's module (plain BigDecimals) and writes through the shared DtoWriters writer.
+ * Run with the GC profiler for bytes allocated per DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    @Param({"product", "price", "order", "wrapper"})
+    private String dto;
+
+    @Param({"baseline", "tuned"})
+    private String mode;
+
+    private Object value;
+    private ObjectMapper baselineMapper;
+    private ObjectWriter tunedWriter;
+
+    @Setup
+    public void setUp() {
+        value = switch (dto) {
+            case "product" -> product();
+            case "price" -> price();
+            case "order" -> order();
+            default -> OrderResponseWrapper.builder().orders(List.of(order(), order(), order())).build();
+        };
+        baselineMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        ObjectMapper tunedMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(jacksonConfig.plainBigDecimalModule())
+                .build();
+        DtoWriters dtoWriters = new DtoWriters(Map.of(WireFormat.JSON, tunedMapper));
+        dtoWriters.warmUp();
+        tunedWriter = dtoWriters.writerFor(WireFormat.JSON, value.getClass());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return "baseline".equals(mode)
+                ? baselineMapper.writeValueAsBytes(value)
+                : tunedWriter.writeValueAsBytes(value);
+    }
+
+    private static ProductResponse product() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        return ProductResponse.builder()
+                .id(42L)
+                .name("Hydraulic Hose 2SN DN10")
+                .description("Two-wire braided high pressure hose for mobile hydraulics")
+                .price(new BigDecimal("42.50"))
+                .currency("EUR")
+                .stockQty(120)
+                .category("Hoses")
+                .region("EU")
+                .imageUrl("https://cdn.example.com/products/42.jpg")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private static PriceResponse price() {
+        return PriceResponse.builder()
+                .productId(42L)
+                .productName("Hydraulic Hose 2SN DN10")
+                .region("EU")
+                .basePrice(new BigDecimal("42.50"))
+                .vatPercentage(new BigDecimal("19.00"))
+                .vatAmount(new BigDecimal("8.08"))
+                .finalPrice(new BigDecimal("50.58"))
+                .build();
+    }
+
+    private static OrderResponse order() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        OrderResponse.OrderItemResponse item = OrderResponse.OrderItemResponse.builder()
+                .productId(42L)
+                .productName("Hydraulic Hose 2SN DN10")
+                .quantity(4)
+                .unitPrice(new BigDecimal("42.50"))
+                .region("EU")
+                .vatPercentage(new BigDecimal("19.00"))
+                .vatAmount(new BigDecimal("32.30"))
+                .finalPrice(new BigDecimal("202.30"))
+                .build();
+        return OrderResponse.builder()
+                .orderId(1001L)
+                .status(OrderStatus.CONFIRMED)
+                .totalPrice(new BigDecimal("606.90"))
+                .confirmationNumber("SAP123456")
+                .contactName("Max Mustermann")
+                .phoneNumber("+49 421 48907-0")
+                .deliveryAddress("Boschstrasse 7, 28279 Bremen")
+                .items(List.of(item, item, item))
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DtoSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,137 @@
+package com.hansaflex.ecommerce.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.hansaflex.ecommerce.entity.Order;
+import com.hansaflex.ecommerce.entity.OrderItem;
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.enums.OrderStatus;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order persistence throughput (orders/s) for orders with 1, 10 and 100 lines.
+ * writePath=identity reproduces the old write path: IDENTITY ids (overridden by
+ * benchmark/identity-ids.orm.xml) and no batching, so every order and item is its own INSERT
+ * round-trip; writePath=batched is the pooled-lo sequences with the batch size from application.yml.
+ *
+ * Run its main method from the IDE, or with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *        com.hansaflex.ecommerce.benchmark.OrderInsertBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int lines;
+
+    @Param({"identity", "batched"})
+    private String writePath;
+
+    private SessionFactory sessionFactory;
+    private Long productId;
+
+    @Setup
+    public void setUp() {
+        // Logback defaults to DEBUG without a config file, which would dominate the measurement
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        boolean batched = "batched".equals(writePath);
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(Product.class)
+                .addAnnotatedClass(Order.class)
+                .addAnnotatedClass(OrderItem.class);
+        if (!batched) {
+            configuration.addResource("benchmark/identity-ids.orm.xml");
+        }
+        sessionFactory = configuration
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:mem:order_insert_" + lines + "_" + writePath + ";DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_VALIDATION_MODE, "none")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, batched ? "50" : "0")
+                .setProperty(AvailableSettings.ORDER_INSERTS, String.valueOf(batched))
+                .setProperty(AvailableSettings.ORDER_UPDATES, String.valueOf(batched))
+                .setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+                .buildSessionFactory();
+
+        try (Session session = sessionFactory.openSession()) {
+            Transaction tx = session.beginTransaction();
+            Product product = Product.builder()
+                    .name("Hydraulic Hose 2SN DN10")
+                    .description("Benchmark product")
+                    .price(new BigDecimal("42.50"))
+                    .currency("EUR")
+                    .stockQty(Integer.MAX_VALUE)
+                    .category("Hoses")
+                    .region("EU")
+                    .build();
+            session.persist(product);
+            tx.commit();
+            productId = product.getId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Long insertOrder() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction tx = session.beginTransaction();
+            Product product = session.getReference(Product.class, productId);
+
+            Order order = Order.builder()
+                    .customerId("benchmark")
+                    .region("EU")
+                    .status(OrderStatus.CONFIRMED)
+                    .totalPrice(BigDecimal.ZERO)
+                    .items(new ArrayList<>(lines))
+                    .build();
+
+            for (int i = 0; i < lines; i++) {
+                order.getItems().add(OrderItem.builder()
+                        .order(order)
+                        .product(product)
+                        .quantity(1)
+                        .unitPrice(new BigDecimal("42.50"))
+                        .region("EU")
+                        .vatPercentage(new BigDecimal("19.00"))
+                        .vatAmount(new BigDecimal("8.08"))
+                        .finalPrice(new BigDecimal("50.58"))
+                        .build());
+            }
+
+            session.persist(order);
+            tx.commit();
+            return order.getId();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,128 @@
+package com.hansaflex.ecommerce.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.search.ProductSearchIndex;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of a name search over 100k products: the old catalog path
+ * (LIKE '%term%' page query plus COUNT on H2) against the in-memory search index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    private static final String[] REGIONS = {"EU", "US", "APAC"};
+    private static final String[] CATEGORIES = {"Hoses", "Fittings", "Couplers", "Filters", "Seals"};
+    private static final String[] NAMES = {"Hydraulic Hose", "Hose Fitting", "Quick Coupler", "Return Filter", "O-Ring Seal"};
+    private static final String[] SPECS = {"2SN", "4SP", "R2AT", "1SN", "4SH"};
+
+    @Param({"100000"})
+    private int products;
+
+    @Param({"hose", "dn16"})
+    private String query;
+
+    private Connection connection;
+    private PreparedStatement likePage;
+    private PreparedStatement likeCount;
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() throws SQLException {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        String url = "jdbc:h2:mem:product_search_" + products + ";DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+        connection = DriverManager.getConnection(url, "sa", "");
+
+        List<Product> catalog = new ArrayList<>(products);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO products (id, name, description, price, currency, stock_qty, category, region, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, 'EUR', 10, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)")) {
+            for (int i = 0; i < products; i++) {
+                Product product = Product.builder()
+                        .id((long) i + 1)
+                        .name(NAMES[i % NAMES.length] + " " + SPECS[i % SPECS.length] + "-DN" + (4 + i % 48) + " #" + i)
+                        .description("Rated for " + (100 + i % 400) + " bar, " + CATEGORIES[i % CATEGORIES.length].toLowerCase() + " for mobile hydraulics")
+                        .price(BigDecimal.valueOf(10 + i % 500))
+                        .category(CATEGORIES[i % CATEGORIES.length])
+                        .region(REGIONS[i % REGIONS.length])
+                        .build();
+                catalog.add(product);
+                insert.setLong(1, product.getId());
+                insert.setString(2, product.getName());
+                insert.setString(3, product.getDescription());
+                insert.setBigDecimal(4, product.getPrice());
+                insert.setString(5, product.getCategory());
+                insert.setString(6, product.getRegion());
+                insert.addBatch();
+                if (i % 5000 == 4999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        likePage = connection.prepareStatement(
+                "SELECT id, name, price FROM products WHERE LOWER(name) LIKE LOWER(CONCAT('%', ?, '%')) ORDER BY name OFFSET 0 ROWS FETCH NEXT 10 ROWS ONLY");
+        likeCount = connection.prepareStatement(
+                "SELECT COUNT(*) FROM products WHERE LOWER(name) LIKE LOWER(CONCAT('%', ?, '%'))");
+
+        index = new ProductSearchIndex();
+        index.rebuild(catalog);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long likeQuery() throws SQLException {
+        long checksum = 0;
+        likePage.setString(1, query);
+        try (ResultSet rows = likePage.executeQuery()) {
+            while (rows.next()) {
+                checksum += rows.getLong(1);
+            }
+        }
+        likeCount.setString(1, query);
+        try (ResultSet count = likeCount.executeQuery()) {
+            count.next();
+            return checksum + count.getLong(1);
+        }
+    }
+
+    @Benchmark
+    public ProductSearchIndex.SearchResult searchIndex() {
+        return index.search(query, null, 0, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
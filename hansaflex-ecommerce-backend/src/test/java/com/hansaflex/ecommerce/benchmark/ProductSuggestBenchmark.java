@@ -0,0 +1,68 @@
+package com.hansaflex.ecommerce.benchmark;
+
+import com.hansaflex.ecommerce.dto.SuggestionResponse;
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.search.ProductSuggester;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-8 typeahead latency over 100k products, from a one-letter prefix (largest subtree)
+ * to a nearly complete product name, with and without region scoping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSuggestBenchmark {
+
+    private static final String[] REGIONS = {"EU", "US", "APAC"};
+    private static final String[] CATEGORIES = {"Hoses", "Fittings", "Couplers", "Filters", "Seals"};
+    private static final String[] NAMES = {"Hydraulic Hose", "Hose Fitting", "Quick Coupler", "Return Filter", "O-Ring Seal"};
+    private static final String[] SPECS = {"2SN", "4SP", "R2AT", "1SN", "4SH"};
+
+    @Param({"100000"})
+    private int products;
+
+    @Param({"h", "hydraulic hose 2sn dn1", "dn1"})
+    private String prefix;
+
+    @Param({"", "EU"})
+    private String region;
+
+    private ProductSuggester suggester;
+
+    @Setup
+    public void setUp() {
+        List<Product> catalog = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            catalog.add(Product.builder()
+                    .id((long) i + 1)
+                    .name(NAMES[i % NAMES.length] + " " + SPECS[i % SPECS.length] + " DN" + (4 + i % 48) + " #" + i)
+                    .category(CATEGORIES[i % CATEGORIES.length])
+                    .region(REGIONS[i % REGIONS.length])
+                    .build());
+        }
+        suggester = new ProductSuggester();
+        suggester.rebuild(catalog);
+    }
+
+    @Benchmark
+    public List<SuggestionResponse> suggest() {
+        return suggester.suggest(prefix, region.isEmpty() ? null : region, 8);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductSuggestBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
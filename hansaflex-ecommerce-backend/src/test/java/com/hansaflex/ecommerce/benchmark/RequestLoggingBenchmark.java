@@ -0,0 +1,115 @@
+package com.hansaflex.ecommerce.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import com.hansaflex.ecommerce.monitoring.RequestLogSampler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one catalog request (controller line plus service line) on
+ * concurrent request threads. appender=sync, sampleRate=1 is the old setup;
+ * appender=async, sampleRate=100 matches the default (non-dev) configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    @Param({"1", "100"})
+    private int sampleRate;
+
+    private Logger controllerLog;
+    private Logger serviceLog;
+    private RequestLogSampler sampler;
+    private File logFile;
+    private LoggerContext context;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        logFile = File.createTempFile("request-logging", ".log");
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.getAbsolutePath());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> target = file;
+        if ("async".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(8192 / 5);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            target = async;
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(target);
+
+        controllerLog = context.getLogger("com.hansaflex.ecommerce.controller.CatalogController");
+        serviceLog = context.getLogger("com.hansaflex.ecommerce.service.ProductService");
+        sampler = new RequestLogSampler(sampleRate);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public ProductFilterRequest catalogRequest() {
+        ProductFilterRequest filterRequest = ProductFilterRequest.builder()
+                .region("EU")
+                .categories(List.of("Hoses", "Fittings"))
+                .minPrice(new BigDecimal("10.00"))
+                .maxPrice(new BigDecimal("500.00"))
+                .inStock(true)
+                .build();
+
+        sampler.info(controllerLog, "Customer fetching products with enhanced pagination and filtering: {}", filterRequest);
+        sampler.info(serviceLog, "Fetching products with filters: {}", filterRequest);
+        return filterRequest;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RequestLoggingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,145 @@
+package com.hansaflex.ecommerce.benchmark;
+
+import com.hansaflex.ecommerce.analytics.OrderLine;
+import com.hansaflex.ecommerce.analytics.SalesColumnStore;
+import com.hansaflex.ecommerce.analytics.SalesDimension;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard aggregations over the same order lines held in the sales column store and in an
+ * H2 file database (as the application runs it) answered with GROUP BY. The H2 table is
+ * already flat (no joins to orders and products) and indexed on the filter columns, so it is
+ * the best case for SQL. 10M lines do not fit an in-memory H2 database in a 4 GB heap.
+ *
+ * query=region: revenue, VAT and units per region over all lines
+ * query=month: the same per month
+ * query=filtered: per category, for one region and one quarter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class SalesAnalyticsBenchmark {
+
+    private static final String[] REGIONS = {"EU", "US", "APAC"};
+    private static final String[] CATEGORIES = {"Hoses", "Fittings", "Couplers", "Filters", "Seals"};
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+    private static final LocalDate QUARTER_START = LocalDate.of(2024, 4, 1);
+    private static final LocalDate QUARTER_END = LocalDate.of(2024, 6, 30);
+
+    @Param({"10000000"})
+    private int lines;
+
+    @Param({"region", "month", "filtered"})
+    private String query;
+
+    private SalesColumnStore store;
+    private Path databaseDirectory;
+    private Connection connection;
+    private PreparedStatement sql;
+    private long invocation;
+
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        store = new SalesColumnStore();
+        for (int i = 0; i < lines; i++) {
+            int product = (int) ((i * 7919L) % 2000);
+            int quantity = 1 + i % 10;
+            long net = quantity * (500L + product * 3L);
+            store.append(new OrderLine(REGIONS[i % 3], product, "Product " + product, CATEGORIES[product % 5],
+                    FIRST_DAY.plusDays(i % 730), quantity, net, net * 19 / 100));
+        }
+
+        databaseDirectory = Files.createTempDirectory("sales-analytics");
+        // 1 GB page cache (in KB), so the table is served from memory once read
+        connection = DriverManager.getConnection("jdbc:h2:file:" + databaseDirectory.resolve("db") + ";CACHE_SIZE=1048576", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE sales_lines (region VARCHAR(16), product_id BIGINT, category VARCHAR(64), " +
+                    "sold_on DATE, quantity INT, net_cents BIGINT, vat_cents BIGINT)");
+            // In chunks, so no single transaction has to hold millions of uncommitted rows
+            for (int from = 0; from < lines; from += 1_000_000) {
+                statement.execute("INSERT INTO sales_lines SELECT " +
+                        "CASE MOD(X, 3) WHEN 0 THEN 'EU' WHEN 1 THEN 'US' ELSE 'APAC' END, " +
+                        "MOD(X * 7919, 2000), " +
+                        "CASE MOD(MOD(X * 7919, 2000), 5) WHEN 0 THEN 'Hoses' WHEN 1 THEN 'Fittings' WHEN 2 THEN 'Couplers' WHEN 3 THEN 'Filters' ELSE 'Seals' END, " +
+                        "DATEADD(DAY, MOD(X, 730), DATE '2023-01-01'), " +
+                        "1 + MOD(X, 10), " +
+                        "(1 + MOD(X, 10)) * (500 + MOD(X * 7919, 2000) * 3), " +
+                        "(1 + MOD(X, 10)) * (500 + MOD(X * 7919, 2000) * 3) * 19 / 100 " +
+                        "FROM SYSTEM_RANGE(" + from + ", " + (Math.min(from + 1_000_000, lines) - 1) + ")");
+            }
+            statement.execute("CREATE INDEX idx_sales_lines_region_sold_on ON sales_lines (region, sold_on)");
+            statement.execute("ANALYZE");
+        }
+        sql = connection.prepareStatement(switch (query) {
+            case "region" -> "SELECT region, SUM(net_cents), SUM(vat_cents), SUM(quantity), COUNT(*) " +
+                    "FROM sales_lines WHERE net_cents > ? GROUP BY region ORDER BY SUM(net_cents) DESC";
+            case "month" -> "SELECT FORMATDATETIME(sold_on, 'yyyy-MM') m, SUM(net_cents), SUM(vat_cents), SUM(quantity), COUNT(*) " +
+                    "FROM sales_lines WHERE net_cents > ? GROUP BY m ORDER BY m";
+            default -> "SELECT category, SUM(net_cents), SUM(vat_cents), SUM(quantity), COUNT(*) FROM sales_lines " +
+                    "WHERE region = 'EU' AND sold_on BETWEEN DATE '2024-04-01' AND DATE '2024-06-30' AND net_cents > ? " +
+                    "GROUP BY category ORDER BY SUM(net_cents) DESC";
+        });
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        connection.close();
+        try (var files = Files.walk(databaseDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<SalesColumnStore.SalesAggregate> columnStore() {
+        return switch (query) {
+            case "region" -> store.aggregate(SalesDimension.REGION, SalesColumnStore.SalesFilter.NONE);
+            case "month" -> store.aggregate(SalesDimension.MONTH, SalesColumnStore.SalesFilter.NONE);
+            default -> store.aggregate(SalesDimension.CATEGORY,
+                    new SalesColumnStore.SalesFilter("EU", null, QUARTER_START, QUARTER_END));
+        };
+    }
+
+    @Benchmark
+    public void h2GroupBy(Blackhole blackhole) throws SQLException {
+        // net_cents is never negative; alternating the bound keeps H2 from returning its cached previous result
+        sql.setLong(1, -1 - (invocation++ & 1));
+        try (ResultSet resultSet = sql.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getString(1));
+                blackhole.consume(resultSet.getLong(2));
+                blackhole.consume(resultSet.getLong(3));
+                blackhole.consume(resultSet.getLong(4));
+                blackhole.consume(resultSet.getLong(5));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SalesAnalyticsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
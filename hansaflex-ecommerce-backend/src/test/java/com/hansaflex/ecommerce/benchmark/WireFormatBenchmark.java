@@ -0,0 +1,142 @@
+package com.hansaflex.ecommerce.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hansaflex.ecommerce.config.WireFormat;
+import com.hansaflex.ecommerce.dto.ApiResponse;
+import com.hansaflex.ecommerce.dto.OrderResponse;
+import com.hansaflex.ecommerce.dto.ProductResponse;
+import com.hansaflex.ecommerce.enums.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time per response for JSON against CBOR and Smile, with mappers built the
+ * way WireFormatConfig builds them. catalog is /api/catalog/all with 1000 products; orders is
+ * an order history of 50 orders with 5 lines each. The encoded size of each payload is printed
+ * at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(WireFormatBenchmark.class);
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private WireFormat format;
+
+    @Param({"catalog", "orders"})
+    private String payload;
+
+    private ObjectMapper mapper;
+    private Object response;
+    private JavaType responseType;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        // As Boot's builder: dates as ISO strings
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper = switch (format) {
+            case JSON -> builder.build();
+            case CBOR -> builder.factory(new CBORFactory()).build();
+            case SMILE -> builder.factory(new SmileFactory()).build();
+        };
+
+        Class<?> element = "catalog".equals(payload) ? ProductResponse.class : OrderResponse.class;
+        response = ApiResponse.success("catalog".equals(payload) ? catalog() : orders());
+        responseType = mapper.getTypeFactory().constructParametricType(ApiResponse.class,
+                mapper.getTypeFactory().constructCollectionType(List.class, element));
+        encoded = mapper.writeValueAsBytes(response);
+        log.info("{} {}: {} bytes", payload, format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return mapper.readValue(encoded, responseType);
+    }
+
+    private static List<ProductResponse> catalog() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductResponse> products = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            products.add(ProductResponse.builder()
+                    .id((long) i)
+                    .name("Hydraulic Hose 2SN DN" + (6 + i % 20))
+                    .description("Two-wire braided hydraulic hose for high pressure lines")
+                    .price(BigDecimal.valueOf(1000 + i * 7L, 2))
+                    .currency("EUR")
+                    .stockQty(i % 100)
+                    .category(i % 2 == 0 ? "Hoses" : "Fittings")
+                    .region("EU")
+                    .createdAt(now.minusDays(i))
+                    .updatedAt(now)
+                    .build());
+        }
+        return products;
+    }
+
+    private static List<OrderResponse> orders() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderResponse> orders = new ArrayList<>(50);
+        for (int i = 0; i < 50; i++) {
+            List<OrderResponse.OrderItemResponse> items = new ArrayList<>(5);
+            for (int j = 0; j < 5; j++) {
+                items.add(OrderResponse.OrderItemResponse.builder()
+                        .productId((long) j)
+                        .productName("Hydraulic Hose 2SN DN" + (6 + j))
+                        .quantity(1 + j)
+                        .unitPrice(new BigDecimal("42.50"))
+                        .region("EU")
+                        .vatPercentage(new BigDecimal("19.00"))
+                        .vatAmount(new BigDecimal("8.08"))
+                        .finalPrice(new BigDecimal("50.58"))
+                        .build());
+            }
+            orders.add(OrderResponse.builder()
+                    .orderId((long) i)
+                    .status(OrderStatus.CONFIRMED)
+                    .totalPrice(new BigDecimal("758.70"))
+                    .confirmationNumber("SAP" + (100000 + i))
+                    .contactName("Jane Doe")
+                    .phoneNumber("+49 40 123456")
+                    .deliveryAddress("Hafenstrasse 1, 20457 Hamburg")
+                    .items(items)
+                    .createdAt(now.minusHours(i))
+                    .updatedAt(now)
+                    .build());
+        }
+        return orders;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
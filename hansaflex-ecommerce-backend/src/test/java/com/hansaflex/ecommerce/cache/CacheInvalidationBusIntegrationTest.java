@@ -0,0 +1,188 @@
+package com.hansaflex.ecommerce.cache;
+
+import com.hansaflex.ecommerce.config.CacheConfig;
+import com.hansaflex.ecommerce.config.CacheInvalidationConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts ("nodes") with their own caches on one shared database,
+ * as behind the load balancer. Measures how long node B keeps serving an entry that
+ * node A has evicted.
+ */
+class CacheInvalidationBusIntegrationTest {
+
+    private static final String URL = "jdbc:h2:mem:cache_invalidation;DB_CLOSE_DELAY=-1";
+    private static final long MAX_STALENESS_MS = 2000;
+
+    private AnnotationConfigApplicationContext nodeA;
+    private AnnotationConfigApplicationContext nodeB;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+    }
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void evictionOnOneNode_ClearsTheOtherNodeWithinPollInterval() throws InterruptedException {
+        Cache productsA = nodeA.getBean(CacheManager.class).getCache("products");
+        Cache productsB = nodeB.getBean(CacheManager.class).getCache("products");
+        productsA.put("all_products", "v1");
+        productsB.put("all_products", "v1");
+
+        productsA.clear();
+
+        long staleMillis = awaitEvicted(productsB, "all_products");
+        assertTrue(staleMillis < MAX_STALENESS_MS, () -> "Node B served the evicted entry for " + staleMillis + " ms");
+        assertNull(productsA.get("all_products"));
+        assertEquals(1, nodeB.getBean(MeterRegistry.class).get("cache.invalidation.lag").timer().count());
+    }
+
+    @Test
+    void burstOfEvictions_IsCoalescedIntoOneBatch() throws InterruptedException {
+        CacheManager cacheManagerA = nodeA.getBean(CacheManager.class);
+        Cache productsB = nodeB.getBean(CacheManager.class).getCache("products");
+        Cache facetsB = nodeB.getBean(CacheManager.class).getCache("productFacets");
+        productsB.put("all_products", "v1");
+        facetsB.put("EU", "v1");
+
+        for (int i = 0; i < 50; i++) {
+            cacheManagerA.getCache("products").clear();
+            cacheManagerA.getCache("productFacets").clear();
+        }
+        awaitEvicted(productsB, "all_products");
+        awaitEvicted(facetsB, "EU");
+
+        Integer rows = new JdbcTemplate(nodeA.getBean(DataSource.class))
+                .queryForObject("SELECT COUNT(*) FROM cache_invalidations WHERE node_id = 'node-a'", Integer.class);
+        assertTrue(rows <= 2, () -> "Expected at most 2 batches, got " + rows);
+    }
+
+    @Test
+    void remoteInvalidation_IsNotBroadcastBack() throws InterruptedException {
+        Cache productsA = nodeA.getBean(CacheManager.class).getCache("products");
+        Cache productsB = nodeB.getBean(CacheManager.class).getCache("products");
+        productsB.put("all_products", "v1");
+
+        productsA.clear();
+        awaitEvicted(productsB, "all_products");
+        productsA.put("all_products", "v2");
+        Thread.sleep(1000);
+
+        assertEquals("v2", productsA.get("all_products").get());
+    }
+
+    @Test
+    void channelMessages_ReachTheListenersOfOtherNodesOnly() throws InterruptedException {
+        CacheInvalidationBus busA = ((BroadcastingCacheManager) nodeA.getBean(CacheManager.class)).getBus();
+        CacheInvalidationBus busB = ((BroadcastingCacheManager) nodeB.getBean(CacheManager.class)).getBus();
+        List<String> receivedA = new CopyOnWriteArrayList<>();
+        List<String> receivedB = new CopyOnWriteArrayList<>();
+        busA.subscribe("product-deltas", receivedA::addAll);
+        busB.subscribe("product-deltas", receivedB::addAll);
+
+        for (int id = 0; id < 300; id++) {
+            busA.publish("product-deltas", Integer.toString(id));
+        }
+        busA.publish("product-deltas", "0");
+
+        long start = System.nanoTime();
+        while (receivedB.size() < 300) {
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10), "Only " + receivedB.size() + " keys arrived");
+            Thread.sleep(5);
+        }
+        assertEquals(300, Set.copyOf(receivedB).size());
+        assertTrue(receivedA.isEmpty());
+    }
+
+    @Test
+    void rowCommittedAfterAHigherId_IsStillDeliveredOnce() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(nodeA.getBean(DataSource.class));
+        List<CacheInvalidation> received = new CopyOnWriteArrayList<>();
+        JdbcInvalidationTransport transport = new JdbcInvalidationTransport(jdbcTemplate, Duration.ofHours(1), Duration.ofHours(1));
+        transport.start("node-c", System.currentTimeMillis(), received::add);
+        try {
+            String insert = "INSERT INTO cache_invalidations (id, node_id, cache_names, published_at) VALUES (?, 'node-d', ?, ?)";
+            jdbcTemplate.update(insert, 1_000_002L, "products", System.currentTimeMillis());
+            transport.poll();
+            // Took its id first, but its transaction committed after the poll above
+            jdbcTemplate.update(insert, 1_000_001L, "productFacets", System.currentTimeMillis());
+            transport.poll();
+            transport.poll();
+
+            assertEquals(List.of(Set.of("products"), Set.of("productFacets")),
+                    received.stream().map(CacheInvalidation::cacheNames).toList());
+        } finally {
+            transport.close();
+        }
+    }
+
+    private static long awaitEvicted(Cache cache, String key) throws InterruptedException {
+        long start = System.nanoTime();
+        while (cache.get(key) != null) {
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10), "Entry was never evicted");
+            Thread.sleep(5);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static AnnotationConfigApplicationContext startNode(String nodeId) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("node", Map.of(
+                "caches.invalidation.node-id", nodeId,
+                "caches.invalidation.flush-interval", "50ms",
+                "caches.invalidation.jdbc.poll-interval", "100ms")));
+        context.register(SharedDatabase.class, CacheConfig.class, CacheInvalidationConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    @Configuration
+    static class SharedDatabase {
+
+        @Bean
+        DataSource dataSource() {
+            return new DriverManagerDataSource(URL, "sa", "");
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
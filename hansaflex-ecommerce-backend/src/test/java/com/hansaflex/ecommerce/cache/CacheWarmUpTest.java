@@ -0,0 +1,120 @@
+package com.hansaflex.ecommerce.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hansaflex.ecommerce.config.CacheProperties;
+import com.hansaflex.ecommerce.config.ProductFilterCacheKey;
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import com.hansaflex.ecommerce.dto.ProductResponse;
+import com.hansaflex.ecommerce.entity.RegionPricingConfig;
+import com.hansaflex.ecommerce.repository.RegionPricingConfigRepository;
+import com.hansaflex.ecommerce.service.PricingService;
+import com.hansaflex.ecommerce.service.ProductService;
+import com.hansaflex.ecommerce.service.RegionPricingConfigService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.PageImpl;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmUpTest {
+
+    @Mock
+    private RegionPricingConfigRepository regionPricingConfigRepository;
+
+    @Mock
+    private RegionPricingConfigService regionPricingConfigService;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private PricingService pricingService;
+
+    @TempDir
+    Path directory;
+
+    private CacheProperties cacheProperties;
+    private CaffeineCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheProperties.getWarmUp().setEnabled(true);
+        cacheProperties.getWarmUp().setSorts(List.of("name,asc", "price,desc"));
+        cacheProperties.getWarmUp().setHotKeysFile(directory.resolve("hot-keys.json").toString());
+
+        cacheManager = new CaffeineCacheManager("products", "productFacets");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100));
+
+        lenient().when(regionPricingConfigRepository.findAll()).thenReturn(List.of(
+                RegionPricingConfig.builder().region("EU").vatPercentage(new BigDecimal("19.00")).build(),
+                RegionPricingConfig.builder().region("US").vatPercentage(new BigDecimal("8.25")).build()));
+        lenient().when(productService.getAllProducts(any(ProductFilterRequest.class)))
+                .thenReturn(new PageImpl<>(List.of(ProductResponse.builder().id(7L).build())));
+    }
+
+    @Test
+    void run_PreloadsVatCategoriesFirstPagesAndPrices() {
+        warmUp().run(null);
+
+        verify(productService).getAllCategories();
+        for (String region : List.of("EU", "US")) {
+            verify(regionPricingConfigService).getVatByRegion(region);
+            verify(productService).getCategoriesByRegion(region);
+            verify(productService).getAllProducts(firstPage(region, "name", "asc"));
+            verify(productService).getAllProducts(firstPage(region, "price", "desc"));
+        }
+        verify(productService).getAllProducts(firstPage(null, "name", "asc"));
+        // Two regions plus the unfiltered catalog, two sorts each, one product per page
+        verify(productService, times(6)).getAllProducts(any(ProductFilterRequest.class));
+        verify(pricingService, times(6)).calculatePrice(7L);
+    }
+
+    @Test
+    void hotKeysRecordedAtShutdown_AreReplayedOnNextStart() {
+        ProductFilterRequest hoses = ProductFilterRequest.builder()
+                .region("EU").categories(List.of("Hoses", "Fittings")).minPrice(new BigDecimal("10.00"))
+                .page(2).size(20).sortBy("price").sortDirection("desc").build();
+        ProductFilterCacheKey pageKey = ProductFilterCacheKey.of("getAllProducts", hoses);
+        ProductFilterCacheKey facetKey = ProductFilterCacheKey.filtersOnly("getProductFacets", hoses);
+        cacheManager.getCache("products").put(pageKey, "page");
+        cacheManager.getCache("products").put("all_products", List.of());
+        cacheManager.getCache("productFacets").put(facetKey, "facets");
+
+        warmUp().recordHotKeys();
+        warmUp().run(null);
+
+        verify(productService).getAllProducts(argThat(request -> ProductFilterCacheKey.of("getAllProducts", request).equals(pageKey)));
+        verify(productService).getProductFacets(argThat(request -> ProductFilterCacheKey.filtersOnly("getProductFacets", request).equals(facetKey)));
+    }
+
+    @Test
+    void run_DoesNothingWhenDisabled() {
+        cacheProperties.getWarmUp().setEnabled(false);
+
+        warmUp().run(null);
+
+        verifyNoInteractions(productService, pricingService, regionPricingConfigService);
+    }
+
+    private CacheWarmUp warmUp() {
+        return new CacheWarmUp(cacheProperties, regionPricingConfigRepository, regionPricingConfigService,
+                productService, pricingService, cacheManager, new ObjectMapper());
+    }
+
+    private static ProductFilterRequest firstPage(String region, String sortBy, String sortDirection) {
+        return ProductFilterRequest.builder().region(region).page(0).size(10).sortBy(sortBy).sortDirection(sortDirection).build();
+    }
+}
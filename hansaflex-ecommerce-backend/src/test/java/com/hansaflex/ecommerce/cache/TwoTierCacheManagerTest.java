@@ -0,0 +1,192 @@
+package com.hansaflex.ecommerce.cache;
+
+import com.hansaflex.ecommerce.dto.ProductResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCacheManagerTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<SecondLevelCacheStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void closeStores() {
+        stores.forEach(SecondLevelCacheStore::close);
+    }
+
+    @Test
+    void restartedNode_ServesStoredEntriesAndPromotesThem() {
+        List<ProductResponse> products = List.of(product(1L), product(2L));
+        TwoTierCacheManager before = restart(Duration.ofMinutes(10));
+        before.getCache("products").put("all_products", products);
+        stores.remove(0).close();
+
+        TwoTierCacheManager after = restart(Duration.ofMinutes(10));
+        Cache cache = after.getCache("products");
+
+        assertEquals(products, cache.get("all_products").get());
+        assertEquals(products, nativeLocal(cache).getIfPresent("all_products"));
+    }
+
+    @Test
+    void eviction_RemovesEntriesFromBothTiers() {
+        TwoTierCacheManager manager = restart(Duration.ofMinutes(10));
+        Cache cache = manager.getCache("products");
+        cache.put("all_products", List.of(product(1L)));
+        cache.put("region_EU", List.of(product(2L)));
+
+        cache.evict("region_EU");
+        nativeLocal(cache).invalidateAll();
+        assertNull(cache.get("region_EU"));
+        assertNotNull(cache.get("all_products"));
+
+        cache.clear();
+        nativeLocal(cache).invalidateAll();
+        assertNull(cache.get("all_products"));
+    }
+
+    @Test
+    void expiredStoredEntries_AreNotServed() throws InterruptedException {
+        TwoTierCacheManager manager = restart(Duration.ofMillis(50));
+        Cache cache = manager.getCache("products");
+        cache.put("all_products", List.of(product(1L)));
+        nativeLocal(cache).invalidateAll();
+
+        Thread.sleep(100);
+
+        assertNull(cache.get("all_products"));
+    }
+
+    @Test
+    void valueLoader_ChecksStoreBeforeLoading() {
+        TwoTierCacheManager manager = restart(Duration.ofMinutes(10));
+        Cache cache = manager.getCache("products");
+        assertEquals("loaded", cache.get("key", () -> "loaded"));
+        nativeLocal(cache).invalidateAll();
+
+        assertEquals("loaded", cache.get("key", () -> fail("Should be served from the store")));
+    }
+
+    @Test
+    void nonSerializableValues_StayLocalOnly() {
+        TwoTierCacheManager manager = restart(Duration.ofMinutes(10));
+        Cache cache = manager.getCache("products");
+        Object value = new Object();
+
+        cache.put("key", value);
+        assertSame(value, cache.get("key").get());
+        nativeLocal(cache).invalidateAll();
+
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    void storedClassesOutsideTheAllowList_AreNotDeserialized() {
+        TwoTierCacheManager manager = restart(Duration.ofMinutes(10));
+        Cache cache = manager.getCache("products");
+
+        cache.put("key", URI.create("http://example.com"));
+        nativeLocal(cache).invalidateAll();
+
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    void store_IsTrimmedToMaximumEntries() throws InterruptedException {
+        TwoTierCacheManager manager = restart(Duration.ofMinutes(10), 2, Runnable::run);
+        Cache cache = manager.getCache("products");
+        for (long id = 1; id <= 4; id++) {
+            cache.put("product_" + id, product(id));
+            Thread.sleep(2); // Distinct write times, so the oldest entries are well-defined
+        }
+        manager.sweep();
+
+        assertEquals(2, stores.get(0).size("products"));
+        nativeLocal(cache).invalidateAll();
+        assertNotNull(cache.get("product_4"));
+        assertNull(cache.get("product_1"));
+    }
+
+    @Test
+    void evictionBeforeTheWriteRuns_CancelsThePendingWrite() {
+        Queue<Runnable> writes = new ArrayDeque<>();
+        TwoTierCacheManager manager = restart(Duration.ofMinutes(10), 100, writes::add);
+        Cache cache = manager.getCache("products");
+
+        cache.put("all_products", List.of(product(1L)));
+        cache.put("all_products", List.of(product(2L)));
+        cache.evict("all_products");
+        writes.forEach(Runnable::run);
+
+        assertEquals(1, writes.size());
+        assertEquals(0, stores.get(0).size("products"));
+    }
+
+    @Test
+    void refreshedValues_AreWrittenThrough() {
+        TwoTierCacheManager manager = restart(Duration.ofMinutes(10));
+        Cache cache = manager.getCache("products");
+
+        manager.writeThrough("products", "all_products", List.of(product(3L)));
+        manager.writeThrough("orders", "order_1", "ignored");
+
+        assertEquals(List.of(product(3L)), cache.get("all_products").get());
+        assertNull(manager.getCache("orders").get("order_1"));
+    }
+
+    @Test
+    void cachesWithoutSecondLevel_AreThePlainLocalCaches() {
+        TwoTierCacheManager manager = restart(Duration.ofMinutes(10));
+
+        assertInstanceOf(com.github.benmanes.caffeine.cache.Cache.class, manager.getCache("orders").getNativeCache());
+        assertEquals("CaffeineCache", manager.getCache("orders").getClass().getSimpleName());
+    }
+
+    private TwoTierCacheManager restart(Duration timeToLive) {
+        return restart(timeToLive, 10_000, Runnable::run);
+    }
+
+    // Writes run on the calling thread unless the test queues them
+    private TwoTierCacheManager restart(Duration timeToLive, long maximumEntries, Executor writer) {
+        SecondLevelCacheStore store = new MvStoreSecondLevelCacheStore(directory.resolve("cache-l2.mv.db").toString());
+        stores.add(store);
+        CacheManager local = new CaffeineCacheManager("products", "orders");
+        TwoTierCacheManager manager = new TwoTierCacheManager(local, store, Map.of("products", timeToLive), maximumEntries, writer, null);
+        manager.afterPropertiesSet();
+        return manager;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeLocal(Cache cache) {
+        return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+    }
+
+    private static ProductResponse product(Long id) {
+        return ProductResponse.builder()
+                .id(id)
+                .name("Hydraulic Hose " + id)
+                .price(new BigDecimal("42.50"))
+                .currency("EUR")
+                .region("EU")
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.hansaflex.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.hansaflex.ecommerce.dto.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    @Test
+    void policies_OverrideDefaultsPerCache() {
+        CacheProperties properties = properties(Duration.ofMinutes(2));
+
+        Policy<Object, Object> products = nativePolicy(cacheManager(properties, new CacheRefreshRegistry()), "products");
+        Policy<Object, Object> categories = nativePolicy(cacheManager(properties, new CacheRefreshRegistry()), "categories");
+        Policy<Object, Object> orders = nativePolicy(cacheManager(properties, new CacheRefreshRegistry()), "orders");
+
+        assertTrue(products.eviction().orElseThrow().isWeighted());
+        assertEquals(DataSize.ofMegabytes(1).toBytes(), products.eviction().orElseThrow().getMaximum());
+        assertEquals(Duration.ofMinutes(2), products.refreshAfterWrite().orElseThrow().getRefreshesAfter());
+        assertEquals(Duration.ofMinutes(10), products.expireAfterAccess().orElseThrow().getExpiresAfter());
+
+        assertFalse(categories.eviction().orElseThrow().isWeighted());
+        assertEquals(200, categories.eviction().orElseThrow().getMaximum());
+        assertEquals(Duration.ofHours(6), categories.expireAfterWrite().orElseThrow().getExpiresAfter());
+        assertTrue(categories.refreshAfterWrite().isEmpty());
+
+        assertEquals(1000, orders.eviction().orElseThrow().getMaximum());
+        assertEquals(Duration.ofMinutes(30), orders.expireAfterWrite().orElseThrow().getExpiresAfter());
+    }
+
+    @Test
+    void weigher_ChargesListsByTheirContent() {
+        ProductResponse product = ProductResponse.builder().id(1L).name("Hydraulic Hose").description("Two-wire braided hose").build();
+
+        long single = CacheEntryWeigher.estimate(product);
+        long list = CacheEntryWeigher.estimate(List.of(product, product, product, product));
+
+        assertTrue(list > 4 * single);
+    }
+
+    @Test
+    void refreshAfterWrite_RecomputesRecordedKeysAndDropsUnknownOnes() throws Exception {
+        CacheRefreshRegistry registry = new CacheRefreshRegistry();
+        Cache products = cacheManager(properties(Duration.ofMillis(1)), registry).getCache("products");
+        Counter counter = new Counter();
+        registry.record("products", "recorded", counter, Counter.class.getMethod("next"), new Object[0]);
+
+        products.put("recorded", 0);
+        products.put("unknown", 0);
+        Thread.sleep(20);
+        products.get("recorded");
+        products.get("unknown");
+
+        // Quiet reads, so that polling does not trigger further refreshes
+        Policy<Object, Object> policy = ((CaffeineCache) products).getNativeCache().policy();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline
+                && (counter.calls.get() == 0 || policy.getIfPresentQuietly("recorded").equals(0)
+                        || policy.getIfPresentQuietly("unknown") != null)) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, counter.calls.get());
+        assertEquals(1, policy.getIfPresentQuietly("recorded"));
+        assertNull(policy.getIfPresentQuietly("unknown"));
+    }
+
+    @Test
+    void reload_InvokesTheBeanThroughItsProxy() throws Exception {
+        Counter target = new Counter();
+        AtomicInteger proxiedCalls = new AtomicInteger();
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice((org.aopalliance.intercept.MethodInterceptor) invocation -> {
+            assertTrue(CacheRefreshRegistry.isReloading());
+            proxiedCalls.incrementAndGet();
+            return invocation.proceed();
+        });
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("counter", proxyFactory.getProxy());
+        CacheRefreshRegistry registry = new CacheRefreshRegistry();
+        registry.setBeanFactory(beanFactory);
+        registry.record("products", "recorded", target, Counter.class.getMethod("next"), new Object[0]);
+
+        assertEquals(1, registry.reload("products", "recorded"));
+        assertEquals(1, proxiedCalls.get());
+        assertFalse(CacheRefreshRegistry.isReloading());
+    }
+
+    public static class Counter {
+        final AtomicInteger calls = new AtomicInteger();
+
+        public int next() {
+            return calls.incrementAndGet();
+        }
+    }
+
+    private static CacheProperties properties(Duration refresh) {
+        CacheProperties properties = new CacheProperties();
+        properties.getDefaults().setMaximumSize(1000L);
+        properties.getDefaults().setExpireAfterWrite(Duration.ofMinutes(30));
+        properties.getDefaults().setExpireAfterAccess(Duration.ofMinutes(10));
+
+        CacheProperties.Policy products = new CacheProperties.Policy();
+        products.setMaximumWeight(DataSize.ofMegabytes(1));
+        products.setExpireAfterWrite(Duration.ofMinutes(10));
+        products.setRefreshAfterWrite(refresh);
+        properties.getPolicies().put("products", products);
+
+        CacheProperties.Policy categories = new CacheProperties.Policy();
+        categories.setMaximumSize(200L);
+        categories.setExpireAfterWrite(Duration.ofHours(6));
+        properties.getPolicies().put("categories", categories);
+        return properties;
+    }
+
+    private static CacheManager cacheManager(CacheProperties properties, CacheRefreshRegistry registry) {
+        return CacheConfig.caffeineCacheManager(properties, registry);
+    }
+
+    private static Policy<Object, Object> nativePolicy(CacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache().policy();
+    }
+}
@@ -0,0 +1,51 @@
+package com.hansaflex.ecommerce.config;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.hansaflex.ecommerce.dto.PriceResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DtoWritersTest {
+
+    private final DtoWriters dtoWriters = new DtoWriters(Map.of(WireFormat.JSON, JsonMapper.builder()
+            .findAndAddModules()
+            .addModule(new JacksonConfig().plainBigDecimalModule())
+            .build()));
+
+    @Test
+    void writerFor_ReusesWriterPerFormatAndType() {
+        assertSame(dtoWriters.writerFor(WireFormat.JSON, PriceResponse.class),
+                dtoWriters.writerFor(WireFormat.JSON, PriceResponse.class));
+    }
+
+    @Test
+    void warmUp_SerializesEverySample() {
+        assertDoesNotThrow(dtoWriters::warmUp);
+    }
+
+    @Test
+    void bigDecimals_AreWrittenWithoutExponent() throws Exception {
+        PriceResponse price = PriceResponse.builder().basePrice(new BigDecimal("1.5E+3")).build();
+
+        String json = dtoWriters.writerFor(WireFormat.JSON, PriceResponse.class).writeValueAsString(price);
+
+        assertTrue(json.contains("\"basePrice\":1500"), json);
+    }
+
+    @Test
+    void bigDecimals_KeepTheirScale() throws Exception {
+        PriceResponse price = PriceResponse.builder()
+                .basePrice(new BigDecimal("42.50"))
+                .vatAmount(new BigDecimal("0.00000001"))
+                .build();
+
+        String json = dtoWriters.writerFor(WireFormat.JSON, PriceResponse.class).writeValueAsString(price);
+
+        assertTrue(json.contains("\"basePrice\":42.50"), json);
+        assertTrue(json.contains("\"vatAmount\":0.00000001"), json);
+    }
+}
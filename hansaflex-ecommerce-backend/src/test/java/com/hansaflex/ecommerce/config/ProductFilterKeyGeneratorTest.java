@@ -0,0 +1,60 @@
+package com.hansaflex.ecommerce.config;
+
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import com.hansaflex.ecommerce.service.ProductService;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFilterKeyGeneratorTest {
+
+    private final ProductFilterKeyGenerator pageKeys = new ProductFilterKeyGenerator(true);
+    private final ProductFilterKeyGenerator facetKeys = new ProductFilterKeyGenerator(false);
+
+    @Test
+    void equivalentFilters_ProduceEqualKeys() throws NoSuchMethodException {
+        ProductFilterRequest first = ProductFilterRequest.builder()
+                .region("EU").categories(List.of("Hoses", "Fittings")).minPrice(new BigDecimal("10.0"))
+                .sortDirection("ASC").build();
+        ProductFilterRequest second = ProductFilterRequest.builder()
+                .region("EU").categories(List.of("Fittings", "Hoses", "Fittings")).minPrice(new BigDecimal("10.00"))
+                .sortDirection("asc").build();
+
+        Object firstKey = pageKeys.generate(null, method("getAllProducts"), first);
+        Object secondKey = pageKeys.generate(null, method("getAllProducts"), second);
+
+        assertEquals(firstKey, secondKey);
+        assertEquals(firstKey.hashCode(), secondKey.hashCode());
+        assertEquals(pageKeys.generate(null, method("getAllProducts"), ProductFilterRequest.builder().categories(List.of()).build()),
+                pageKeys.generate(null, method("getAllProducts"), ProductFilterRequest.builder().build()));
+    }
+
+    @Test
+    void differentResults_ProduceDifferentKeys() throws NoSuchMethodException {
+        ProductFilterRequest eu = ProductFilterRequest.builder().region("EU").build();
+
+        assertNotEquals(pageKeys.generate(null, method("getAllProducts"), eu),
+                pageKeys.generate(null, method("getAllProducts"), ProductFilterRequest.builder().region("eu").build()));
+        assertNotEquals(pageKeys.generate(null, method("getAllProducts"), eu),
+                pageKeys.generate(null, method("getAllProducts"), ProductFilterRequest.builder().region("EU").page(1).build()));
+        assertNotEquals(pageKeys.generate(null, method("getAllProducts"), eu),
+                pageKeys.generate(null, method("getProductsWithFiltersInExactOrder"), eu));
+    }
+
+    @Test
+    void facetKeys_IgnorePagingAndSorting() throws NoSuchMethodException {
+        ProductFilterRequest firstPage = ProductFilterRequest.builder().region("EU").build();
+        ProductFilterRequest thirdPageByPrice = ProductFilterRequest.builder().region("EU").page(2).sortBy("price").sortDirection("desc").build();
+
+        assertEquals(facetKeys.generate(null, method("getProductFacets"), firstPage),
+                facetKeys.generate(null, method("getProductFacets"), thirdPageByPrice));
+    }
+
+    private static Method method(String name) throws NoSuchMethodException {
+        return ProductService.class.getMethod(name, ProductFilterRequest.class);
+    }
+}
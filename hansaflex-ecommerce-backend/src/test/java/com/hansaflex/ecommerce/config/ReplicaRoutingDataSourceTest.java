@@ -0,0 +1,211 @@
+package com.hansaflex.ecommerce.config;
+
+import com.hansaflex.ecommerce.entity.Order;
+import com.hansaflex.ecommerce.entity.OrderItem;
+import com.hansaflex.ecommerce.entity.OrderSummary;
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.enums.OrderStatus;
+import com.hansaflex.ecommerce.repository.OrderRepository;
+import com.hansaflex.ecommerce.repository.OrderSummaryRepository;
+import com.hansaflex.ecommerce.service.OrderChangedEvent;
+import com.hansaflex.ecommerce.service.OrderSummaryProjector;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two in-memory H2 databases, one acting as the replica, behind the routing DataSource and a
+ * real JPA transaction manager. Rows are only ever copied to the replica by the test itself,
+ * so where a row is visible shows which database a transaction used.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static DataSource primary;
+    private static DataSource replica;
+
+    private AnnotationConfigApplicationContext context;
+    private OrderSummaryRepository repository;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readOnlyTx;
+
+    @BeforeEach
+    void startContext() {
+        String suffix = UUID.randomUUID().toString();
+        primary = migrated("jdbc:h2:mem:primary-" + suffix + ";DB_CLOSE_DELAY=-1");
+        replica = migrated("jdbc:h2:mem:replica-" + suffix + ";DB_CLOSE_DELAY=-1");
+
+        context = new AnnotationConfigApplicationContext(JpaConfig.class);
+        repository = context.getBean(OrderSummaryRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        writeTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void writeTransactions_GoToPrimary() {
+        writeTx.executeWithoutResult(status -> repository.save(summary(1L)));
+
+        assertEquals(1, count(primary));
+        assertEquals(0, count(replica));
+    }
+
+    @Test
+    void readOnlyTransactions_GoToReplica() {
+        writeTx.executeWithoutResult(status -> repository.save(summary(1L)));
+
+        assertTrue(readOnlyTx.execute(status -> repository.findByCustomerIdOrderByCreatedAtDesc("customer-1")).isEmpty());
+
+        replicate();
+        List<OrderSummary> fromReplica = readOnlyTx.execute(status -> repository.findByCustomerIdOrderByCreatedAtDesc("customer-1"));
+        assertEquals(1, fromReplica.size());
+    }
+
+    @Test
+    void readsWithoutTransactionOrInsideWriteTransaction_UsePrimary() {
+        writeTx.executeWithoutResult(status -> repository.save(summary(1L)));
+
+        assertEquals(1, repository.findByCustomerIdOrderByCreatedAtDesc("customer-1").size());
+        assertEquals(1, writeTx.execute(status ->
+                readOnlyTx.execute(inner -> repository.findByCustomerIdOrderByCreatedAtDesc("customer-1"))).size());
+    }
+
+    @Test
+    void projector_WritesSummaryToPrimaryInBackground() throws InterruptedException {
+        OrderSummaryProjector projector = context.getBean(OrderSummaryProjector.class);
+
+        Order order = Order.builder()
+                .id(7L)
+                .customerId("customer-1")
+                .region("EU")
+                .status(OrderStatus.CONFIRMED)
+                .totalPrice(new BigDecimal("238.00"))
+                .items(List.of(OrderItem.builder().quantity(4).product(Product.builder().name("Hose A").build()).build()))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        projector.onOrderChanged(OrderChangedEvent.placed(order));
+        projector.close();
+
+        assertEquals(4, new JdbcTemplate(primary).queryForObject(
+                "SELECT total_quantity FROM order_summaries WHERE order_id = 7", Integer.class));
+        assertEquals(0, count(replica));
+    }
+
+    @Test
+    void reconciliation_ProjectsOrdersWithoutSummaryFromPrimary() {
+        JdbcTemplate jdbc = new JdbcTemplate(primary);
+        jdbc.update("INSERT INTO products (id, name, description, price, currency, stock_qty, category, region, created_at, updated_at) " +
+                "VALUES (1, 'Hose A', 'Hose', 10, 'EUR', 5, 'Hoses', 'EU', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        jdbc.update("INSERT INTO orders (id, customer_id, region, status, total_price, created_at, updated_at) " +
+                "VALUES (8, 'customer-1', 'EU', 'CONFIRMED', 30, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        jdbc.update("INSERT INTO order_items (id, order_id, product_id, quantity, unit_price, region, vat_percentage, vat_amount, " +
+                "final_price, created_at, updated_at) VALUES (1, 8, 1, 3, 10, 'EU', 0, 0, 30, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        OrderSummaryProjector projector = context.getBean(OrderSummaryProjector.class);
+
+        assertEquals(1, projector.reconcile(LocalDateTime.now().plusMinutes(1)));
+
+        assertEquals(3, jdbc.queryForObject("SELECT total_quantity FROM order_summaries WHERE order_id = 8", Integer.class));
+        assertEquals(0, projector.reconcile(LocalDateTime.now().plusMinutes(1)));
+        assertEquals(0, count(replica));
+    }
+
+    private static OrderSummary summary(Long orderId) {
+        LocalDateTime now = LocalDateTime.now();
+        return OrderSummary.builder()
+                .orderId(orderId)
+                .customerId("customer-1")
+                .region("EU")
+                .status(OrderStatus.CONFIRMED)
+                .totalPrice(new BigDecimal("119.00"))
+                .itemCount(1)
+                .totalQuantity(2)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private static void replicate() {
+        new JdbcTemplate(primary).queryForList("SELECT * FROM order_summaries").forEach(row ->
+                new JdbcTemplate(replica).update("INSERT INTO order_summaries (order_id, customer_id, region, status, total_price, " +
+                                "item_count, total_quantity, confirmation_number, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        row.get("ORDER_ID"), row.get("CUSTOMER_ID"), row.get("REGION"), row.get("STATUS"), row.get("TOTAL_PRICE"),
+                        row.get("ITEM_COUNT"), row.get("TOTAL_QUANTITY"), row.get("CONFIRMATION_NUMBER"),
+                        row.get("CREATED_AT"), row.get("UPDATED_AT")));
+    }
+
+    private static int count(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM order_summaries", Integer.class);
+    }
+
+    private static DataSource migrated(String url) {
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+        return new DriverManagerDataSource(url, "sa", "");
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = OrderSummaryRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = {OrderSummaryRepository.class, OrderRepository.class}))
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return ReplicaRoutingDataSource.lazy(primary, replica);
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(OrderSummary.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            // Boot's column naming (finalPrice -> final_price)
+            factory.getJpaPropertyMap().put("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        OrderSummaryProjector orderSummaryProjector(OrderRepository orderRepository, OrderSummaryRepository orderSummaryRepository,
+                                                    PlatformTransactionManager transactionManager) {
+            return new OrderSummaryProjector(orderRepository, orderSummaryRepository, transactionManager);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.hansaflex.ecommerce.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.hansaflex.ecommerce.cache.SerializedResponseCache;
+import com.hansaflex.ecommerce.config.DtoWriters;
+import com.hansaflex.ecommerce.config.WireFormat;
+import com.hansaflex.ecommerce.dto.CatalogVersion;
+import com.hansaflex.ecommerce.dto.ProductFacetsResponse;
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import com.hansaflex.ecommerce.dto.ProductResponse;
+import com.hansaflex.ecommerce.monitoring.RequestLogSampler;
+import com.hansaflex.ecommerce.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CatalogControllerTest {
+
+    private static final CatalogVersion VERSION = CatalogVersion.of(3, 1_700_000_000_000L);
+
+    private ProductService productService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        when(productService.getCatalogVersion()).thenReturn(VERSION);
+        when(productService.getAllProducts(any(ProductFilterRequest.class)))
+                .thenReturn(new PageImpl<>(List.of(ProductResponse.builder().id(1L).name("Hydraulic Hose").build()), PageRequest.of(0, 10), 1));
+        SerializedResponseCache serializedResponseCache = new SerializedResponseCache(
+                new ConcurrentMapCacheManager(SerializedResponseCache.CACHE_NAME), new DtoWriters(Map.of(
+                        WireFormat.JSON, JsonMapper.builder().findAndAddModules().build(),
+                        WireFormat.CBOR, CBORMapper.builder().findAndAddModules().build())));
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new CatalogController(productService, new RequestLogSampler(1), serializedResponseCache))
+                .setControllerAdvice(new ResponseEnvelopeAdvice())
+                .build();
+    }
+
+    @Test
+    void firstRequest_ReturnsBodyWithValidators() throws Exception {
+        mockMvc.perform(get("/api/catalog").param("region", "EU"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", VERSION.etag()))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andExpect(jsonPath("$.data.content[0].name").value("Hydraulic Hose"));
+    }
+
+    @Test
+    void matchingIfNoneMatch_Returns304WithoutLoadingProducts() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/catalog").param("region", "EU").header("If-None-Match", VERSION.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", VERSION.etag()))
+                .andReturn();
+
+        assertEquals(0, result.getResponse().getContentLength());
+        verify(productService, never()).getAllProducts(any(ProductFilterRequest.class));
+    }
+
+    @Test
+    void gzipClient_GetsPreCompressedBodyAndRepeatHitsSkipSerialization() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MvcResult result = mockMvc.perform(get("/api/catalog").param("region", "EU").header("Accept-Encoding", "gzip, deflate, br"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andExpect(header().stringValues("Vary", hasItem(containsString("Accept-Encoding"))))
+                    .andReturn();
+
+            try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+                assertTrue(new String(body.readAllBytes(), StandardCharsets.UTF_8).contains("\"name\":\"Hydraulic Hose\""));
+            }
+        }
+        verify(productService, times(1)).getAllProducts(any(ProductFilterRequest.class));
+    }
+
+    @Test
+    void cborClient_GetsCborBody() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/catalog/all").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/cbor"))
+                .andReturn();
+
+        JsonNode body = CBORMapper.builder().build().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("Hydraulic Hose", body.at("/data/0/name").asText());
+    }
+
+    @Test
+    void envelopeNone_ReturnsDataAlone() throws Exception {
+        when(productService.getProductFacets(any(ProductFilterRequest.class))).thenReturn(new ProductFacetsResponse());
+
+        mockMvc.perform(get("/api/catalog/all").header(ResponseEnvelopeAdvice.HEADER, "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Hydraulic Hose"));
+        mockMvc.perform(get("/api/catalog/faceted").header(ResponseEnvelopeAdvice.HEADER, "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").doesNotExist())
+                .andExpect(jsonPath("$.products.content[0].name").value("Hydraulic Hose"));
+        mockMvc.perform(get("/api/catalog/all"))
+                .andExpect(jsonPath("$.data[0].name").value("Hydraulic Hose"));
+    }
+
+    @Test
+    void negotiate_PicksHighestQualityFormatAndFallsBackToJson() {
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(null));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("*/*"));
+        assertEquals(WireFormat.SMILE, WireFormat.negotiate("application/json;q=0.5, application/x-jackson-smile"));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/cbor, */*;q=0.1"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("text/html"));
+    }
+
+    @Test
+    void acceptsGzip_HonoursQualityZero() {
+        assertTrue(ConditionalResponses.acceptsGzip("gzip"));
+        assertTrue(ConditionalResponses.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+        assertTrue(ConditionalResponses.acceptsGzip("*"));
+        assertFalse(ConditionalResponses.acceptsGzip("gzip;q=0"));
+        assertFalse(ConditionalResponses.acceptsGzip("identity"));
+        assertFalse(ConditionalResponses.acceptsGzip(null));
+    }
+
+    @Test
+    void staleIfNoneMatch_ReturnsNewBody() throws Exception {
+        String previous = CatalogVersion.of(2, 1_600_000_000_000L).etag();
+
+        mockMvc.perform(get("/api/catalog/all").header("If-None-Match", previous))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", VERSION.etag()))
+                .andExpect(jsonPath("$.data[0].id").value(1));
+    }
+}
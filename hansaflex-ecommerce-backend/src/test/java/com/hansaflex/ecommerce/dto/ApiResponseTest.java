@@ -0,0 +1,49 @@
+package com.hansaflex.ecommerce.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiResponseTest {
+
+    private final ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Test
+    void serializer_WritesTheSameFieldsInTheSameOrderAsTheBeanSerializer() throws Exception {
+        ApiResponse<Map<String, Integer>> response = ApiResponse.success(Map.of("id", 1));
+
+        String json = mapper.writeValueAsString(response);
+
+        assertEquals("{\"success\":true,\"message\":\"Operation completed successfully\",\"data\":{\"id\":1},"
+                + "\"timestamp\":\"" + response.getTimestamp() + "\"}", json);
+        assertEquals("{\"success\":false,\"message\":\"Out of stock\",\"data\":null,\"timestamp\":null}",
+                mapper.writeValueAsString(ApiResponse.builder().message("Out of stock").build()));
+    }
+
+    @Test
+    void serializedResponse_ReadsBackIntoApiResponse() throws Exception {
+        ApiResponse<Map<String, Integer>> response = ApiResponse.success("Created", Map.of("id", 7));
+
+        ApiResponse<Map<String, Integer>> read = mapper.readValue(mapper.writeValueAsBytes(response), new TypeReference<>() {
+        });
+
+        assertEquals(response, read);
+    }
+
+    @Test
+    void timestamp_HasSecondResolutionAndIsSharedWithinTheSecond() {
+        Map<String, Boolean> distinct = new IdentityHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            distinct.put(ApiResponse.success(i).getTimestamp(), true);
+        }
+
+        assertTrue(distinct.size() <= 2, () -> distinct.size() + " timestamp strings for 1000 responses");
+        distinct.keySet().forEach(timestamp -> assertTrue(timestamp.matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}"), timestamp));
+    }
+}
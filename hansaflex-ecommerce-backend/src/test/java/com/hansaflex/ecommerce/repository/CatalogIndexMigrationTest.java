@@ -0,0 +1,224 @@
+package com.hansaflex.ecommerce.repository;
+
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import com.hansaflex.ecommerce.entity.Product;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations against an in-memory H2 database, calls the catalog lookups of
+ * ProductRepository and checks with EXPLAIN that the SQL Hibernate issued for them is served
+ * by the V2 indexes instead of a table scan.
+ */
+class CatalogIndexMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:catalog_indexes;DB_CLOSE_DELAY=-1";
+    private static final String[] REGIONS = {"EU", "US", "APAC"};
+    private static final String[] CATEGORIES = {"Hoses", "Fittings", "Couplers", "Filters", "Seals"};
+
+    // Every statement Hibernate prepares, in order
+    private static final List<String> ISSUED = new CopyOnWriteArrayList<>();
+
+    private static Connection connection;
+    private static AnnotationConfigApplicationContext context;
+    private static ProductRepository repository;
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+        connection = DriverManager.getConnection(URL, "sa", "");
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO products (name, description, price, currency, stock_qty, category, region, created_at, updated_at) " +
+                "VALUES (?, 'Seed product', ?, 'EUR', ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)")) {
+            for (int i = 0; i < 3000; i++) {
+                insert.setString(1, "Product " + i);
+                insert.setBigDecimal(2, BigDecimal.valueOf(10 + i % 500));
+                insert.setInt(3, i % 7 == 0 ? 0 : i % 100);
+                insert.setString(4, CATEGORIES[i % CATEGORIES.length]);
+                insert.setString(5, REGIONS[i % REGIONS.length]);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+
+        context = new AnnotationConfigApplicationContext(JpaConfig.class);
+        repository = context.getBean(ProductRepository.class);
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        context.close();
+        connection.close();
+    }
+
+    @BeforeEach
+    void clearIssued() {
+        ISSUED.clear();
+    }
+
+    @Test
+    void regionAndCategoryFilter_UsesCompositeIndex() throws SQLException {
+        ProductFilterRequest filter = ProductFilterRequest.builder()
+                .region("EU").category("Hoses").minPrice(new BigDecimal("50")).maxPrice(new BigDecimal("200")).build();
+
+        repository.findWithFilters(filter, PageRequest.of(0, 20, Sort.by("price")));
+
+        assertUsesIndex(issued("from products"), "IDX_PRODUCTS_REGION_CATEGORY_PRICE");
+    }
+
+    @Test
+    void distinctCategoriesByRegion_UsesCompositeIndex() throws SQLException {
+        assertFalse(repository.findDistinctCategoriesByRegion("US").isEmpty());
+
+        assertUsesIndex(issued("distinct"), "IDX_PRODUCTS_REGION_CATEGORY_PRICE");
+    }
+
+    @Test
+    void existsByNameAndRegion_UsesUniqueIndex() throws SQLException {
+        assertTrue(repository.existsByNameAndRegion("Product 42", "EU"));
+
+        assertUsesIndex(issued("from products"), "UX_PRODUCTS_NAME_REGION");
+    }
+
+    @Test
+    void minStockFilterWithinRegion_UsesStockIndex() throws SQLException {
+        ProductFilterRequest filter = ProductFilterRequest.builder().region("APAC").minStock(91).build();
+
+        repository.findWithFiltersInExactOrder(filter);
+
+        assertUsesIndex(issued("from products"), "IDX_PRODUCTS_REGION_STOCK_QTY");
+    }
+
+    @Test
+    void hasOrders_UsesForeignKeyIndex() throws SQLException {
+        assertFalse(repository.hasOrders(1L));
+
+        assertUsesIndex(issued("from order_items"), "FK_ORDER_ITEMS_PRODUCT");
+    }
+
+    @Test
+    void nameAndRegionUniqueness_IsEnforced() {
+        assertThrows(SQLException.class, () -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("INSERT INTO products (name, description, price, currency, stock_qty, category, region, created_at, updated_at) " +
+                        "VALUES ('Product 0', 'Duplicate', 1, 'EUR', 1, 'Hoses', 'EU', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+            }
+        });
+    }
+
+    @Test
+    void existingDuplicates_AreRenamedBeforeTheUniqueIndex() {
+        String url = "jdbc:h2:mem:catalog_duplicates;DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").target("1").load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        for (int i = 0; i < 2; i++) {
+            jdbc.update("INSERT INTO products (name, description, price, currency, stock_qty, category, region, created_at, updated_at) " +
+                    "VALUES ('Hose', 'Hose', 1, 'EUR', 1, 'Hoses', 'EU', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        }
+
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+
+        assertEquals(List.of("Hose", "Hose (#2)"), jdbc.queryForList("SELECT name FROM products ORDER BY id", String.class));
+    }
+
+    /**
+     * The first issued statement containing {@code fragment}
+     */
+    private static String issued(String fragment) {
+        return ISSUED.stream()
+                .filter(sql -> sql.toLowerCase().contains(fragment))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No statement with '" + fragment + "' among " + ISSUED));
+    }
+
+    private static String explain(String sql) throws SQLException {
+        // H2 plans a prepared statement without its parameters bound
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            assertTrue(resultSet.next());
+            return resultSet.getString(1);
+        }
+    }
+
+    private static void assertUsesIndex(String sql, String indexName) throws SQLException {
+        String plan = explain(sql);
+        assertTrue(plan.toUpperCase().contains(indexName), () -> "Expected " + indexName + " in plan:\n" + plan);
+        assertFalse(plan.toUpperCase().contains("TABLESCAN"), () -> "Unexpected table scan in plan:\n" + plan);
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            ISSUED.add(sql);
+            return sql;
+        }
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = ProductRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ProductRepository.class))
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return new DriverManagerDataSource(URL, "sa", "");
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(Product.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            // Boot's column naming (stockQty -> stock_qty)
+            factory.getJpaPropertyMap().put("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+            factory.getJpaPropertyMap().put("hibernate.session_factory.statement_inspector", CapturingStatementInspector.class.getName());
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
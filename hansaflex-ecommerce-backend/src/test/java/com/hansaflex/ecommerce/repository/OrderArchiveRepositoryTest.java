@@ -0,0 +1,143 @@
+package com.hansaflex.ecommerce.repository;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.hansaflex.ecommerce.dto.OrderResponse;
+import com.hansaflex.ecommerce.enums.OrderStatus;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Archives orders from two months into the monthly partitions of a Flyway-migrated
+ * in-memory H2 database and reads them back by id, customer and region.
+ */
+class OrderArchiveRepositoryTest {
+
+    private static final String URL = "jdbc:h2:mem:order_archive;DB_CLOSE_DELAY=-1";
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 15, 10, 30);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2024, 2, 3, 8, 0);
+
+    private static JdbcTemplate jdbcTemplate;
+    private static OrderArchiveRepository repository;
+
+    @BeforeAll
+    static void migrateAndArchive() {
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        repository = new OrderArchiveRepository(jdbcTemplate, JsonMapper.builder().findAndAddModules().build());
+
+        repository.saveAll(List.of(
+                new OrderArchiveRepository.ArchivedOrder("customer-1", "EU", order(1L, JANUARY)),
+                new OrderArchiveRepository.ArchivedOrder("customer-2", "US", order(2L, JANUARY.plusDays(1))),
+                new OrderArchiveRepository.ArchivedOrder("customer-1", "EU", order(3L, FEBRUARY))));
+    }
+
+    @Test
+    void saveAll_WritesOnePartitionPerMonth() {
+        assertEquals(List.of("orders_archive_202402", "orders_archive_202401"), repository.partitions());
+    }
+
+    @Test
+    void findById_ReturnsTheArchivedOrder() {
+        OrderResponse order = repository.findById(2L).orElseThrow();
+
+        assertEquals(order(2L, JANUARY.plusDays(1)), order);
+        assertTrue(repository.findById(99L).isEmpty());
+        assertEquals("orders_archive_202401",
+                jdbcTemplate.queryForObject("SELECT partition_name FROM order_archive_locations WHERE order_id = 2", String.class));
+    }
+
+    @Test
+    void updateStatus_RewritesTheArchivedOrder() {
+        LocalDateTime updatedAt = FEBRUARY.plusMonths(13);
+        repository.saveAll(List.of(new OrderArchiveRepository.ArchivedOrder("customer-3", "EU", order(4L, FEBRUARY))));
+
+        OrderResponse updated = repository.updateStatus(4L, OrderStatus.FAILED, updatedAt).orElseThrow();
+
+        assertEquals(OrderStatus.FAILED, updated.getStatus());
+        assertEquals(updated, repository.findById(4L).orElseThrow());
+        assertEquals("FAILED", jdbcTemplate.queryForObject("SELECT status FROM orders_archive_202402 WHERE order_id = 4", String.class));
+        assertTrue(repository.updateStatus(99L, OrderStatus.FAILED, updatedAt).isEmpty());
+    }
+
+    @Test
+    void partitions_AreCachedUntilThisNodeCreatesOne() {
+        // Own database, so the other tests keep their two partitions
+        String url = "jdbc:h2:mem:order_archive_partitions;DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+        JdbcTemplate otherJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        OrderArchiveRepository otherRepository = new OrderArchiveRepository(otherJdbcTemplate, JsonMapper.builder().findAndAddModules().build());
+        List<String> partitions = otherRepository.partitions();
+
+        // A partition created by another node
+        otherJdbcTemplate.execute("CREATE TABLE orders_archive_202312 (order_id BIGINT)");
+        assertSame(partitions, otherRepository.partitions());
+
+        otherRepository.saveAll(List.of(new OrderArchiveRepository.ArchivedOrder("customer-4", "EU", order(5L, JANUARY))));
+        assertEquals(List.of("orders_archive_202401", "orders_archive_202312"), otherRepository.partitions());
+    }
+
+    @Test
+    void findByCustomerId_SpansPartitionsNewestFirst() {
+        List<Long> orderIds = repository.findByCustomerId("customer-1").stream().map(OrderResponse::getOrderId).toList();
+
+        assertEquals(List.of(3L, 1L), orderIds);
+    }
+
+    @Test
+    void findByRegion_FiltersOnTheRegionColumn() {
+        List<Long> orderIds = repository.findByRegion("US").stream().map(OrderResponse::getOrderId).toList();
+
+        assertEquals(List.of(2L), orderIds);
+    }
+
+    @Test
+    void payload_IsStoredCompressed() throws Exception {
+        int json = JsonMapper.builder().findAndAddModules().build().writeValueAsBytes(order(1L, JANUARY)).length;
+        int stored = jdbcTemplate.queryForObject("SELECT OCTET_LENGTH(payload) FROM orders_archive_202401 WHERE order_id = 1", Integer.class);
+
+        assertTrue(stored < json, () -> "Stored " + stored + " bytes for " + json + " bytes of JSON");
+    }
+
+    private static OrderResponse order(Long orderId, LocalDateTime createdAt) {
+        List<OrderResponse.OrderItemResponse> items = List.of(
+                item(10L, "Hydraulic Hose 2SN DN10", 4, "12.50"),
+                item(11L, "Hydraulic Hose 2SN DN12", 2, "14.90"),
+                item(12L, "Press Fitting DKOL M18x1.5", 8, "3.20"));
+        return OrderResponse.builder()
+                .orderId(orderId)
+                .status(OrderStatus.CONFIRMED)
+                .totalPrice(new BigDecimal("125.66"))
+                .confirmationNumber("SAP-" + orderId)
+                .contactName("Max Mustermann")
+                .phoneNumber("+49 421 123456")
+                .deliveryAddress("Wiesenstrasse 12, 28195 Bremen, Germany")
+                .items(items)
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusMinutes(1))
+                .build();
+    }
+
+    private static OrderResponse.OrderItemResponse item(Long productId, String name, int quantity, String unitPrice) {
+        BigDecimal price = new BigDecimal(unitPrice);
+        BigDecimal vat = price.multiply(new BigDecimal("0.19")).setScale(2, java.math.RoundingMode.HALF_UP);
+        return OrderResponse.OrderItemResponse.builder()
+                .productId(productId)
+                .productName(name)
+                .quantity(quantity)
+                .unitPrice(price)
+                .region("EU")
+                .vatPercentage(new BigDecimal("19.00"))
+                .vatAmount(vat)
+                .finalPrice(price.add(vat).multiply(BigDecimal.valueOf(quantity)))
+                .build();
+    }
+}
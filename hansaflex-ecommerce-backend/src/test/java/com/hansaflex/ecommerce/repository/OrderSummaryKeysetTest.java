@@ -0,0 +1,82 @@
+package com.hansaflex.ecommerce.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks with EXPLAIN ANALYZE that a page of a customer's order summaries is read from the V5
+ * keyset index in order and stops after the page, however deep the page is.
+ */
+class OrderSummaryKeysetTest {
+
+    private static final String URL = "jdbc:h2:mem:order_summary_keyset;DB_CLOSE_DELAY=-1";
+    private static final String ORDER = " ORDER BY s.customer_id, s.created_at DESC, s.order_id DESC FETCH FIRST 21 ROWS ONLY";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+        connection = DriverManager.getConnection(URL, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            // 100 customers with 500 orders each
+            statement.execute("INSERT INTO order_summaries (order_id, customer_id, region, status, total_price, item_count, " +
+                    "total_quantity, product_names, created_at, updated_at) " +
+                    "SELECT x, 'customer-' || MOD(x, 100), 'EU', 'CONFIRMED', 10, 1, 1, 'Hose', " +
+                    "DATEADD('SECOND', x, TIMESTAMP '2024-01-01 00:00:00'), DATEADD('SECOND', x, TIMESTAMP '2024-01-01 00:00:00') " +
+                    "FROM SYSTEM_RANGE(1, 50000)");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void firstPage_ReadsOnlyThePageFromTheIndex() throws SQLException {
+        String plan = explainAnalyze("SELECT * FROM order_summaries s WHERE s.customer_id = 'customer-7'" + ORDER);
+
+        assertKeysetScan(plan);
+    }
+
+    @Test
+    void deepPage_SeeksToTheCursor() throws SQLException {
+        // Cursor about 400 orders into customer-7's history
+        String plan = explainAnalyze("SELECT * FROM order_summaries s WHERE s.customer_id = 'customer-7' " +
+                "AND s.created_at <= TIMESTAMP '2024-01-01 02:45:07' " +
+                "AND (s.created_at < TIMESTAMP '2024-01-01 02:45:07' OR s.order_id < 9907)" + ORDER);
+
+        assertKeysetScan(plan);
+    }
+
+    private static String explainAnalyze(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN ANALYZE " + sql)) {
+            assertTrue(resultSet.next());
+            return resultSet.getString(1);
+        }
+    }
+
+    private static void assertKeysetScan(String plan) {
+        assertTrue(plan.toUpperCase().contains("IDX_ORDER_SUMMARIES_CUSTOMER_KEYSET"), () -> "Expected keyset index in plan:\n" + plan);
+        assertTrue(plan.contains("index sorted"), () -> "Expected no sort in plan:\n" + plan);
+        // The page plus at most the cursor's own row
+        Matcher scanCount = Pattern.compile("scanCount: (\\d+)").matcher(plan);
+        assertTrue(scanCount.find() && Integer.parseInt(scanCount.group(1)) <= 22,
+                () -> "Expected only the page to be read in plan:\n" + plan);
+    }
+}
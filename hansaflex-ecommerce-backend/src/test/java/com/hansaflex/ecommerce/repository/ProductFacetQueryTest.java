@@ -0,0 +1,126 @@
+package com.hansaflex.ecommerce.repository;
+
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import com.hansaflex.ecommerce.entity.Product;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the facet query (grouped by category, currency, price bucket and in-stock flag) through
+ * Hibernate against a Flyway-migrated in-memory H2 database, and checks the counts and the row
+ * types ProductService reads them as.
+ */
+class ProductFacetQueryTest {
+
+    private static final String URL = "jdbc:h2:mem:product_facets;DB_CLOSE_DELAY=-1";
+
+    private static AnnotationConfigApplicationContext context;
+    private static ProductRepository repository;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        Object[][] products = {
+                {"Hose A", 20, "EUR", 5, "Hoses", "EU"},
+                {"Hose B", 49.99, "EUR", 0, "Hoses", "EU"},
+                {"Hose C", 75, "EUR", 3, "Hoses", "EU"},
+                {"Fitting A", 75, "USD", 0, "Fittings", "EU"},
+                {"Filter A", 1500, "EUR", 8, "Filters", "EU"},
+                {"Hose D", 20, "USD", 5, "Hoses", "US"}};
+        for (Object[] product : products) {
+            jdbc.update("INSERT INTO products (name, description, price, currency, stock_qty, category, region, created_at, updated_at) " +
+                    "VALUES (?, 'Seed product', ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", product);
+        }
+
+        context = new AnnotationConfigApplicationContext(JpaConfig.class);
+        repository = context.getBean(ProductRepository.class);
+    }
+
+    @AfterAll
+    static void close() {
+        context.close();
+    }
+
+    @Test
+    void countFacets_GroupsByCategoryCurrencyPriceBucketAndStock() {
+        List<Object[]> rows = repository.countFacets(ProductFilterRequest.builder().region("EU").build());
+
+        // category, currency, price bucket (0: < 50, 1: < 100, 5: 1000 and up), in stock, count
+        assertEquals(List.of(
+                "Filters EUR 5 true 1",
+                "Fittings USD 1 false 1",
+                "Hoses EUR 0 false 1",
+                "Hoses EUR 0 true 1",
+                "Hoses EUR 1 true 1"), rows.stream()
+                .map(row -> Arrays.stream(row).map(String::valueOf).collect(Collectors.joining(" ")))
+                .sorted()
+                .toList());
+        for (Object[] row : rows) {
+            assertInstanceOf(String.class, row[0]);
+            assertInstanceOf(String.class, row[1]);
+            assertInstanceOf(Number.class, row[2]);
+            assertInstanceOf(Boolean.class, row[3]);
+            assertInstanceOf(Number.class, row[4]);
+        }
+    }
+
+    @Test
+    void countFacets_AppliesTheFilters() {
+        List<Object[]> rows = repository.countFacets(ProductFilterRequest.builder().category("Hoses").inStock(true).build());
+
+        assertEquals(3, rows.stream().mapToLong(row -> ((Number) row[4]).longValue()).sum());
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = ProductRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ProductRepository.class))
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return new DriverManagerDataSource(URL, "sa", "");
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(Product.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            // Boot's column naming (stockQty -> stock_qty)
+            factory.getJpaPropertyMap().put("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
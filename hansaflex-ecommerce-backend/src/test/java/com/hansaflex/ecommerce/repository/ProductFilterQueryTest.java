@@ -0,0 +1,85 @@
+package com.hansaflex.ecommerce.repository;
+
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import com.hansaflex.ecommerce.repository.ProductFilterQuery.Projection;
+import com.hansaflex.ecommerce.repository.ProductFilterQuery.Shape;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductFilterQueryTest {
+
+    @Test
+    void noFilters_EmitsNoWhereClause() {
+        ProductFilterRequest filter = ProductFilterRequest.builder().build();
+
+        String jpql = ProductFilterQuery.jpql(new Shape(Projection.ENTITY, ProductFilterQuery.predicatesOf(filter), Sort.by("name")));
+
+        assertEquals("SELECT p FROM Product p ORDER BY p.name ASC", jpql);
+    }
+
+    @Test
+    void regionAndCategory_EmitsOnlyThosePredicates() {
+        ProductFilterRequest filter = ProductFilterRequest.builder().region("EU").category("Hoses").build();
+
+        String jpql = ProductFilterQuery.jpql(new Shape(Projection.COUNT, ProductFilterQuery.predicatesOf(filter), Sort.unsorted()));
+
+        assertEquals("SELECT COUNT(p) FROM Product p WHERE p.region = :region AND p.category = :category", jpql);
+        assertFalse(jpql.contains("IS NULL"));
+    }
+
+    @Test
+    void sameFilterShape_ProducesSameShapeForDifferentValues() {
+        ProductFilterRequest eu = ProductFilterRequest.builder().region("EU").minPrice(BigDecimal.ONE).build();
+        ProductFilterRequest us = ProductFilterRequest.builder().region("US").minPrice(BigDecimal.TEN).build();
+        ProductFilterRequest withName = ProductFilterRequest.builder().region("US").name("hose").build();
+
+        assertEquals(ProductFilterQuery.predicatesOf(eu), ProductFilterQuery.predicatesOf(us));
+        assertNotEquals(ProductFilterQuery.predicatesOf(eu), ProductFilterQuery.predicatesOf(withName));
+    }
+
+    @Test
+    void emptyCategoriesAndInStockFalse_AreHandled() {
+        ProductFilterRequest filter = ProductFilterRequest.builder().categories(List.of()).inStock(false).build();
+
+        String jpql = ProductFilterQuery.jpql(new Shape(Projection.ENTITY, ProductFilterQuery.predicatesOf(filter), Sort.unsorted()));
+
+        assertEquals("SELECT p FROM Product p WHERE p.stockQty = 0", jpql);
+    }
+
+    @Test
+    void bind_SetsOnlyPresentParameters() {
+        ProductFilterRequest filter = ProductFilterRequest.builder().region("EU").name("Hose").inStock(true).build();
+        Query query = mock(Query.class);
+
+        ProductFilterQuery.bind(query, filter);
+
+        verify(query).setParameter("region", "EU");
+        verify(query).setParameter("name", "%hose%");
+        verifyNoMoreInteractions(query);
+    }
+
+    @Test
+    void unknownSortProperty_IsRejected() {
+        Shape shape = new Shape(Projection.ENTITY, 0, Sort.by("name; DROP TABLE products"));
+
+        assertThrows(IllegalArgumentException.class, () -> ProductFilterQuery.jpql(shape));
+    }
+
+    @Test
+    void facets_GroupByFacetColumnsUnderTheSameFilters() {
+        ProductFilterRequest filter = ProductFilterRequest.builder().region("EU").build();
+
+        String jpql = ProductFilterQuery.jpql(new Shape(Projection.FACETS, ProductFilterQuery.predicatesOf(filter), Sort.unsorted()));
+
+        assertTrue(jpql.startsWith("SELECT p.category, p.currency, CASE WHEN p.price < 50 THEN 0"));
+        assertTrue(jpql.contains(" WHERE p.region = :region GROUP BY p.category, p.currency, CASE"));
+        assertTrue(jpql.endsWith("ELSE 5 END, CASE WHEN p.stockQty > 0 THEN true ELSE false END"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.hansaflex.ecommerce.repository;
+
+import com.hansaflex.ecommerce.analytics.LiveSalesCounters.SalesCounter;
+import com.hansaflex.ecommerce.analytics.OrderLine;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checkpoints orders placed on any node into the sales_counters of a Flyway-migrated
+ * in-memory H2 database and checks each order is added exactly once, and taken out again
+ * when it leaves CONFIRMED.
+ */
+class SalesCounterRepositoryTest {
+
+    private static final String URL = "jdbc:h2:mem:sales_counters;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate jdbcTemplate;
+    private static SalesCounterRepository repository;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        repository = new SalesCounterRepository(jdbcTemplate);
+        jdbcTemplate.update("INSERT INTO products (id, name, description, price, currency, stock_qty, category, region, created_at, updated_at) " +
+                "VALUES (7, 'Hose', 'Hose', 10.00, 'EUR', 100, 'Hoses', 'EU', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+    }
+
+    @BeforeEach
+    void clearTotals() {
+        jdbcTemplate.update("DELETE FROM sales_counters");
+    }
+
+    @Test
+    void checkpoint_AddsConfirmedOrdersCreatedSinceTheWatermarkOnce() {
+        LocalDateTime start = repository.watermark();
+        // Ids drawn from another node's sequence block: the later order has the lower id
+        order(101L, "eu", "CONFIRMED", start.plusSeconds(1), 2);
+        order(51L, "EU", "CONFIRMED", start.plusSeconds(2), 1);
+        order(52L, "EU", "FAILED", start.plusSeconds(3), 5);
+        order(53L, "EU", "CONFIRMED", start.plusSeconds(10), 4);
+
+        LocalDateTime watermark = repository.checkpoint(start.plusSeconds(5));
+        assertEquals(watermark, repository.checkpoint(start.plusSeconds(5)));
+
+        assertEquals(start.plusSeconds(5), repository.watermark());
+        assertEquals(List.of(new SalesCounter("EU", 2, 3, 3000, 570)), repository.findAll(SalesCounterRepository.REGION));
+        assertEquals(List.of(new SalesCounter("7", 2, 3, 3000, 570)), repository.findAll(SalesCounterRepository.PRODUCT));
+
+        repository.checkpoint(start.plusSeconds(20));
+
+        assertEquals(List.of(new SalesCounter("EU", 3, 7, 7000, 1330)), repository.findAll(SalesCounterRepository.REGION));
+    }
+
+    @Test
+    void addOrder_CorrectsTheTotalsOnlyForOrdersACheckpointPassed() {
+        LocalDateTime start = repository.watermark();
+        order(201L, "US", "CONFIRMED", start.plusSeconds(1), 2);
+        repository.checkpoint(start.plusSeconds(5));
+
+        // Failed after it was folded in
+        jdbcTemplate.update("UPDATE orders SET status = 'FAILED' WHERE id = 201");
+        assertTrue(repository.addOrder(start.plusSeconds(1), "us", List.of(line(2)), -1));
+        // Failed before: the next checkpoint reads the new status
+        order(202L, "US", "FAILED", start.plusSeconds(6), 1);
+        assertFalse(repository.addOrder(start.plusSeconds(6), "US", List.of(line(1)), -1));
+        repository.checkpoint(start.plusSeconds(10));
+
+        assertEquals(List.of(new SalesCounter("US", 0, 0, 0, 0)), repository.findAll(SalesCounterRepository.REGION));
+        assertEquals(List.of(new SalesCounter("7", 0, 0, 0, 0)), repository.findAll(SalesCounterRepository.PRODUCT));
+
+        // Confirmed again
+        jdbcTemplate.update("UPDATE orders SET status = 'CONFIRMED' WHERE id = 201");
+        assertTrue(repository.addOrder(start.plusSeconds(1), "US", List.of(line(2)), 1));
+
+        assertEquals(List.of(new SalesCounter("US", 1, 2, 2000, 380)), repository.findAll(SalesCounterRepository.REGION));
+    }
+
+    // What OrderLineFeed reads back for an order of the product below
+    private static OrderLine line(int quantity) {
+        return new OrderLine("US", 7L, "Hose", "Hoses", LocalDate.now(), quantity, 1000L * quantity, 190L * quantity);
+    }
+
+    private static void order(long id, String region, String status, LocalDateTime createdAt, int quantity) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        jdbcTemplate.update("INSERT INTO orders (id, customer_id, region, status, total_price, created_at, updated_at) " +
+                "VALUES (?, 'customer-1', ?, ?, ?, ?, ?)", id, region, status, 11.90 * quantity, timestamp, timestamp);
+        jdbcTemplate.update("INSERT INTO order_items (id, order_id, product_id, quantity, unit_price, region, vat_percentage, " +
+                "vat_amount, final_price, created_at, updated_at) VALUES (?, ?, 7, ?, 10.00, ?, 19.00, 1.90, ?, ?, ?)",
+                id, id, quantity, region, 11.90 * quantity, timestamp, timestamp);
+    }
+}
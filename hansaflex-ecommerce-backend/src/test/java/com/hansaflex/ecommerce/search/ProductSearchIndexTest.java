@@ -0,0 +1,69 @@
+package com.hansaflex.ecommerce.search;
+
+import com.hansaflex.ecommerce.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.rebuild(List.of(
+                product(1L, "Hydraulic Hose 2SN-DN10", "Two-wire braided hose", "Hoses", "EU"),
+                product(2L, "Hose Fitting DKOL", "Straight fitting for hydraulic hose lines", "Fittings", "EU"),
+                product(3L, "Quick Coupler", "Flat face coupler", "Couplers", "US"),
+                product(4L, "Hydraulic Filter", "Return line filter element", "Filters", "US")
+        ));
+    }
+
+    @Test
+    void nameMatch_RanksAboveDescriptionMatch() {
+        ProductSearchIndex.SearchResult result = index.search("hydraulic hose", null, 0, 10);
+
+        assertEquals(List.of(1L, 2L, 4L), result.productIds());
+        assertEquals(3, result.totalHits());
+    }
+
+    @Test
+    void partNumber_MatchesWithAndWithoutPunctuation() {
+        assertEquals(List.of(1L), index.search("2SN-DN10", null, 0, 10).productIds());
+        assertEquals(List.of(1L), index.search("2sndn10", null, 0, 10).productIds());
+        assertEquals(List.of(1L), index.search("dn10", null, 0, 10).productIds());
+    }
+
+    @Test
+    void prefixAndTypo_AreMatched() {
+        assertEquals(List.of(3L), index.search("coup", null, 0, 10).productIds());
+        assertEquals(List.of(4L), index.search("filtre", null, 0, 10).productIds());
+    }
+
+    @Test
+    void regionFilterAndPagination_AreApplied() {
+        assertEquals(List.of(4L), index.search("hydraulic", "us", 0, 10).productIds());
+
+        ProductSearchIndex.SearchResult secondPage = index.search("hydraulic", null, 1, 2);
+        assertEquals(1, secondPage.productIds().size());
+        assertEquals(3, secondPage.totalHits());
+    }
+
+    @Test
+    void indexAndRemove_UpdateResultsIncrementally() {
+        index.index(product(3L, "Quick Coupler ISO-A", "Push-to-connect hydraulic coupler", "Couplers", "US"));
+        index.remove(4L);
+
+        assertEquals(List.of(1L, 2L, 3L), index.search("hydraulic", null, 0, 10).productIds());
+        assertEquals(3, index.size());
+        assertTrue(index.search("filter", null, 0, 10).productIds().isEmpty());
+    }
+
+    private static Product product(Long id, String name, String description, String category, String region) {
+        return Product.builder().id(id).name(name).description(description).category(category).region(region).build();
+    }
+}
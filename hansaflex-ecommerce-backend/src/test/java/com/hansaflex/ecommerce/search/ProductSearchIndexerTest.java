@@ -0,0 +1,43 @@
+package com.hansaflex.ecommerce.search;
+
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.repository.ProductRepository;
+import com.hansaflex.ecommerce.service.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductSearchIndexerTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductSearchIndex index = new ProductSearchIndex();
+    private final ProductSearchIndexer indexer = new ProductSearchIndexer(productRepository, index, new ProductSuggester());
+
+    @Test
+    void writesDuringTheBuild_AreNotOverwrittenByTheSnapshot() {
+        Product renamed = product(1L, "Quick Coupler");
+        // The snapshot still has the old name; the rename and a deletion commit while it is read
+        when(productRepository.findAll()).thenAnswer(invocation -> {
+            indexer.onProductChanged(ProductChangedEvent.saved(renamed));
+            indexer.onProductChanged(ProductChangedEvent.relayed(2L, null));
+            return List.of(product(1L, "Hydraulic Hose"), product(2L, "Hose Fitting"));
+        });
+        when(productRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(renamed));
+
+        indexer.buildIndex();
+
+        assertEquals(List.of(1L), index.search("coupler", null, 0, 10).productIds());
+        assertTrue(index.search("hose", null, 0, 10).productIds().isEmpty());
+
+        indexer.onProductChanged(ProductChangedEvent.relayed(3L, product(3L, "Hydraulic Filter")));
+        assertEquals(List.of(3L), index.search("filter", null, 0, 10).productIds());
+    }
+
+    private static Product product(Long id, String name) {
+        return Product.builder().id(id).name(name).description(name).category("Parts").region("EU").build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.hansaflex.ecommerce.search;
+
+import com.hansaflex.ecommerce.dto.SuggestionResponse;
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.enums.SuggestionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSuggesterTest {
+
+    private ProductSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new ProductSuggester();
+        suggester.rebuild(List.of(
+                product(1L, "Hydraulic Hose 2SN", "Hoses", "EU"),
+                product(2L, "Hydraulic Hose 4SP", "Hoses", "EU"),
+                product(3L, "Hose Clamp", "Hoses", "US"),
+                product(4L, "Hydraulic Filter", "Filters", "US")
+        ));
+    }
+
+    @Test
+    void prefix_MatchesAnyWordStartWithMostProductsFirst() {
+        List<SuggestionResponse> suggestions = suggester.suggest("Hos", null, 10);
+
+        assertEquals("Hoses", suggestions.get(0).getText());
+        assertEquals(SuggestionType.CATEGORY, suggestions.get(0).getType());
+        assertEquals(3, suggestions.get(0).getProductCount());
+        assertEquals(Set.of("Hose Clamp", "Hydraulic Hose 2SN", "Hydraulic Hose 4SP"), Set.copyOf(texts(suggestions).subList(1, 4)));
+    }
+
+    @Test
+    void regionAndLimit_AreApplied() {
+        assertEquals(List.of("Hydraulic Filter"), texts(suggester.suggest("hydraulic", "us", 10)));
+        assertEquals(1, suggester.suggest("hydraulic", null, 1).size());
+        assertTrue(suggester.suggest("hydraulic", "APAC", 10).isEmpty());
+        assertTrue(suggester.suggest("xyz", null, 10).isEmpty());
+    }
+
+    @Test
+    void prefixEndingInsideEdge_IsMatched() {
+        assertEquals(Set.of("Hydraulic Hose 2SN", "Hydraulic Hose 4SP"), Set.copyOf(texts(suggester.suggest("hydraulic hose", "EU", 10))));
+        assertEquals(List.of("Hydraulic Hose 4SP"), texts(suggester.suggest("4s", null, 10)));
+    }
+
+    @Test
+    void updateAndRemove_KeepCountsAndTrieConsistent() {
+        suggester.index(product(2L, "Hydraulic Hose 4SH", "Hoses", "EU"));
+        suggester.remove(3L);
+
+        assertEquals(Set.of("Hydraulic Hose 2SN", "Hydraulic Hose 4SH"), Set.copyOf(texts(suggester.suggest("hydraulic ho", null, 10))));
+        assertTrue(suggester.suggest("clamp", null, 10).isEmpty());
+        assertTrue(suggester.suggest("hose", "US", 10).isEmpty());
+        assertEquals(2, suggester.suggest("hoses", null, 10).get(0).getProductCount());
+
+        suggester.remove(1L);
+        suggester.remove(2L);
+        suggester.remove(4L);
+        assertTrue(suggester.suggest("h", null, 10).isEmpty());
+    }
+
+    private static List<String> texts(List<SuggestionResponse> suggestions) {
+        return suggestions.stream().map(SuggestionResponse::getText).toList();
+    }
+
+    private static Product product(Long id, String name, String category, String region) {
+        return Product.builder().id(id).name(name).category(category).region(region).build();
+    }
+}
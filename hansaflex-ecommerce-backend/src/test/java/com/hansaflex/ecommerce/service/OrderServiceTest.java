@@ -2,14 +2,20 @@ package com.hansaflex.ecommerce.service;
 
 import com.hansaflex.ecommerce.dto.OrderRequest;
 import com.hansaflex.ecommerce.dto.OrderResponse;
+import com.hansaflex.ecommerce.dto.OrderSummaryPage;
 import com.hansaflex.ecommerce.entity.Order;
+import com.hansaflex.ecommerce.entity.OrderItem;
+import com.hansaflex.ecommerce.entity.OrderSummary;
 import com.hansaflex.ecommerce.entity.Product;
 import com.hansaflex.ecommerce.entity.RegionPricingConfig;
 import com.hansaflex.ecommerce.enums.OrderStatus;
 import com.hansaflex.ecommerce.exception.InsufficientStockException;
 import com.hansaflex.ecommerce.exception.ProductNotFoundException;
 import com.hansaflex.ecommerce.exception.RegionPricingConfigNotFoundException;
+import com.hansaflex.ecommerce.monitoring.RequestLogSampler;
+import com.hansaflex.ecommerce.repository.OrderArchiveRepository;
 import com.hansaflex.ecommerce.repository.OrderRepository;
+import com.hansaflex.ecommerce.repository.OrderSummaryRepository;
 import com.hansaflex.ecommerce.repository.ProductRepository;
 import com.hansaflex.ecommerce.repository.RegionPricingConfigRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,13 +24,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,6 +61,18 @@ class OrderServiceTest {
     @Mock
     private CacheService cacheService;
 
+    @Mock
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Mock
+    private RequestLogSampler requestLogSampler;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -115,6 +140,12 @@ class OrderServiceTest {
         verify(orderRepository, atLeast(2)).save(any(Order.class));
         verify(sapIntegrationService).confirmOrder(eq(1L), any(BigDecimal.class));
         verify(cacheService, times(2)).clearProductCaches();
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof OrderChangedEvent changed
+                && changed.kind() == OrderChangedEvent.Kind.PLACED
+                && changed.order().getId() == 1L
+                && changed.summary().getStatus() == OrderStatus.CONFIRMED
+                && changed.summary().getTotalQuantity() == 2
+                && "Test Product".equals(changed.summary().getProductNames())));
     }
 
     @Test
@@ -197,6 +228,75 @@ class OrderServiceTest {
         verify(orderRepository).findById(1L);
     }
 
+    @Test
+    void getOrderSummaryPage_ReturnsCursorWhenMoreOrdersFollow() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        List<OrderSummary> rows = List.of(summary(3L, createdAt.plusMinutes(2)), summary(2L, createdAt), summary(1L, createdAt));
+        when(orderSummaryRepository.findFirstPage("customer123", Limit.of(3))).thenReturn(rows);
+        when(orderSummaryRepository.findPageAfter("customer123", createdAt, 2L, Limit.of(3))).thenReturn(List.of(summary(1L, createdAt)));
+
+        // When
+        OrderSummaryPage first = orderService.getOrderSummaryPage("customer123", null, 2);
+        OrderSummaryPage second = orderService.getOrderSummaryPage("customer123", first.getNextCursor(), 2);
+
+        // Then
+        assertEquals(List.of(3L, 2L), first.getOrders().stream().map(o -> o.getOrderId()).toList());
+        assertTrue(first.isHasMore());
+        assertEquals(List.of("Hose", "Fitting"), first.getOrders().get(0).getProductNames());
+        assertEquals(List.of(1L), second.getOrders().stream().map(o -> o.getOrderId()).toList());
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void getOrderSummaryPage_MergesOrdersWithoutSummaryYet() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        Order unprojected = Order.builder()
+                .id(4L)
+                .customerId("customer123")
+                .status(OrderStatus.CONFIRMED)
+                .totalPrice(new BigDecimal("20.00"))
+                .items(List.of(OrderItem.builder().quantity(1).product(testProduct).build()))
+                .createdAt(createdAt.plusMinutes(5))
+                .updatedAt(createdAt.plusMinutes(5))
+                .build();
+        when(orderSummaryRepository.findFirstPage("customer123", Limit.of(3)))
+                .thenReturn(List.of(summary(3L, createdAt.plusMinutes(2)), summary(2L, createdAt)));
+        when(orderRepository.findIdsByCustomerIdWithoutSummary("customer123")).thenReturn(List.of(4L));
+        when(orderRepository.findByIdIn(List.of(4L))).thenReturn(List.of(unprojected));
+
+        // When
+        OrderSummaryPage page = orderService.getOrderSummaryPage("customer123", null, 2);
+
+        // Then
+        assertEquals(List.of(4L, 3L), page.getOrders().stream().map(o -> o.getOrderId()).toList());
+        assertEquals(List.of(testProduct.getName()), page.getOrders().get(0).getProductNames());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    void orderSummary_TruncatesProductNamesOnANameBoundary() {
+        List<OrderItem> items = IntStream.range(0, 20)
+                .mapToObj(i -> OrderItem.builder().quantity(1)
+                        .product(Product.builder().name(String.format("%02d", i) + "-" + "x".repeat(97)).build()).build())
+                .toList();
+        Order order = Order.builder().id(5L).items(items).build();
+
+        String names = OrderChangedEvent.placed(order).summary().getProductNames();
+
+        assertTrue(names.length() <= OrderChangedEvent.MAX_PRODUCT_NAMES_LENGTH);
+        assertEquals(9, names.split("\n").length);
+        assertTrue(names.endsWith("08-" + "x".repeat(97)));
+    }
+
+    @Test
+    void getOrderSummaryPage_RejectsInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.getOrderSummaryPage("customer123", "not-a-cursor", 20));
+        verifyNoInteractions(orderSummaryRepository);
+    }
+
     @Test
     void getOrderById_NotFound() {
         // Given
@@ -206,4 +306,53 @@ class OrderServiceTest {
         assertThrows(RuntimeException.class, () -> orderService.getOrderById(1L));
         verify(orderRepository).findById(1L);
     }
+
+    @Test
+    void getOrderById_FallsBackToArchive() {
+        // Given
+        OrderResponse archived = OrderResponse.builder().orderId(1L).status(OrderStatus.CONFIRMED).build();
+        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderArchiveRepository.findById(1L)).thenReturn(Optional.of(archived));
+
+        // When
+        OrderResponse result = orderService.getOrderById(1L);
+
+        // Then
+        assertSame(archived, result);
+    }
+
+    @Test
+    void updateOrderStatus_UpdatesArchivedOrders() {
+        // Given
+        OrderResponse archived = OrderResponse.builder().orderId(1L).status(OrderStatus.FAILED).build();
+        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderArchiveRepository.findById(1L))
+                .thenReturn(Optional.of(OrderResponse.builder().orderId(1L).status(OrderStatus.CONFIRMED).build()));
+        when(orderArchiveRepository.updateStatus(eq(1L), eq(OrderStatus.FAILED), any())).thenReturn(Optional.of(archived));
+
+        // When
+        OrderResponse result = orderService.updateOrderStatus(1L, OrderStatus.FAILED);
+
+        // Then
+        assertSame(archived, result);
+        verify(orderRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof OrderChangedEvent changed
+                && changed.kind() == OrderChangedEvent.Kind.STATUS_CHANGED
+                && changed.order().getId() == 1L && changed.order().getStatus() == OrderStatus.FAILED
+                && changed.previousStatus() == OrderStatus.CONFIRMED));
+    }
+
+    private static OrderSummary summary(Long orderId, LocalDateTime createdAt) {
+        return OrderSummary.builder()
+                .orderId(orderId)
+                .customerId("customer123")
+                .status(OrderStatus.CONFIRMED)
+                .totalPrice(new BigDecimal("10.00"))
+                .itemCount(2)
+                .totalQuantity(3)
+                .productNames("Hose\nFitting")
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
 }
@@ -0,0 +1,43 @@
+package com.hansaflex.ecommerce.service;
+
+import com.hansaflex.ecommerce.cache.CacheInvalidationBus;
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class ProductChangeRelayTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final CacheInvalidationBus bus = mock(CacheInvalidationBus.class);
+    private final ProductChangeRelay relay = new ProductChangeRelay(productRepository, eventPublisher, bus);
+
+    @Test
+    void localWrites_ArePublishedAndRelayedOnesAreNot() {
+        Product product = Product.builder().id(1L).name("Hose").build();
+
+        relay.onProductChanged(ProductChangedEvent.saved(product));
+        relay.onProductChanged(ProductChangedEvent.deleted(2L));
+        relay.onProductChanged(ProductChangedEvent.relayed(3L, null));
+
+        verify(bus).publish(ProductChangeRelay.CHANNEL, "1");
+        verify(bus).publish(ProductChangeRelay.CHANNEL, "2");
+        verifyNoMoreInteractions(bus);
+    }
+
+    @Test
+    void remoteIds_AreReadBackAndPublishedAsRelayedEvents() {
+        Product product = Product.builder().id(2L).name("Fitting").build();
+        when(productRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(product));
+
+        relay.onRemoteChanges(List.of("1", "2"));
+
+        verify(eventPublisher).publishEvent(ProductChangedEvent.relayed(1L, null));
+        verify(eventPublisher).publishEvent(ProductChangedEvent.relayed(2L, product));
+    }
+}
@@ -0,0 +1,154 @@
+package com.hansaflex.ecommerce.service;
+
+import com.hansaflex.ecommerce.config.CacheConfig;
+import com.hansaflex.ecommerce.dto.ProductResponse;
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.monitoring.RequestLogSampler;
+import com.hansaflex.ecommerce.repository.ProductRepository;
+import com.hansaflex.ecommerce.search.ProductSearchIndex;
+import com.hansaflex.ecommerce.search.ProductSuggester;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Many concurrent catalog requests for one key against a slow repository: at a cold miss and
+ * once the entry is due for refresh, the database must see a single query, not one per caller.
+ * The reload query blocks until the test releases it, so callers answered meanwhile were served
+ * the stale value rather than waiting.
+ */
+class ProductServiceCacheLoadTest {
+
+    private static final int CALLERS = 64;
+    private static final long QUERY_MILLIS = 200;
+    private static final long REFRESH_MILLIS = 300;
+
+    private final AtomicInteger version = new AtomicInteger(1);
+    private final CountDownLatch reloadGate = new CountDownLatch(1);
+
+    private ProductRepository productRepository;
+    private AnnotationConfigApplicationContext context;
+    private ProductService productService;
+
+    @BeforeEach
+    void startContext() {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findByRegion("EU")).thenAnswer(invocation -> {
+            int current = version.get();
+            if (current == 1) {
+                Thread.sleep(QUERY_MILLIS);
+            } else {
+                reloadGate.await(10, TimeUnit.SECONDS);
+            }
+            return List.of(product(current));
+        });
+
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("caches", Map.of(
+                "caches.policies.products.maximum-size", "100",
+                "caches.policies.products.expire-after-write", "10m",
+                "caches.policies.products.refresh-after-write", REFRESH_MILLIS + "ms")));
+        context.registerBean(ProductRepository.class, () -> productRepository);
+        context.register(CacheConfig.class, ProductServiceConfig.class);
+        context.refresh();
+        productService = context.getBean(ProductService.class);
+    }
+
+    @AfterEach
+    void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void concurrentMisses_RunOneQuery() throws Exception {
+        List<List<ProductResponse>> results = callConcurrently();
+
+        verify(productRepository, times(1)).findByRegion("EU");
+        results.forEach(result -> assertEquals("Hose v1", result.get(0).getName()));
+    }
+
+    @Test
+    void concurrentReadsAfterRefreshInterval_ServeStaleValueWhileOneQueryReloads() throws Exception {
+        productService.getProductsByRegion("EU");
+        version.set(2);
+        Thread.sleep(REFRESH_MILLIS + 50);
+
+        // Completes while the reload is still held at the gate
+        List<List<ProductResponse>> results = callConcurrently();
+
+        results.forEach(result -> assertEquals("Hose v1", result.get(0).getName()));
+        verify(productRepository, timeout(5000).times(2)).findByRegion("EU");
+        reloadGate.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline
+                && !"Hose v2".equals(productService.getProductsByRegion("EU").get(0).getName())) {
+            Thread.sleep(10);
+        }
+        assertEquals("Hose v2", productService.getProductsByRegion("EU").get(0).getName());
+        verify(productRepository, times(2)).findByRegion("EU");
+    }
+
+    private List<List<ProductResponse>> callConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<ProductResponse>>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return productService.getProductsByRegion("EU");
+                }));
+            }
+            start.countDown();
+            List<List<ProductResponse>> results = new ArrayList<>();
+            for (Future<List<ProductResponse>> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Product product(int version) {
+        return Product.builder()
+                .id(1L)
+                .name("Hose v" + version)
+                .price(new BigDecimal("42.50"))
+                .currency("EUR")
+                .stockQty(10)
+                .category("Hoses")
+                .region("EU")
+                .build();
+    }
+
+    @Configuration
+    static class ProductServiceConfig {
+
+        @Bean
+        ProductService productService(ProductRepository productRepository) {
+            return new ProductService(productRepository, new RequestLogSampler(1),
+                    mock(ProductSearchIndex.class), mock(ProductSuggester.class), mock(ApplicationEventPublisher.class));
+        }
+    }
+}
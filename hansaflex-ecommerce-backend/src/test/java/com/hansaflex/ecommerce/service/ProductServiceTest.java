@@ -0,0 +1,90 @@
+package com.hansaflex.ecommerce.service;
+
+import com.hansaflex.ecommerce.dto.CatalogVersion;
+import com.hansaflex.ecommerce.dto.ProductFacetsResponse;
+import com.hansaflex.ecommerce.dto.ProductFilterRequest;
+import com.hansaflex.ecommerce.monitoring.RequestLogSampler;
+import com.hansaflex.ecommerce.repository.ProductRepository;
+import com.hansaflex.ecommerce.search.ProductSearchIndex;
+import com.hansaflex.ecommerce.search.ProductSuggester;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RequestLogSampler requestLogSampler;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductSuggester productSuggester;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ProductService productService;
+
+    @Test
+    void getProductFacets_RollsUpGroupedCountsIntoEveryFacet() {
+        ProductFilterRequest filter = ProductFilterRequest.builder().region("EU").build();
+        when(productRepository.countFacets(filter)).thenReturn(List.of(
+                new Object[]{"Hoses", "EUR", 0, true, 4L},
+                new Object[]{"Hoses", "EUR", 2, false, 1L},
+                new Object[]{"Fittings", "EUR", 0, true, 2L},
+                new Object[]{"Fittings", "USD", 5, true, 3L}
+        ));
+
+        ProductFacetsResponse facets = productService.getProductFacets(filter);
+
+        assertEquals(Map.of("Hoses", 5L, "Fittings", 5L), facets.getCategories());
+        assertEquals(Map.of("EUR", 7L, "USD", 3L), facets.getCurrencies());
+        assertEquals(9L, facets.getInStock());
+        assertEquals(1L, facets.getOutOfStock());
+
+        assertEquals(6, facets.getPriceRanges().size());
+        assertEquals(6L, facets.getPriceRanges().get(0).getCount());
+        assertEquals(BigDecimal.ZERO, facets.getPriceRanges().get(0).getMinPrice());
+        assertEquals(new BigDecimal("50"), facets.getPriceRanges().get(0).getMaxPrice());
+        assertEquals(1L, facets.getPriceRanges().get(2).getCount());
+        assertEquals(3L, facets.getPriceRanges().get(5).getCount());
+        assertNull(facets.getPriceRanges().get(5).getMaxPrice());
+    }
+
+    @Test
+    void getCatalogVersion_ChangesWhenAProductIsWrittenOrDeleted() {
+        LocalDateTime lastWrite = LocalDateTime.of(2026, 10, 1, 12, 0);
+        when(productRepository.count()).thenReturn(3L, 3L, 2L);
+        when(productRepository.findLastUpdatedAt())
+                .thenReturn(Optional.of(lastWrite))
+                .thenReturn(Optional.of(lastWrite.plusSeconds(1)))
+                .thenReturn(Optional.of(lastWrite.plusSeconds(1)));
+
+        CatalogVersion initial = productService.getCatalogVersion();
+        CatalogVersion updated = productService.getCatalogVersion();
+        CatalogVersion deleted = productService.getCatalogVersion();
+
+        assertNotEquals(initial.etag(), updated.etag());
+        assertNotEquals(updated.etag(), deleted.etag());
+        assertEquals(1000, updated.lastModifiedMillis() - initial.lastModifiedMillis());
+    }
+}
@@ -0,0 +1,148 @@
+package com.hansaflex.ecommerce.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hansaflex.ecommerce.config.ProductStreamProperties;
+import com.hansaflex.ecommerce.entity.Product;
+import com.hansaflex.ecommerce.service.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductDeltaBroadcasterTest {
+
+    // Sends run only when the test drains them, like a client that has not read yet
+    private final Queue<Runnable> pendingSends = new ArrayDeque<>();
+    private ProductDeltaBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        ProductStreamProperties properties = new ProductStreamProperties();
+        properties.setQueueCapacity(2);
+        broadcaster = new ProductDeltaBroadcaster(properties, new ObjectMapper(), pendingSends::add);
+    }
+
+    @Test
+    void productChange_ReachesRegionAndAllRegionSubscribers() {
+        RecordingEmitter eu = subscribe("eu", null);
+        RecordingEmitter us = subscribe("US", null);
+        RecordingEmitter all = subscribe(null, null);
+
+        broadcaster.onProductChanged(ProductChangedEvent.saved(product(1L, "EU", 7, "12.50")));
+        sendAll();
+
+        assertEquals(1, eu.events.size());
+        assertTrue(eu.events.get(0).contains("event:product"));
+        assertTrue(eu.events.get(0).contains("\"id\":1,\"stockQty\":7,\"price\":12.50"));
+        assertTrue(us.events.isEmpty());
+        assertEquals(eu.events, all.events);
+    }
+
+    @Test
+    void slowSubscriber_KeepsNewestDeltaPerProductAndResetsOnOverflow() {
+        RecordingEmitter eu = subscribe("EU", null);
+
+        broadcaster.onProductChanged(ProductChangedEvent.saved(product(1L, "EU", 7, "10")));
+        broadcaster.onProductChanged(ProductChangedEvent.saved(product(1L, "EU", 5, "10")));
+        sendAll();
+
+        assertEquals(1, eu.events.size());
+        assertTrue(eu.events.get(0).contains("\"stockQty\":5"));
+
+        for (long id = 1; id <= 3; id++) {
+            broadcaster.onProductChanged(ProductChangedEvent.saved(product(id, "EU", 1, "10")));
+        }
+        sendAll();
+
+        assertEquals(2, eu.events.size());
+        assertTrue(eu.events.get(1).contains("event:reset"));
+    }
+
+    @Test
+    void lastEventId_ReplaysMissedDeltasOfTheRegion() {
+        RecordingEmitter first = subscribe("EU", null);
+        broadcaster.onProductChanged(ProductChangedEvent.saved(product(1L, "EU", 7, "10")));
+        sendAll();
+        String lastEventId = first.events.get(0).replaceAll("(?s).*id:(\\S+)\n.*", "$1");
+        String epoch = lastEventId.substring(0, lastEventId.lastIndexOf('-'));
+        long lastVersion = Long.parseLong(lastEventId.substring(epoch.length() + 1));
+
+        broadcaster.onProductChanged(ProductChangedEvent.saved(product(2L, "US", 3, "10")));
+        broadcaster.onProductChanged(ProductChangedEvent.deleted(1L));
+        RecordingEmitter resumed = subscribe("EU", lastEventId);
+        RecordingEmitter otherNode = subscribe("EU", "other-epoch-" + lastVersion);
+        sendAll();
+
+        assertEquals(1, resumed.events.size());
+        assertTrue(resumed.events.get(0).contains("event:removed"));
+        assertTrue(resumed.events.get(0).contains("id:" + epoch + "-" + (lastVersion + 2)));
+        assertTrue(resumed.events.get(0).contains("data:{\"id\":1,\"version\":" + (lastVersion + 2) + "}"));
+        assertEquals(1, otherNode.events.size());
+        assertTrue(otherNode.events.get(0).contains("event:reset"));
+    }
+
+    @Test
+    void droppedSubscriber_RemovesItsEmptyTopic() {
+        RecordingEmitter eu = subscribe("EU", null);
+        RecordingEmitter gone = new RecordingEmitter(true);
+        broadcaster.register("no-such-region", null, gone);
+        broadcaster.register("EU", null, new RecordingEmitter(true));
+        assertEquals(2, broadcaster.topicCount());
+
+        broadcaster.onProductChanged(ProductChangedEvent.deleted(1L));
+        sendAll();
+
+        assertEquals(1, broadcaster.subscriberCount());
+        assertEquals(1, broadcaster.topicCount());
+        assertEquals(1, eu.events.size());
+    }
+
+    private RecordingEmitter subscribe(String region, String lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(region, lastEventId, emitter);
+        return emitter;
+    }
+
+    private void sendAll() {
+        Runnable send;
+        while ((send = pendingSends.poll()) != null) {
+            send.run();
+        }
+    }
+
+    private static Product product(Long id, String region, int stockQty, String price) {
+        return Product.builder().id(id).name("Product " + id).region(region).stockQty(stockQty)
+                .price(new BigDecimal(price)).build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new ArrayList<>();
+        private final boolean disconnected;
+
+        RecordingEmitter() {
+            this(false);
+        }
+
+        RecordingEmitter(boolean disconnected) {
+            this.disconnected = disconnected;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (disconnected) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(builder.build().stream().map(data -> data.getData().toString()).collect(Collectors.joining()));
+        }
+    }
+}